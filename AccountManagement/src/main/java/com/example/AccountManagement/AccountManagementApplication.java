@@ -1,5 +1,6 @@
 package com.example.AccountManagement;
 
+import com.example.AccountManagement.utils.SnowflakeIdGenerator;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
@@ -7,6 +8,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 public class AccountManagementApplication {
 
 	public static void main(String[] args) {
+		SnowflakeIdGenerator.node();
 		SpringApplication.run(AccountManagementApplication.class, args);
 	}
 
@@ -0,0 +1,40 @@
+package com.example.AccountManagement.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.function.Supplier;
+
+/**
+ * Grants access to a request only if it carries the shared service-to-service token. With no token
+ * configured every request is denied, so the internal endpoints are closed by default.
+ */
+public class InternalCallerAuthorization implements AuthorizationManager<RequestAuthorizationContext> {
+
+    public static final String HEADER = "X-Internal-Token";
+
+    private final byte[] expected;
+
+    public InternalCallerAuthorization(String token) {
+        this.expected = token == null || token.isBlank() ? null : token.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        return new AuthorizationDecision(isInternal(context.getRequest()));
+    }
+
+    boolean isInternal(HttpServletRequest request) {
+        String presented = request.getHeader(HEADER);
+        if (expected == null || presented == null) {
+            return false;
+        }
+        // constant-time comparison so the token cannot be guessed byte by byte from response timing
+        return MessageDigest.isEqual(expected, presented.getBytes(StandardCharsets.UTF_8));
+    }
+}
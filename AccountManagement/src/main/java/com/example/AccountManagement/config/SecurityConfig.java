@@ -1,5 +1,6 @@
 package com.example.AccountManagement.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -10,13 +11,20 @@ import org.springframework.security.web.SecurityFilterChain;
 public class SecurityConfig {
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http,
+                                           @Value("${accounts.internal.token:}") String internalToken) throws Exception {
+        if (internalToken.isBlank()) {
+            // without it every debit, credit and transfer from Transactions would be refused
+            throw new IllegalStateException("accounts.internal.token (INTERNAL_SERVICE_TOKEN) must be set");
+        }
         http
                 .csrf(AbstractHttpConfigurer::disable) // disable CSRF for APIs
-                .authorizeHttpRequests(auth -> auth.anyRequest().permitAll())
+                .authorizeHttpRequests(auth -> auth
+                        .requestMatchers("/internal/**").access(new InternalCallerAuthorization(internalToken))
+                        .anyRequest().permitAll())
                 .formLogin(AbstractHttpConfigurer::disable)
                 .httpBasic(AbstractHttpConfigurer::disable);
 
         return http.build();
     }
-}
\ No newline at end of file
+}
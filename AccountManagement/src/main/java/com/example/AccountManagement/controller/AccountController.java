@@ -4,15 +4,26 @@ package com.example.AccountManagement.controller;
 import com.example.AccountManagement.dto.AccountBalanceDto;
 import com.example.AccountManagement.dto.AccountCreateDto;
 import com.example.AccountManagement.dto.AccountDto;
+import com.example.AccountManagement.dto.AccountPageDto;
 import com.example.AccountManagement.dto.AccountUpdateDto;
 import com.example.AccountManagement.enums.AccountStatus;
 import com.example.AccountManagement.service.IAccountService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.util.List;
 
 @RestController
@@ -24,9 +35,22 @@ import java.util.List;
 )
 public class AccountController {
 
+    private static final String NDJSON = "application/x-ndjson";
+    private static final int NDJSON_FLUSH_EVERY = 500;
+    // a full listing of a large status can take minutes to write
+    private static final Duration NDJSON_TIMEOUT = Duration.ofMinutes(10);
+
     @Autowired
     private IAccountService accountService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Boot's executor, the one Spring MVC already runs async request work on
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private AsyncTaskExecutor taskExecutor;
+
 
     @PostMapping("/create_account")
     @PreAuthorize("hasAnyRole('CUSTOMER', 'ADMIN')")
@@ -126,10 +150,55 @@ public class AccountController {
                 .body(accounts);
     }
 
+    @GetMapping(value = "/filter_by_status", produces = NDJSON)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ResponseBodyEmitter> streamAccountsByStatus(@RequestParam AccountStatus status) {
+        // the timeout is set on this emitter only, so other async requests keep the default
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(NDJSON_TIMEOUT.toMillis());
+        MediaType ndjson = MediaType.parseMediaType(NDJSON);
+        taskExecutor.execute(() -> {
+            ByteArrayOutputStream chunk = new ByteArrayOutputStream();
+            try (SequenceWriter writer = objectMapper.writerFor(AccountDto.class)
+                    .withRootValueSeparator("\n")
+                    .writeValues(chunk)) {
+                int[] written = {0};
+                accountService.streamAccountsByStatus(status, account -> {
+                    try {
+                        writer.write(account);
+                        if (++written[0] % NDJSON_FLUSH_EVERY == 0) {
+                            writer.flush();
+                            emitter.send(chunk.toByteArray(), ndjson);
+                            chunk.reset();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                writer.flush();
+                if (written[0] > 0) {
+                    chunk.write('\n');
+                }
+                if (chunk.size() > 0) {
+                    emitter.send(chunk.toByteArray(), ndjson);
+                }
+                emitter.complete();
+            } catch (IOException | RuntimeException e) {
+                emitter.completeWithError(e);
+            }
+        });
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .contentType(ndjson)
+                .body(emitter);
+    }
+
     @GetMapping("/sort_by")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<AccountDto>> getAllAccountsSorted(@RequestParam(defaultValue = "id") String sortBy, @RequestParam(defaultValue = "asc") String sortOrder) {
-        List<AccountDto> accounts = accountService.getAllAccountsSorted(sortBy, sortOrder);
+    public ResponseEntity<AccountPageDto> getAllAccountsSorted(@RequestParam(defaultValue = "id") String sortBy,
+                                                               @RequestParam(defaultValue = "asc") String sortOrder,
+                                                               @RequestParam(required = false) String cursor,
+                                                               @RequestParam(defaultValue = "50") int size) {
+        AccountPageDto accounts = accountService.getAllAccountsSorted(sortBy, sortOrder, cursor, size);
         return ResponseEntity
                 .status(HttpStatus.OK)
                 .body(accounts);
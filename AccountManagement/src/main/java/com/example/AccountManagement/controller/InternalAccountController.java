@@ -0,0 +1,58 @@
+package com.example.AccountManagement.controller;
+
+import com.example.AccountManagement.dto.AccountBalanceDto;
+import com.example.AccountManagement.dto.AccountTransferDto;
+import com.example.AccountManagement.service.IAccountService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Balance-moving operations called by the Transactions service. They are not routed by the gateway and are
+ * only served to callers presenting the internal service token (see {@code SecurityConfig}), so no end user
+ * can move money out of an account directly.
+ */
+@RestController
+@RequestMapping(path = "/internal/accounts")
+public class InternalAccountController {
+
+    @Autowired
+    private IAccountService accountService;
+
+    @PatchMapping("/debit")
+    public ResponseEntity<AccountBalanceDto> debit(@RequestParam String accountNumber, @RequestParam BigDecimal amount,
+                                                   @RequestParam(required = false) String reference) {
+        AccountBalanceDto balance = accountService.debit(accountNumber, amount, reference);
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(balance);
+    }
+
+    @PatchMapping("/credit")
+    public ResponseEntity<AccountBalanceDto> credit(@RequestParam String accountNumber, @RequestParam BigDecimal amount,
+                                                    @RequestParam(required = false) String reference) {
+        AccountBalanceDto balance = accountService.credit(accountNumber, amount, reference);
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(balance);
+    }
+
+    @PostMapping("/transfer")
+    public ResponseEntity<AccountBalanceDto> transfer(@RequestBody AccountTransferDto accountTransferDto) {
+        AccountBalanceDto balance = accountService.transfer(accountTransferDto);
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(balance);
+    }
+
+    @PostMapping("/movements/{reference}/reverse")
+    public ResponseEntity<String> reverseMovement(@PathVariable String reference) {
+        String result = accountService.reverseMovement(reference);
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(result);
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.AccountManagement.dto;
+
+import java.util.List;
+//keyset page
+public class AccountPageDto {
+
+    private List<AccountDto> accounts;
+    private String nextCursor;
+    private boolean hasMore;
+
+
+    public AccountPageDto() {
+    }
+
+    public AccountPageDto(List<AccountDto> accounts, String nextCursor, boolean hasMore) {
+        this.accounts = accounts;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+
+    public List<AccountDto> getAccounts() {
+        return accounts;
+    }
+
+    public void setAccounts(List<AccountDto> accounts) {
+        this.accounts = accounts;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
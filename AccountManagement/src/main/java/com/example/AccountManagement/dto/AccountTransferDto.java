@@ -0,0 +1,59 @@
+package com.example.AccountManagement.dto;
+
+import java.math.BigDecimal;
+//transfer between two accounts
+public class AccountTransferDto {
+
+    private String fromAccountNumber;
+    private String toAccountNumber;
+    private BigDecimal amount;
+    private String reference;
+
+
+    public AccountTransferDto() {
+    }
+
+    public AccountTransferDto(String fromAccountNumber, String toAccountNumber, BigDecimal amount) {
+        this.fromAccountNumber = fromAccountNumber;
+        this.toAccountNumber = toAccountNumber;
+        this.amount = amount;
+    }
+
+    public AccountTransferDto(String fromAccountNumber, String toAccountNumber, BigDecimal amount, String reference) {
+        this(fromAccountNumber, toAccountNumber, amount);
+        this.reference = reference;
+    }
+
+
+    public String getFromAccountNumber() {
+        return fromAccountNumber;
+    }
+
+    public void setFromAccountNumber(String fromAccountNumber) {
+        this.fromAccountNumber = fromAccountNumber;
+    }
+
+    public String getToAccountNumber() {
+        return toAccountNumber;
+    }
+
+    public void setToAccountNumber(String toAccountNumber) {
+        this.toAccountNumber = toAccountNumber;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public String getReference() {
+        return reference;
+    }
+
+    public void setReference(String reference) {
+        this.reference = reference;
+    }
+}
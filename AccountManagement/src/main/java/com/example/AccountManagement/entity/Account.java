@@ -7,7 +7,10 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name="accounts")
+@Table(name="accounts", indexes = {
+        @Index(name = "idx_accounts_balance_id", columnList = "balance, id"),
+        @Index(name = "idx_accounts_customer_name_id", columnList = "customer_name, id")
+})
 public class Account {
 
     @Id
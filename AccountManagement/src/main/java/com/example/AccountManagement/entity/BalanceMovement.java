@@ -0,0 +1,110 @@
+package com.example.AccountManagement.entity;
+
+import com.example.AccountManagement.enums.MovementState;
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A balance change made on behalf of another service, keyed by that service's reference (the transaction id),
+ * so a retried debit, credit or transfer is applied at most once and can be reversed exactly once.
+ *
+ * <p>A reversal that arrives before its original leaves a VOIDED row behind, which makes the original fail if
+ * it is still in flight.</p>
+ */
+@Entity
+@Table(name = "balance_movements")
+public class BalanceMovement {
+
+    @Id
+    @Column(name = "reference", length = 50)
+    private String reference;
+
+    @Column(name = "from_account_number", length = 30)
+    private String fromAccountNumber;
+
+    @Column(name = "to_account_number", length = 30)
+    private String toAccountNumber;
+
+    @Column(name = "amount", precision = 15, scale = 2)
+    private BigDecimal amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "state", nullable = false, length = 10)
+    private MovementState state;
+
+    @Column(name = "applied_at")
+    private LocalDateTime appliedAt;
+
+    @Column(name = "reversed_at")
+    private LocalDateTime reversedAt;
+
+    public BalanceMovement() {
+    }
+
+    public BalanceMovement(String reference, String fromAccountNumber, String toAccountNumber,
+                           BigDecimal amount, MovementState state) {
+        this.reference = reference;
+        this.fromAccountNumber = fromAccountNumber;
+        this.toAccountNumber = toAccountNumber;
+        this.amount = amount;
+        this.state = state;
+    }
+
+    public String getReference() {
+        return reference;
+    }
+
+    public void setReference(String reference) {
+        this.reference = reference;
+    }
+
+    public String getFromAccountNumber() {
+        return fromAccountNumber;
+    }
+
+    public void setFromAccountNumber(String fromAccountNumber) {
+        this.fromAccountNumber = fromAccountNumber;
+    }
+
+    public String getToAccountNumber() {
+        return toAccountNumber;
+    }
+
+    public void setToAccountNumber(String toAccountNumber) {
+        this.toAccountNumber = toAccountNumber;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public MovementState getState() {
+        return state;
+    }
+
+    public void setState(MovementState state) {
+        this.state = state;
+    }
+
+    public LocalDateTime getAppliedAt() {
+        return appliedAt;
+    }
+
+    public void setAppliedAt(LocalDateTime appliedAt) {
+        this.appliedAt = appliedAt;
+    }
+
+    public LocalDateTime getReversedAt() {
+        return reversedAt;
+    }
+
+    public void setReversedAt(LocalDateTime reversedAt) {
+        this.reversedAt = reversedAt;
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.AccountManagement.enums;
+
+public enum AccountSortField {
+    ID,
+    BALANCE,
+    CUSTOMER_NAME;
+
+    public static AccountSortField from(String sortBy) {
+        if (sortBy == null) {
+            return ID;
+        }
+        return switch (sortBy.toLowerCase()) {
+            case "balance" -> BALANCE;
+            case "customername", "customer_name" -> CUSTOMER_NAME;
+            default -> ID;
+        };
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.AccountManagement.enums;
+
+public enum MovementState {
+    APPLIED,
+    REVERSED,
+    VOIDED
+}
@@ -5,8 +5,8 @@ import com.example.AccountManagement.dto.AccountCreateDto;
 import com.example.AccountManagement.dto.AccountDto;
 import com.example.AccountManagement.dto.AccountUpdateDto;
 import com.example.AccountManagement.entity.Account;
+import com.example.AccountManagement.utils.SnowflakeIdGenerator;
 
-import java.util.UUID;
 
 public class AccountMapper {
 
@@ -56,9 +56,8 @@ public class AccountMapper {
     }
 
     private static String generateAccountNumber() {
-        String timestamp = String.valueOf(System.currentTimeMillis());
-        String random = UUID.randomUUID().toString().substring(0, 4).toUpperCase();
-        return "RO" + timestamp.substring(timestamp.length() - 10) + random;
+        // zero-padded so that string order matches id order
+        return String.format("RO%019d", SnowflakeIdGenerator.next());
     }
 
     public static void updateEntityFromDto(Account account, AccountUpdateDto dto) {
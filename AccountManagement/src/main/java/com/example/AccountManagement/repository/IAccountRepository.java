@@ -1,15 +1,23 @@
 package com.example.AccountManagement.repository;
 
 
+import com.example.AccountManagement.dto.AccountBalanceDto;
 import com.example.AccountManagement.entity.Account;
 import com.example.AccountManagement.enums.AccountStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface IAccountRepository extends JpaRepository<Account, Long> {
@@ -20,5 +28,57 @@ public interface IAccountRepository extends JpaRepository<Account, Long> {
 
     List<Account> findByStatus(AccountStatus status);
 
+    @Query("SELECT new com.example.AccountManagement.dto.AccountBalanceDto(" +
+            "a.accountNumber, a.balance, a.currency, a.dailyLimit, a.monthlyLimit) " +
+            "FROM Account a WHERE a.accountNumber = :accountNumber")
+    Optional<AccountBalanceDto> findBalanceByAccountNumber(@Param("accountNumber") String accountNumber);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Account a SET a.balance = a.balance - :amount, a.updatedAt = LOCAL DATETIME " +
+            "WHERE a.accountNumber = :accountNumber " +
+            "AND a.status = com.example.AccountManagement.enums.AccountStatus.ACTIVE " +
+            "AND a.balance >= :amount")
+    int debit(@Param("accountNumber") String accountNumber, @Param("amount") BigDecimal amount);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Account a SET a.balance = a.balance + :amount, a.updatedAt = LOCAL DATETIME " +
+            "WHERE a.accountNumber = :accountNumber " +
+            "AND a.status <> com.example.AccountManagement.enums.AccountStatus.CLOSED")
+    int credit(@Param("accountNumber") String accountNumber, @Param("amount") BigDecimal amount);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT a FROM Account a WHERE a.status = :status ORDER BY a.id")
+    Stream<Account> streamByStatus(@Param("status") AccountStatus status);
+
+    List<Account> findBy(Pageable pageable);
+
+    List<Account> findByIdGreaterThan(Long id, Pageable pageable);
+
+    List<Account> findByIdLessThan(Long id, Pageable pageable);
+
+    // The leading >= / <= bound is redundant with the OR, but it is what lets Postgres start the index scan
+    // at the cursor instead of walking the (sort key, id) index from its first entry on every page.
+    @Query("SELECT a FROM Account a WHERE a.balance >= :balance " +
+            "AND (a.balance > :balance OR (a.balance = :balance AND a.id > :id)) " +
+            "ORDER BY a.balance ASC, a.id ASC")
+    List<Account> findPageAfterBalanceAsc(@Param("balance") BigDecimal balance, @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT a FROM Account a WHERE a.balance <= :balance " +
+            "AND (a.balance < :balance OR (a.balance = :balance AND a.id < :id)) " +
+            "ORDER BY a.balance DESC, a.id DESC")
+    List<Account> findPageAfterBalanceDesc(@Param("balance") BigDecimal balance, @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT a FROM Account a WHERE a.customerName >= :customerName " +
+            "AND (a.customerName > :customerName OR (a.customerName = :customerName AND a.id > :id)) " +
+            "ORDER BY a.customerName ASC, a.id ASC")
+    List<Account> findPageAfterCustomerNameAsc(@Param("customerName") String customerName, @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT a FROM Account a WHERE a.customerName <= :customerName " +
+            "AND (a.customerName < :customerName OR (a.customerName = :customerName AND a.id < :id)) " +
+            "ORDER BY a.customerName DESC, a.id DESC")
+    List<Account> findPageAfterCustomerNameDesc(@Param("customerName") String customerName, @Param("id") Long id, Pageable pageable);
 
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.example.AccountManagement.repository;
+
+import com.example.AccountManagement.entity.BalanceMovement;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface IBalanceMovementRepository extends JpaRepository<BalanceMovement, String> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT m FROM BalanceMovement m WHERE m.reference = :reference")
+    Optional<BalanceMovement> findForUpdate(@Param("reference") String reference);
+}
@@ -0,0 +1,74 @@
+package com.example.AccountManagement.service;
+
+import com.example.AccountManagement.dto.AccountBalanceDto;
+import com.example.AccountManagement.entity.Account;
+import com.example.AccountManagement.repository.IAccountRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Near-cache in front of {@link IAccountRepository#findByAccountNumber(String)} and the balance projection
+ * for the read-only endpoints.
+ * Cached accounts are detached snapshots and must not be modified; write paths load the entity from the
+ * repository and call {@link #evictAfterCommit(String)} so readers never repopulate a pre-commit value.
+ */
+@Component
+public class AccountReadCache {
+
+    public static final String ACCOUNTS = "accounts";
+    public static final String BALANCES = "account-balances";
+
+    @Autowired
+    private IAccountRepository accountRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Cacheable(cacheNames = ACCOUNTS, key = "#accountNumber")
+    public Account findByAccountNumber(String accountNumber) {
+        Account account = accountRepository.findByAccountNumber(accountNumber)
+                .orElseThrow(() -> new RuntimeException("Account not found: " + accountNumber));
+        entityManager.detach(account);
+        return account;
+    }
+
+    @Cacheable(cacheNames = BALANCES, key = "#accountNumber")
+    @Transactional(readOnly = true)
+    public AccountBalanceDto findBalanceByAccountNumber(String accountNumber) {
+        return accountRepository.findBalanceByAccountNumber(accountNumber)
+                .orElseThrow(() -> new RuntimeException("Account not found: " + accountNumber));
+    }
+
+    public void evictAfterCommit(String accountNumber) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(accountNumber);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                evict(accountNumber);
+            }
+        });
+    }
+
+    private void evict(String accountNumber) {
+        for (String cacheName : new String[]{ACCOUNTS, BALANCES}) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                cache.evict(accountNumber);
+            }
+        }
+    }
+}
@@ -4,27 +4,55 @@ package com.example.AccountManagement.service;
 import com.example.AccountManagement.dto.AccountBalanceDto;
 import com.example.AccountManagement.dto.AccountCreateDto;
 import com.example.AccountManagement.dto.AccountDto;
+import com.example.AccountManagement.dto.AccountPageDto;
+import com.example.AccountManagement.dto.AccountTransferDto;
 import com.example.AccountManagement.dto.AccountUpdateDto;
 import com.example.AccountManagement.entity.Account;
+import com.example.AccountManagement.entity.BalanceMovement;
+import com.example.AccountManagement.enums.AccountSortField;
 import com.example.AccountManagement.enums.AccountStatus;
+import com.example.AccountManagement.enums.MovementState;
 import com.example.AccountManagement.mapper.AccountMapper;
 import com.example.AccountManagement.repository.IAccountRepository;
+import com.example.AccountManagement.repository.IBalanceMovementRepository;
+import com.example.AccountManagement.utils.AccountCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class AccountServiceImplementation implements IAccountService {
 
+    private static final int MAX_PAGE_SIZE = 500;
+
 @Autowired
 private IAccountRepository accountRepository;
 
+    @Autowired
+    private IBalanceMovementRepository balanceMovementRepository;
+
+    @Autowired
+    private AccountReadCache accountReadCache;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Override
     @Transactional
     public AccountDto createAccount(AccountCreateDto accountCreateDto){
@@ -37,8 +65,7 @@ private IAccountRepository accountRepository;
 
     @Override
     public AccountDto fetchAccount(String accountNumber) {
-        Account account = accountRepository.findByAccountNumber(accountNumber)
-                .orElseThrow(() -> new RuntimeException("Account not found: " + accountNumber));
+        Account account = accountReadCache.findByAccountNumber(accountNumber);
         return AccountMapper.toDto(account);
     }
 
@@ -51,6 +78,7 @@ private IAccountRepository accountRepository;
         AccountMapper.updateEntityFromDto(account, accountUpdateDto);
 
         Account updatedAccount = accountRepository.save(account);
+        accountReadCache.evictAfterCommit(updatedAccount.getAccountNumber());
 
         return AccountMapper.toDto(updatedAccount);
     }
@@ -63,17 +91,161 @@ private IAccountRepository accountRepository;
 
         account.setStatus(AccountStatus.CLOSED);
         accountRepository.save(account);
+        accountReadCache.evictAfterCommit(accountNumber);
 
         return true;
     }
 
     @Override
     public AccountBalanceDto checkBalance(String accountNumber) {
-        Account account = accountRepository.findByAccountNumber(accountNumber)
+        return accountReadCache.findBalanceByAccountNumber(accountNumber);
+    }
+
+    @Override
+    @Transactional
+    public AccountBalanceDto debit(String accountNumber, BigDecimal amount, String reference) {
+        requirePositive(amount);
+        if (!alreadyApplied(reference, accountNumber, null, amount)) {
+            applyDebit(accountNumber, amount);
+            recordMovement(reference, accountNumber, null, amount);
+        }
+        return accountRepository.findBalanceByAccountNumber(accountNumber)
                 .orElseThrow(() -> new RuntimeException("Account not found: " + accountNumber));
+    }
+
+    @Override
+    @Transactional
+    public AccountBalanceDto credit(String accountNumber, BigDecimal amount, String reference) {
+        requirePositive(amount);
+        if (!alreadyApplied(reference, null, accountNumber, amount)) {
+            applyCredit(accountNumber, amount);
+            recordMovement(reference, null, accountNumber, amount);
+        }
+        return accountRepository.findBalanceByAccountNumber(accountNumber)
+                .orElseThrow(() -> new RuntimeException("Account not found: " + accountNumber));
+    }
+
+    @Override
+    @Transactional
+    public AccountBalanceDto transfer(AccountTransferDto accountTransferDto) {
+        String from = accountTransferDto.getFromAccountNumber();
+        String to = accountTransferDto.getToAccountNumber();
+        BigDecimal amount = accountTransferDto.getAmount();
+        requirePositive(amount);
+        if (from == null || to == null || from.equals(to)) {
+            throw new RuntimeException("Transfer requires two different accounts");
+        }
+
+        if (!alreadyApplied(accountTransferDto.getReference(), from, to, amount)) {
+            applyTransfer(from, to, amount);
+            recordMovement(accountTransferDto.getReference(), from, to, amount);
+        }
+
+        return accountRepository.findBalanceByAccountNumber(from)
+                .orElseThrow(() -> new RuntimeException("Account not found: " + from));
+    }
+
+    /**
+     * Undoes the movement recorded under {@code reference}. Reversing twice is a no-op, and reversing a
+     * reference that was never applied records a tombstone so the original can no longer be applied.
+     */
+    @Override
+    @Transactional
+    public String reverseMovement(String reference) {
+        Optional<BalanceMovement> found = balanceMovementRepository.findForUpdate(reference);
+        if (found.isEmpty()) {
+            BalanceMovement voided = new BalanceMovement(reference, null, null, null, MovementState.VOIDED);
+            voided.setReversedAt(LocalDateTime.now());
+            entityManager.persist(voided);
+            entityManager.flush();
+            return "Movement " + reference + " voided";
+        }
+        BalanceMovement movement = found.get();
+        if (movement.getState() != MovementState.APPLIED) {
+            return "Movement " + reference + " already reversed";
+        }
+
+        // the money goes back the way it came
+        if (movement.getFromAccountNumber() == null) {
+            applyDebit(movement.getToAccountNumber(), movement.getAmount());
+        } else if (movement.getToAccountNumber() == null) {
+            applyCredit(movement.getFromAccountNumber(), movement.getAmount());
+        } else {
+            applyTransfer(movement.getToAccountNumber(), movement.getFromAccountNumber(), movement.getAmount());
+        }
+        movement.setState(MovementState.REVERSED);
+        movement.setReversedAt(LocalDateTime.now());
+        return "Movement " + reference + " reversed";
+    }
+
+    // a replay must describe the same movement; anything else would be reported as done while nothing moved
+    private boolean alreadyApplied(String reference, String from, String to, BigDecimal amount) {
+        if (reference == null || reference.isBlank()) {
+            return false;
+        }
+        return balanceMovementRepository.findById(reference)
+                .map(movement -> {
+                    if (movement.getState() != MovementState.APPLIED) {
+                        throw new RuntimeException("Movement " + reference + " was reversed and cannot be applied");
+                    }
+                    if (!Objects.equals(movement.getFromAccountNumber(), from)
+                            || !Objects.equals(movement.getToAccountNumber(), to)
+                            || movement.getAmount().compareTo(amount) != 0) {
+                        throw new ResponseStatusException(HttpStatus.CONFLICT,
+                                "Movement " + reference + " was already applied with different accounts or amount");
+                    }
+                    return true;
+                })
+                .orElse(false);
+    }
+
+    // persist rather than save: a concurrent duplicate must fail on the primary key, not merge into the first
+    private void recordMovement(String reference, String from, String to, BigDecimal amount) {
+        if (reference == null || reference.isBlank()) {
+            return;
+        }
+        BalanceMovement movement = new BalanceMovement(reference, from, to, amount, MovementState.APPLIED);
+        movement.setAppliedAt(LocalDateTime.now());
+        entityManager.persist(movement);
+        entityManager.flush();
+    }
+
+    private void applyTransfer(String from, String to, BigDecimal amount) {
+        // Row locks are always taken in account number order so that opposite transfers cannot deadlock.
+        if (from.compareTo(to) < 0) {
+            applyDebit(from, amount);
+            applyCredit(to, amount);
+        } else {
+            applyCredit(to, amount);
+            applyDebit(from, amount);
+        }
+    }
 
+    private void applyDebit(String accountNumber, BigDecimal amount) {
+        if (accountRepository.debit(accountNumber, amount) == 0) {
+            Account account = accountRepository.findByAccountNumber(accountNumber)
+                    .orElseThrow(() -> new RuntimeException("Account not found: " + accountNumber));
+            if (account.getStatus() != AccountStatus.ACTIVE) {
+                throw new RuntimeException("Account is not active: " + accountNumber);
+            }
+            throw new RuntimeException("Insufficient funds: " + accountNumber);
+        }
+        accountReadCache.evictAfterCommit(accountNumber);
+    }
 
-        return AccountMapper.toBalanceDto(account);
+    private void applyCredit(String accountNumber, BigDecimal amount) {
+        if (accountRepository.credit(accountNumber, amount) == 0) {
+            accountRepository.findByAccountNumber(accountNumber)
+                    .orElseThrow(() -> new RuntimeException("Account not found: " + accountNumber));
+            throw new RuntimeException("Account is closed: " + accountNumber);
+        }
+        accountReadCache.evictAfterCommit(accountNumber);
+    }
+
+    private static void requirePositive(BigDecimal amount) {
+        if (amount == null || amount.signum() <= 0) {
+            throw new RuntimeException("Amount must be positive");
+        }
     }
 
     @Override
@@ -86,6 +258,7 @@ private IAccountRepository accountRepository;
         account.setBlockedAt(LocalDateTime.now());
         account.setBlockedReason(reason);
         accountRepository.save(account);
+        accountReadCache.evictAfterCommit(accountNumber);
 
         return "Account blocked successfully. Reason: " + reason;
     }
@@ -104,6 +277,7 @@ private IAccountRepository accountRepository;
         account.setBlockedAt(null);
         account.setBlockedReason(null);
         accountRepository.save(account);
+        accountReadCache.evictAfterCommit(accountNumber);
 
         return "Account unblocked successfully";
     }
@@ -117,6 +291,7 @@ private IAccountRepository accountRepository;
         account.setIsVerified(true);
         account.setStatus(AccountStatus.ACTIVE);
         accountRepository.save(account);
+        accountReadCache.evictAfterCommit(accountNumber);
 
 
 
@@ -125,8 +300,7 @@ private IAccountRepository accountRepository;
 
     @Override
     public String generateAccountHistory(String accountNumber) {
-        Account account = accountRepository.findByAccountNumber(accountNumber)
-                .orElseThrow(() -> new RuntimeException("Account not found: " + accountNumber));
+        Account account = accountReadCache.findByAccountNumber(accountNumber);
 
 
 
@@ -156,31 +330,63 @@ private IAccountRepository accountRepository;
                 .collect(Collectors.toList());
     }
 
-
+    // the Stream needs an open transaction; the Spring annotation (the rest of the class uses jakarta's,
+    // which has no readOnly) marks it read-only so the connection and session skip dirty checking
     @Override
-    public List<AccountDto> getAllAccountsSorted(String sortBy, String sortOrder) {
-        List<Account> accounts = accountRepository.findAll();
-
+    @org.springframework.transaction.annotation.Transactional(readOnly = true)
+    public void streamAccountsByStatus(AccountStatus status, Consumer<AccountDto> sink) {
+        try (Stream<Account> accounts = accountRepository.streamByStatus(status)) {
+            accounts.forEach(account -> {
+                sink.accept(AccountMapper.toDto(account));
+                entityManager.detach(account);
+            });
+        }
+    }
 
-        switch (sortBy.toLowerCase()) {
-            case "balance":
-                accounts.sort(Comparator.comparing(Account::getBalance));
-                break;
-            case "customername":
-                accounts.sort(Comparator.comparing(Account::getCustomerName));
-                break;
-            default:
-                accounts.sort(Comparator.comparing(Account::getId));
+    @Override
+    public AccountPageDto getAllAccountsSorted(String sortBy, String sortOrder, String cursor, int size) {
+        AccountSortField sortField = AccountSortField.from(sortBy);
+        boolean descending = "desc".equalsIgnoreCase(sortOrder);
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        List<Account> accounts;
+        if (cursor == null || cursor.isBlank()) {
+            accounts = accountRepository.findBy(PageRequest.of(0, pageSize + 1, sortFor(sortField, descending)));
+        } else {
+            AccountCursor after = AccountCursor.decode(cursor, sortField, descending);
+            accounts = switch (sortField) {
+                case BALANCE -> descending
+                        ? accountRepository.findPageAfterBalanceDesc(after.lastBalance(), after.lastId(), limit)
+                        : accountRepository.findPageAfterBalanceAsc(after.lastBalance(), after.lastId(), limit);
+                case CUSTOMER_NAME -> descending
+                        ? accountRepository.findPageAfterCustomerNameDesc(after.lastValue(), after.lastId(), limit)
+                        : accountRepository.findPageAfterCustomerNameAsc(after.lastValue(), after.lastId(), limit);
+                case ID -> descending
+                        ? accountRepository.findByIdLessThan(after.lastId(), PageRequest.of(0, pageSize + 1, sortFor(sortField, true)))
+                        : accountRepository.findByIdGreaterThan(after.lastId(), PageRequest.of(0, pageSize + 1, sortFor(sortField, false)));
+            };
         }
 
+        boolean hasMore = accounts.size() > pageSize;
+        List<Account> page = hasMore ? accounts.subList(0, pageSize) : accounts;
+        String nextCursor = hasMore
+                ? AccountCursor.after(page.get(page.size() - 1), sortField, descending).encode()
+                : null;
 
-        if ("desc".equalsIgnoreCase(sortOrder)) {
-            Collections.reverse(accounts);
-        }
+        return new AccountPageDto(
+                page.stream().map(AccountMapper::toDto).collect(Collectors.toList()),
+                nextCursor,
+                hasMore);
+    }
 
-        return accounts.stream()
-                .map(AccountMapper::toDto)
-                .collect(Collectors.toList());
+    private static Sort sortFor(AccountSortField sortField, boolean descending) {
+        Sort.Direction direction = descending ? Sort.Direction.DESC : Sort.Direction.ASC;
+        return switch (sortField) {
+            case BALANCE -> Sort.by(direction, "balance").and(Sort.by(direction, "id"));
+            case CUSTOMER_NAME -> Sort.by(direction, "customerName").and(Sort.by(direction, "id"));
+            case ID -> Sort.by(direction, "id");
+        };
     }
 
 
@@ -3,10 +3,14 @@ package com.example.AccountManagement.service;
 import com.example.AccountManagement.dto.AccountBalanceDto;
 import com.example.AccountManagement.dto.AccountCreateDto;
 import com.example.AccountManagement.dto.AccountDto;
+import com.example.AccountManagement.dto.AccountPageDto;
+import com.example.AccountManagement.dto.AccountTransferDto;
 import com.example.AccountManagement.dto.AccountUpdateDto;
 import com.example.AccountManagement.enums.AccountStatus;
 
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface IAccountService {
 
@@ -14,6 +18,14 @@ public interface IAccountService {
 
     AccountBalanceDto checkBalance(String accountNumber);
 
+    AccountBalanceDto debit(String accountNumber, BigDecimal amount, String reference);
+
+    AccountBalanceDto credit(String accountNumber, BigDecimal amount, String reference);
+
+    AccountBalanceDto transfer(AccountTransferDto accountTransferDto);
+
+    String reverseMovement(String reference);
+
     AccountDto updateAccount(AccountUpdateDto accountUpdateDto);
 
     boolean closeAccount(String accountNumber);
@@ -31,7 +43,9 @@ public interface IAccountService {
 
     List<AccountDto> getAccountsByStatus(AccountStatus status);
 
-    List<AccountDto> getAllAccountsSorted(String sortBy, String sortOrder);
+    void streamAccountsByStatus(AccountStatus status, Consumer<AccountDto> sink);
+
+    AccountPageDto getAllAccountsSorted(String sortBy, String sortOrder, String cursor, int size);
 
 
 }
@@ -0,0 +1,66 @@
+package com.example.AccountManagement.utils;
+
+import com.example.AccountManagement.entity.Account;
+import com.example.AccountManagement.enums.AccountSortField;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque continuation token for keyset pagination over accounts: the sort key
+ * and id of the last row of a page, bound to the sort it was issued for.
+ */
+public record AccountCursor(AccountSortField sortField, boolean descending, Long lastId, String lastValue) {
+
+    public static AccountCursor after(Account account, AccountSortField sortField, boolean descending) {
+        String lastValue = switch (sortField) {
+            case BALANCE -> account.getBalance().toPlainString();
+            case CUSTOMER_NAME -> account.getCustomerName();
+            case ID -> "";
+        };
+        return new AccountCursor(sortField, descending, account.getId(), lastValue);
+    }
+
+    /**
+     * @throws ResponseStatusException 400 if the token was not issued for this sort or has been tampered with
+     */
+    public static AccountCursor decode(String token, AccountSortField sortField, boolean descending) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|", 4);
+        } catch (IllegalArgumentException e) {
+            throw invalid("Invalid cursor: " + token);
+        }
+        if (parts.length != 4
+                || !sortField.name().equals(parts[0])
+                || descending != "desc".equals(parts[1])) {
+            throw invalid("Cursor does not match the requested sort order");
+        }
+        AccountCursor cursor;
+        try {
+            cursor = new AccountCursor(sortField, descending, Long.valueOf(parts[2]), parts[3]);
+            if (sortField == AccountSortField.BALANCE) {
+                cursor.lastBalance();
+            }
+        } catch (NumberFormatException e) {
+            throw invalid("Invalid cursor: " + token);
+        }
+        return cursor;
+    }
+
+    public String encode() {
+        String raw = sortField.name() + "|" + (descending ? "desc" : "asc") + "|" + lastId + "|" + lastValue;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public BigDecimal lastBalance() {
+        return new BigDecimal(lastValue);
+    }
+
+    private static ResponseStatusException invalid(String message) {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, message);
+    }
+}
@@ -3,7 +3,7 @@ package com.example.AccountManagement;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "accounts.internal.token=test-token")
 class AccountManagementApplicationTests {
 
 	@Test
@@ -0,0 +1,43 @@
+package com.example.AccountManagement.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InternalCallerAuthorizationTest {
+
+    @Test
+    void isInternal_MatchingToken_IsAllowed() {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/internal/accounts/transfer");
+        request.addHeader(InternalCallerAuthorization.HEADER, "s3cret");
+
+        // When / Then
+        assertTrue(new InternalCallerAuthorization("s3cret").isInternal(request));
+    }
+
+    @Test
+    void isInternal_MissingOrWrongToken_IsDenied() {
+        // Given
+        InternalCallerAuthorization authorization = new InternalCallerAuthorization("s3cret");
+        MockHttpServletRequest anonymous = new MockHttpServletRequest("POST", "/internal/accounts/transfer");
+        MockHttpServletRequest wrong = new MockHttpServletRequest("POST", "/internal/accounts/transfer");
+        wrong.addHeader(InternalCallerAuthorization.HEADER, "guess");
+
+        // When / Then
+        assertFalse(authorization.isInternal(anonymous));
+        assertFalse(authorization.isInternal(wrong));
+    }
+
+    @Test
+    void isInternal_NoTokenConfigured_DeniesEverything() {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/internal/accounts/transfer");
+        request.addHeader(InternalCallerAuthorization.HEADER, "");
+
+        // When / Then
+        assertFalse(new InternalCallerAuthorization("").isInternal(request));
+        assertFalse(new InternalCallerAuthorization(null).isInternal(request));
+    }
+}
@@ -0,0 +1,299 @@
+package com.example.AccountManagement.service;
+
+import com.example.AccountManagement.dto.AccountBalanceDto;
+import com.example.AccountManagement.dto.AccountTransferDto;
+import com.example.AccountManagement.entity.Account;
+import com.example.AccountManagement.entity.BalanceMovement;
+import com.example.AccountManagement.enums.AccountStatus;
+import com.example.AccountManagement.enums.Currency;
+import com.example.AccountManagement.enums.MovementState;
+import com.example.AccountManagement.repository.IAccountRepository;
+import com.example.AccountManagement.repository.IBalanceMovementRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AccountServiceImplementationTest {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("25.00");
+
+    @Mock
+    private IAccountRepository accountRepository;
+
+    @Mock
+    private IBalanceMovementRepository balanceMovementRepository;
+
+    @Mock
+    private AccountReadCache accountReadCache;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @InjectMocks
+    private AccountServiceImplementation accountService;
+
+    // ========== DEBIT ==========
+
+    @Test
+    void debit_AppliesConditionalUpdateAndRecordsMovement() {
+        // Given
+        when(balanceMovementRepository.findById("TX-1")).thenReturn(Optional.empty());
+        when(accountRepository.debit("ACC-1", AMOUNT)).thenReturn(1);
+        when(accountRepository.findBalanceByAccountNumber("ACC-1")).thenReturn(Optional.of(balance("ACC-1", "75.00")));
+
+        // When
+        AccountBalanceDto result = accountService.debit("ACC-1", AMOUNT, "TX-1");
+
+        // Then
+        assertEquals(new BigDecimal("75.00"), result.getBalance());
+        verify(entityManager).persist(argThat(movement -> movement instanceof BalanceMovement m
+                && "ACC-1".equals(m.getFromAccountNumber()) && m.getToAccountNumber() == null));
+        verify(accountReadCache).evictAfterCommit("ACC-1");
+    }
+
+    @Test
+    void debit_InsufficientFunds_IsRejected() {
+        // Given
+        when(accountRepository.debit("ACC-1", AMOUNT)).thenReturn(0);
+        when(accountRepository.findByAccountNumber("ACC-1")).thenReturn(Optional.of(account("ACC-1", AccountStatus.ACTIVE)));
+
+        // When
+        RuntimeException e = assertThrows(RuntimeException.class, () -> accountService.debit("ACC-1", AMOUNT, null));
+
+        // Then
+        assertTrue(e.getMessage().startsWith("Insufficient funds"));
+        verifyNoInteractions(entityManager, accountReadCache);
+    }
+
+    @Test
+    void debit_BlockedAccount_IsRejected() {
+        // Given
+        when(accountRepository.debit("ACC-1", AMOUNT)).thenReturn(0);
+        when(accountRepository.findByAccountNumber("ACC-1")).thenReturn(Optional.of(account("ACC-1", AccountStatus.BLOCKED)));
+
+        // When
+        RuntimeException e = assertThrows(RuntimeException.class, () -> accountService.debit("ACC-1", AMOUNT, null));
+
+        // Then
+        assertTrue(e.getMessage().startsWith("Account is not active"));
+    }
+
+    @Test
+    void debit_NonPositiveAmount_IsRejected() {
+        assertThrows(RuntimeException.class, () -> accountService.debit("ACC-1", BigDecimal.ZERO, "TX-1"));
+        verifyNoInteractions(accountRepository);
+    }
+
+    @Test
+    void debit_ReplayedReference_DoesNotMoveMoneyAgain() {
+        // Given
+        when(balanceMovementRepository.findById("TX-1"))
+                .thenReturn(Optional.of(applied("TX-1", "ACC-1", null, AMOUNT)));
+        when(accountRepository.findBalanceByAccountNumber("ACC-1")).thenReturn(Optional.of(balance("ACC-1", "75.00")));
+
+        // When
+        accountService.debit("ACC-1", AMOUNT, "TX-1");
+
+        // Then
+        verify(accountRepository, never()).debit(anyString(), any());
+        verifyNoInteractions(entityManager);
+    }
+
+    @Test
+    void debit_ReplayedReferenceWithDifferentAmount_IsRejected() {
+        // Given
+        when(balanceMovementRepository.findById("TX-1"))
+                .thenReturn(Optional.of(applied("TX-1", "ACC-1", null, AMOUNT)));
+
+        // When
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> accountService.debit("ACC-1", new BigDecimal("30.00"), "TX-1"));
+
+        // Then
+        assertEquals(HttpStatus.CONFLICT, e.getStatusCode());
+        verify(accountRepository, never()).debit(anyString(), any());
+    }
+
+    @Test
+    void credit_ReplayedDebitReference_IsRejected() {
+        // Given
+        when(balanceMovementRepository.findById("TX-1"))
+                .thenReturn(Optional.of(applied("TX-1", "ACC-1", null, AMOUNT)));
+
+        // When / Then
+        assertThrows(ResponseStatusException.class, () -> accountService.credit("ACC-1", AMOUNT, "TX-1"));
+        verify(accountRepository, never()).credit(anyString(), any());
+    }
+
+    @Test
+    void debit_ReversedReference_IsRejected() {
+        // Given
+        BalanceMovement voided = new BalanceMovement("TX-1", null, null, null, MovementState.VOIDED);
+        when(balanceMovementRepository.findById("TX-1")).thenReturn(Optional.of(voided));
+
+        // When / Then
+        assertThrows(RuntimeException.class, () -> accountService.debit("ACC-1", AMOUNT, "TX-1"));
+        verify(accountRepository, never()).debit(anyString(), any());
+    }
+
+    // ========== CREDIT ==========
+
+    @Test
+    void credit_AppliesConditionalUpdateAndRecordsMovement() {
+        // Given
+        when(balanceMovementRepository.findById("TX-1")).thenReturn(Optional.empty());
+        when(accountRepository.credit("ACC-2", AMOUNT)).thenReturn(1);
+        when(accountRepository.findBalanceByAccountNumber("ACC-2")).thenReturn(Optional.of(balance("ACC-2", "125.00")));
+
+        // When
+        accountService.credit("ACC-2", AMOUNT, "TX-1");
+
+        // Then
+        verify(entityManager).persist(argThat(movement -> movement instanceof BalanceMovement m
+                && m.getFromAccountNumber() == null && "ACC-2".equals(m.getToAccountNumber())));
+        verify(accountReadCache).evictAfterCommit("ACC-2");
+    }
+
+    @Test
+    void credit_ClosedAccount_IsRejected() {
+        // Given
+        when(accountRepository.credit("ACC-2", AMOUNT)).thenReturn(0);
+        when(accountRepository.findByAccountNumber("ACC-2")).thenReturn(Optional.of(account("ACC-2", AccountStatus.CLOSED)));
+
+        // When
+        RuntimeException e = assertThrows(RuntimeException.class, () -> accountService.credit("ACC-2", AMOUNT, null));
+
+        // Then
+        assertTrue(e.getMessage().startsWith("Account is closed"));
+    }
+
+    // ========== TRANSFER ==========
+
+    @Test
+    void transfer_LocksRowsInAccountNumberOrder() {
+        // Given
+        when(accountRepository.debit("ACC-2", AMOUNT)).thenReturn(1);
+        when(accountRepository.credit("ACC-1", AMOUNT)).thenReturn(1);
+        when(accountRepository.findBalanceByAccountNumber("ACC-2")).thenReturn(Optional.of(balance("ACC-2", "0.00")));
+
+        // When
+        accountService.transfer(new AccountTransferDto("ACC-2", "ACC-1", AMOUNT));
+
+        // Then
+        InOrder inOrder = inOrder(accountRepository);
+        inOrder.verify(accountRepository).credit("ACC-1", AMOUNT);
+        inOrder.verify(accountRepository).debit("ACC-2", AMOUNT);
+    }
+
+    @Test
+    void transfer_SameAccount_IsRejected() {
+        assertThrows(RuntimeException.class,
+                () -> accountService.transfer(new AccountTransferDto("ACC-1", "ACC-1", AMOUNT)));
+        verifyNoInteractions(accountRepository);
+    }
+
+    @Test
+    void transfer_InsufficientFunds_IsRejected() {
+        // Given
+        when(accountRepository.debit("ACC-1", AMOUNT)).thenReturn(0);
+        when(accountRepository.findByAccountNumber("ACC-1")).thenReturn(Optional.of(account("ACC-1", AccountStatus.ACTIVE)));
+
+        // When / Then
+        assertThrows(RuntimeException.class,
+                () -> accountService.transfer(new AccountTransferDto("ACC-1", "ACC-2", AMOUNT)));
+        verify(accountRepository, never()).credit(anyString(), any());
+    }
+
+    @Test
+    void transfer_ReplayedReference_ComparesAmountByValue() {
+        // Given
+        when(balanceMovementRepository.findById("TX-1"))
+                .thenReturn(Optional.of(applied("TX-1", "ACC-1", "ACC-2", AMOUNT)));
+        when(accountRepository.findBalanceByAccountNumber("ACC-1")).thenReturn(Optional.of(balance("ACC-1", "75.00")));
+
+        // When
+        accountService.transfer(new AccountTransferDto("ACC-1", "ACC-2", new BigDecimal("25"), "TX-1"));
+
+        // Then
+        verify(accountRepository, never()).debit(anyString(), any());
+        verify(accountRepository, never()).credit(anyString(), any());
+    }
+
+    @Test
+    void transfer_ReplayedReferenceWithDifferentAccounts_IsRejected() {
+        // Given
+        when(balanceMovementRepository.findById("TX-1"))
+                .thenReturn(Optional.of(applied("TX-1", "ACC-1", "ACC-2", AMOUNT)));
+
+        // When
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> accountService.transfer(new AccountTransferDto("ACC-1", "ACC-3", AMOUNT, "TX-1")));
+
+        // Then
+        assertEquals(HttpStatus.CONFLICT, e.getStatusCode());
+        verify(accountRepository, never()).debit(anyString(), any());
+    }
+
+    // ========== REVERSE ==========
+
+    @Test
+    void reverseMovement_Transfer_MovesMoneyBack() {
+        // Given
+        BalanceMovement movement = applied("TX-1", "ACC-1", "ACC-2", AMOUNT);
+        when(balanceMovementRepository.findForUpdate("TX-1")).thenReturn(Optional.of(movement));
+        when(accountRepository.debit("ACC-2", AMOUNT)).thenReturn(1);
+        when(accountRepository.credit("ACC-1", AMOUNT)).thenReturn(1);
+
+        // When
+        accountService.reverseMovement("TX-1");
+
+        // Then
+        assertEquals(MovementState.REVERSED, movement.getState());
+        verify(accountRepository).debit("ACC-2", AMOUNT);
+        verify(accountRepository).credit("ACC-1", AMOUNT);
+    }
+
+    @Test
+    void reverseMovement_AlreadyReversed_IsNoOp() {
+        // Given
+        BalanceMovement movement = applied("TX-1", "ACC-1", "ACC-2", AMOUNT);
+        movement.setState(MovementState.REVERSED);
+        when(balanceMovementRepository.findForUpdate("TX-1")).thenReturn(Optional.of(movement));
+
+        // When
+        accountService.reverseMovement("TX-1");
+
+        // Then
+        verifyNoInteractions(accountRepository);
+    }
+
+    private static BalanceMovement applied(String reference, String from, String to, BigDecimal amount) {
+        return new BalanceMovement(reference, from, to, amount, MovementState.APPLIED);
+    }
+
+    private static AccountBalanceDto balance(String accountNumber, String balance) {
+        return new AccountBalanceDto(accountNumber, new BigDecimal(balance), Currency.RON, null, null);
+    }
+
+    private static Account account(String accountNumber, AccountStatus status) {
+        Account account = new Account();
+        account.setAccountNumber(accountNumber);
+        account.setStatus(status);
+        return account;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.AccountManagement.utils;
+
+import com.example.AccountManagement.enums.AccountSortField;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountCursorTest {
+
+    @Test
+    void decode_RoundTripsAnEncodedCursor() {
+        // Given
+        String token = new AccountCursor(AccountSortField.BALANCE, true, 42L, "10.50").encode();
+
+        // When
+        AccountCursor cursor = AccountCursor.decode(token, AccountSortField.BALANCE, true);
+
+        // Then
+        assertEquals(42L, cursor.lastId());
+        assertEquals(new BigDecimal("10.50"), cursor.lastBalance());
+    }
+
+    @Test
+    void decode_TamperedId_Returns400() {
+        assertBadRequest(raw("BALANCE|asc|forty-two|10.50"), AccountSortField.BALANCE);
+    }
+
+    @Test
+    void decode_TamperedBalance_Returns400() {
+        assertBadRequest(raw("BALANCE|asc|42|ten"), AccountSortField.BALANCE);
+    }
+
+    @Test
+    void decode_NotBase64_Returns400() {
+        assertBadRequest("%%%", AccountSortField.ID);
+    }
+
+    @Test
+    void decode_OtherSortOrder_Returns400() {
+        assertBadRequest(new AccountCursor(AccountSortField.ID, false, 1L, "").encode(), AccountSortField.BALANCE);
+    }
+
+    private static void assertBadRequest(String token, AccountSortField sortField) {
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> AccountCursor.decode(token, sortField, false));
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+    }
+
+    private static String raw(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
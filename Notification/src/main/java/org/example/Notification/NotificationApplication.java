@@ -1,17 +1,21 @@
 package org.example.Notification;
 
+import org.example.Notification.utils.SnowflakeIdGenerator;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.openfeign.EnableFeignClients;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 
 @SpringBootApplication
 @EnableFeignClients
 @EnableDiscoveryClient
+@EnableScheduling
 public class NotificationApplication {
 
 	public static void main(String[] args) {
+		SnowflakeIdGenerator.node();
 		SpringApplication.run(NotificationApplication.class, args);
 	}
 
@@ -0,0 +1,281 @@
+package org.example.Notification.archive;
+
+import org.example.Notification.entity.Notification;
+import org.example.Notification.enums.NotificationPriority;
+import org.example.Notification.enums.NotificationStatus;
+import org.example.Notification.enums.NotificationType;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Read-only, memory-mapped view of a segment written by {@link SegmentWriter}.
+ *
+ * <p>Only the header and the sparse index are read on open; blocks are inflated straight from the
+ * mapping when a lookup needs them, so the page cache rather than the heap holds the archive.
+ * Instances are immutable and safe to share between threads.</p>
+ */
+public final class Segment {
+
+    private final Path path;
+    private final ByteBuffer mapped;
+    private final int rowCount;
+    private final int blockCount;
+    private final long minRecipientId;
+    private final long maxRecipientId;
+    private final long minCreatedAt;
+    private final long maxCreatedAt;
+    private final long dataStart;
+
+    private Segment(Path path, ByteBuffer mapped) throws IOException {
+        this.path = path;
+        this.mapped = mapped;
+        if (mapped.capacity() < SegmentWriter.HEADER_BYTES || mapped.getInt(0) != SegmentWriter.MAGIC) {
+            throw new IOException("Not a notification segment: " + path);
+        }
+        if (mapped.getShort(4) != SegmentWriter.VERSION) {
+            throw new IOException("Unsupported segment version " + mapped.getShort(4) + ": " + path);
+        }
+        this.rowCount = mapped.getInt(6);
+        this.blockCount = mapped.getInt(10);
+        this.minRecipientId = mapped.getLong(14);
+        this.maxRecipientId = mapped.getLong(22);
+        this.minCreatedAt = mapped.getLong(30);
+        this.maxCreatedAt = mapped.getLong(38);
+        this.dataStart = SegmentWriter.HEADER_BYTES + (long) blockCount * SegmentWriter.INDEX_ENTRY_BYTES;
+    }
+
+    public static Segment open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new Segment(path, mapped);
+        }
+    }
+
+    public Path path() {
+        return path;
+    }
+
+    public int rowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Notifications of one recipient, optionally restricted to {@code from <= createdAt < to}
+     * (either bound may be null), in ascending createdAt order.
+     */
+    public List<Notification> find(long recipientId, LocalDateTime from, LocalDateTime to) {
+        long fromMicros = from != null ? SegmentWriter.micros(from) : Long.MIN_VALUE;
+        long toMicros = to != null ? SegmentWriter.micros(to) : Long.MAX_VALUE;
+        List<Notification> found = new ArrayList<>();
+        if (recipientId < minRecipientId || recipientId > maxRecipientId
+                || maxCreatedAt < fromMicros || minCreatedAt >= toMicros) {
+            return found;
+        }
+        for (int block = firstBlockEndingAtOrAfter(recipientId); block < blockCount; block++) {
+            int entry = SegmentWriter.HEADER_BYTES + block * SegmentWriter.INDEX_ENTRY_BYTES;
+            if (mapped.getLong(entry) > recipientId) {
+                break;
+            }
+            if (mapped.getLong(entry + 24) < fromMicros || mapped.getLong(entry + 16) >= toMicros) {
+                continue;
+            }
+            for (Notification row : decode(entry)) {
+                long createdAt = SegmentWriter.micros(row.getCreatedAt());
+                if (row.getRecipientId() != null && row.getRecipientId() == recipientId
+                        && createdAt >= fromMicros && createdAt < toMicros) {
+                    found.add(row);
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * At most {@code limit} notifications of one recipient that sort strictly before
+     * ({@code beforeAt}, {@code beforeId}) and match {@code filter}, newest first. Blocks are walked
+     * backwards from the recipient's newest one and the walk stops as soon as {@code limit} rows are
+     * found, so a history page inflates a few blocks however much older history the recipient has.
+     */
+    public List<Notification> findNewestBefore(long recipientId, LocalDateTime beforeAt, long beforeId,
+                                               Predicate<Notification> filter, int limit) {
+        long beforeMicros = SegmentWriter.micros(beforeAt);
+        List<Notification> found = new ArrayList<>();
+        if (limit <= 0 || recipientId < minRecipientId || recipientId > maxRecipientId
+                || minCreatedAt > beforeMicros) {
+            return found;
+        }
+        for (int block = lastBlockStartingAtOrBefore(recipientId); block >= 0 && found.size() < limit; block--) {
+            int entry = SegmentWriter.HEADER_BYTES + block * SegmentWriter.INDEX_ENTRY_BYTES;
+            if (mapped.getLong(entry + 8) < recipientId) {
+                break;
+            }
+            if (mapped.getLong(entry + 16) > beforeMicros) {
+                continue;
+            }
+            List<Notification> rows = decode(entry);
+            for (int i = rows.size() - 1; i >= 0 && found.size() < limit; i--) {
+                Notification row = rows.get(i);
+                if (row.getRecipientId() != null && row.getRecipientId() == recipientId
+                        && sortsBefore(row, beforeAt, beforeId) && filter.test(row)) {
+                    found.add(row);
+                }
+            }
+        }
+        return found;
+    }
+
+    private static boolean sortsBefore(Notification row, LocalDateTime beforeAt, long beforeId) {
+        if (row.getCreatedAt() == null) {
+            return false;
+        }
+        int byTime = row.getCreatedAt().compareTo(beforeAt);
+        return byTime < 0 || (byTime == 0 && row.getId() != null && row.getId() < beforeId);
+    }
+
+    // binary search on each block's first recipientId
+    private int lastBlockStartingAtOrBefore(long recipientId) {
+        int low = 0;
+        int high = blockCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            long firstRecipient = mapped.getLong(SegmentWriter.HEADER_BYTES + mid * SegmentWriter.INDEX_ENTRY_BYTES);
+            if (firstRecipient <= recipientId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low - 1;
+    }
+
+    // binary search on each block's last recipientId
+    private int firstBlockEndingAtOrAfter(long recipientId) {
+        int low = 0;
+        int high = blockCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            long lastRecipient = mapped.getLong(SegmentWriter.HEADER_BYTES + mid * SegmentWriter.INDEX_ENTRY_BYTES + 8);
+            if (lastRecipient < recipientId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private List<Notification> decode(int entry) {
+        long offset = mapped.getLong(entry + 32);
+        int compressedLength = mapped.getInt(entry + 40);
+        int rawLength = mapped.getInt(entry + 44);
+        int rows = mapped.getInt(entry + 48);
+
+        byte[] raw = new byte[rawLength];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(mapped.slice((int) (dataStart + offset), compressedLength));
+            if (inflater.inflate(raw) != rawLength) {
+                throw new IllegalStateException("Truncated block in segment " + path);
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt block in segment " + path, e);
+        } finally {
+            inflater.end();
+        }
+
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(raw));
+            Notification[] block = new Notification[rows];
+            for (int i = 0; i < rows; i++) {
+                block[i] = new Notification();
+            }
+            column(block, in, Segment::readLong, Notification::setId);
+            column(block, in, Segment::readString, Notification::setNotificationId);
+            column(block, in, Segment::readLong, Notification::setRecipientId);
+            column(block, in, Segment::readString, Notification::setRecipientEmail);
+            column(block, in, Segment::readString, Notification::setRecipientPhone);
+            column(block, in, stream -> readEnum(stream, NotificationType.class), Notification::setNotificationType);
+            column(block, in, Segment::readString, Notification::setTriggerEvent);
+            column(block, in, Segment::readString, Notification::setSubject);
+            column(block, in, Segment::readString, Notification::setMessage);
+            column(block, in, Segment::readString, Notification::setTemplateId);
+            column(block, in, stream -> readEnum(stream, NotificationStatus.class), Notification::setStatus);
+            column(block, in, stream -> readEnum(stream, NotificationPriority.class), Notification::setPriority);
+            column(block, in, Segment::readTimestamp, Notification::setCreatedAt);
+            column(block, in, Segment::readTimestamp, Notification::setScheduledAt);
+            column(block, in, Segment::readTimestamp, Notification::setSentAt);
+            column(block, in, Segment::readTimestamp, Notification::setDeliveredAt);
+            column(block, in, Segment::readTimestamp, Notification::setFailedAt);
+            column(block, in, Segment::readString, Notification::setFailureReason);
+            column(block, in, Segment::readInt, Notification::setRetryCount);
+            column(block, in, Segment::readInt, Notification::setMaxRetries);
+            column(block, in, Segment::readLong, Notification::setRelatedAccountId);
+            column(block, in, Segment::readLong, Notification::setRelatedTransactionId);
+            return List.of(block);
+        } catch (IOException e) {
+            throw new IllegalStateException("Corrupt block in segment " + path, e);
+        }
+    }
+
+    private static <T> void column(Notification[] block, DataInputStream in, ColumnReader<T> reader,
+                                   BiConsumer<Notification, T> setter) throws IOException {
+        for (Notification row : block) {
+            setter.accept(row, reader.read(in));
+        }
+    }
+
+    private static Long readLong(DataInputStream in) throws IOException {
+        long value = in.readLong();
+        return value != Long.MIN_VALUE ? value : null;
+    }
+
+    private static Integer readInt(DataInputStream in) throws IOException {
+        int value = in.readInt();
+        return value != Integer.MIN_VALUE ? value : null;
+    }
+
+    private static LocalDateTime readTimestamp(DataInputStream in) throws IOException {
+        long micros = in.readLong();
+        if (micros == Long.MIN_VALUE) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] utf8 = new byte[length];
+        in.readFully(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private static <E extends Enum<E>> E readEnum(DataInputStream in, Class<E> type) throws IOException {
+        String name = readString(in);
+        return name != null ? Enum.valueOf(type, name) : null;
+    }
+
+    @FunctionalInterface
+    private interface ColumnReader<T> {
+        T read(DataInputStream in) throws IOException;
+    }
+}
@@ -0,0 +1,228 @@
+package org.example.Notification.archive;
+
+import org.example.Notification.entity.Notification;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.zip.Deflater;
+
+/**
+ * Writes archived notifications as one immutable segment file.
+ *
+ * <p><strong>Layout</strong> (big-endian):</p>
+ * <pre>
+ * header  magic "NSEG", version, rowCount, blockCount,
+ *         min/max recipientId, min/max createdAt
+ * index   one entry per block: first/last recipientId, min/max createdAt,
+ *         offset, compressed length, raw length, rows
+ * blocks  up to {@value #BLOCK_ROWS} rows each, deflated, stored column by column
+ * </pre>
+ *
+ * <p>Rows are sorted by (recipientId, createdAt), so the index is a sparse index on both: a lookup
+ * binary-searches it and inflates only the blocks that can hold the recipient. Timestamps are stored
+ * as microseconds of the local date-time, {@link Long#MIN_VALUE} meaning null.</p>
+ *
+ * <p>The file is written under a temporary name, forced to disk and then renamed, so a segment is
+ * either complete or absent. Its name is derived from the id range it holds, which makes archiving
+ * the same rows again after a crash replace the segment instead of duplicating it.</p>
+ */
+public final class SegmentWriter {
+
+    static final int MAGIC = 0x4E534547;
+    static final short VERSION = 1;
+    static final int BLOCK_ROWS = 128;
+    static final int HEADER_BYTES = 4 + 2 + 4 + 4 + 8 * 4;
+    static final int INDEX_ENTRY_BYTES = 8 * 5 + 4 * 3;
+    static final String EXTENSION = ".nseg";
+
+    private static final Comparator<Notification> ORDER = Comparator
+            .comparing(Notification::getRecipientId, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(Notification::getCreatedAt, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(Notification::getId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private SegmentWriter() {
+    }
+
+    public static Path write(Path directory, List<Notification> notifications) throws IOException {
+        if (notifications.isEmpty()) {
+            throw new IllegalArgumentException("A segment needs at least one notification");
+        }
+        List<Notification> rows = new ArrayList<>(notifications);
+        rows.sort(ORDER);
+
+        List<byte[]> blocks = new ArrayList<>();
+        ByteBuffer index = ByteBuffer.allocate(INDEX_ENTRY_BYTES * ((rows.size() + BLOCK_ROWS - 1) / BLOCK_ROWS));
+        long offset = 0;
+        long minCreated = Long.MAX_VALUE;
+        long maxCreated = Long.MIN_VALUE;
+        long minId = Long.MAX_VALUE;
+        long maxId = Long.MIN_VALUE;
+        for (int from = 0; from < rows.size(); from += BLOCK_ROWS) {
+            List<Notification> block = rows.subList(from, Math.min(from + BLOCK_ROWS, rows.size()));
+            byte[] raw = encode(block);
+            byte[] compressed = deflate(raw);
+            long blockMinCreated = Long.MAX_VALUE;
+            long blockMaxCreated = Long.MIN_VALUE;
+            for (Notification row : block) {
+                long createdAt = micros(row.getCreatedAt());
+                blockMinCreated = Math.min(blockMinCreated, createdAt);
+                blockMaxCreated = Math.max(blockMaxCreated, createdAt);
+                minId = Math.min(minId, nullable(row.getId()));
+                maxId = Math.max(maxId, nullable(row.getId()));
+            }
+            index.putLong(nullable(block.get(0).getRecipientId()))
+                    .putLong(nullable(block.get(block.size() - 1).getRecipientId()))
+                    .putLong(blockMinCreated)
+                    .putLong(blockMaxCreated)
+                    .putLong(offset)
+                    .putInt(compressed.length)
+                    .putInt(raw.length)
+                    .putInt(block.size());
+            blocks.add(compressed);
+            offset += compressed.length;
+            minCreated = Math.min(minCreated, blockMinCreated);
+            maxCreated = Math.max(maxCreated, blockMaxCreated);
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                .putInt(MAGIC)
+                .putShort(VERSION)
+                .putInt(rows.size())
+                .putInt(blocks.size())
+                .putLong(nullable(rows.get(0).getRecipientId()))
+                .putLong(nullable(rows.get(rows.size() - 1).getRecipientId()))
+                .putLong(minCreated)
+                .putLong(maxCreated);
+
+        Files.createDirectories(directory);
+        Path target = directory.resolve("segment-" + minId + "-" + maxId + EXTENSION);
+        Path temp = Files.createTempFile(directory, "segment-", ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                writeFully(channel, header.flip());
+                writeFully(channel, index.flip());
+                for (byte[] block : blocks) {
+                    writeFully(channel, ByteBuffer.wrap(block));
+                }
+                channel.force(true);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return target;
+    }
+
+    static long micros(LocalDateTime dateTime) {
+        if (dateTime == null) {
+            return Long.MIN_VALUE;
+        }
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + dateTime.getNano() / 1_000;
+    }
+
+    private static byte[] encode(List<Notification> block) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(block.size() * 256);
+        DataOutputStream out = new DataOutputStream(bytes);
+        longs(out, block, Notification::getId);
+        strings(out, block, Notification::getNotificationId);
+        longs(out, block, Notification::getRecipientId);
+        strings(out, block, Notification::getRecipientEmail);
+        strings(out, block, Notification::getRecipientPhone);
+        strings(out, block, row -> name(row.getNotificationType()));
+        strings(out, block, Notification::getTriggerEvent);
+        strings(out, block, Notification::getSubject);
+        strings(out, block, Notification::getMessage);
+        strings(out, block, Notification::getTemplateId);
+        strings(out, block, row -> name(row.getStatus()));
+        strings(out, block, row -> name(row.getPriority()));
+        timestamps(out, block, Notification::getCreatedAt);
+        timestamps(out, block, Notification::getScheduledAt);
+        timestamps(out, block, Notification::getSentAt);
+        timestamps(out, block, Notification::getDeliveredAt);
+        timestamps(out, block, Notification::getFailedAt);
+        strings(out, block, Notification::getFailureReason);
+        ints(out, block, Notification::getRetryCount);
+        ints(out, block, Notification::getMaxRetries);
+        longs(out, block, Notification::getRelatedAccountId);
+        longs(out, block, Notification::getRelatedTransactionId);
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 4 + 64);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static void longs(DataOutputStream out, List<Notification> block, Function<Notification, Long> column) throws IOException {
+        for (Notification row : block) {
+            out.writeLong(nullable(column.apply(row)));
+        }
+    }
+
+    private static void ints(DataOutputStream out, List<Notification> block, Function<Notification, Integer> column) throws IOException {
+        for (Notification row : block) {
+            Integer value = column.apply(row);
+            out.writeInt(value != null ? value : Integer.MIN_VALUE);
+        }
+    }
+
+    private static void timestamps(DataOutputStream out, List<Notification> block,
+                                   Function<Notification, LocalDateTime> column) throws IOException {
+        for (Notification row : block) {
+            out.writeLong(micros(column.apply(row)));
+        }
+    }
+
+    private static void strings(DataOutputStream out, List<Notification> block, Function<Notification, String> column) throws IOException {
+        for (Notification row : block) {
+            String value = column.apply(row);
+            if (value == null) {
+                out.writeInt(-1);
+            } else {
+                byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(utf8.length);
+                out.write(utf8);
+            }
+        }
+    }
+
+    private static String name(Enum<?> value) {
+        return value != null ? value.name() : null;
+    }
+
+    private static long nullable(Long value) {
+        return value != null ? value : Long.MIN_VALUE;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package org.example.Notification.channel;
+
+import org.example.Notification.entity.Notification;
+import org.example.Notification.enums.NotificationType;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stand-in email provider that prints the message instead of talking to an SMTP server.
+ */
+@Component
+public class ConsoleEmailChannel implements NotificationChannel {
+
+    @Override
+    public NotificationType type() {
+        return NotificationType.EMAIL;
+    }
+
+    @Override
+    public void deliver(Notification notification) {
+        System.out.println("Sending Email to: " + notification.getRecipientEmail());
+        System.out.println("Subject: " + notification.getSubject());
+        System.out.println("Message: " + notification.getMessage());
+    }
+}
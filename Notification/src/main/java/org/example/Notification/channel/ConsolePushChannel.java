@@ -0,0 +1,23 @@
+package org.example.Notification.channel;
+
+import org.example.Notification.entity.Notification;
+import org.example.Notification.enums.NotificationType;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stand-in push provider that prints the message instead of calling a push service.
+ */
+@Component
+public class ConsolePushChannel implements NotificationChannel {
+
+    @Override
+    public NotificationType type() {
+        return NotificationType.PUSH;
+    }
+
+    @Override
+    public void deliver(Notification notification) {
+        System.out.println("Sending Push to recipient: " + notification.getRecipientId());
+        System.out.println("Message: " + notification.getMessage());
+    }
+}
@@ -0,0 +1,23 @@
+package org.example.Notification.channel;
+
+import org.example.Notification.entity.Notification;
+import org.example.Notification.enums.NotificationType;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stand-in SMS provider that prints the message instead of calling an SMS gateway.
+ */
+@Component
+public class ConsoleSmsChannel implements NotificationChannel {
+
+    @Override
+    public NotificationType type() {
+        return NotificationType.SMS;
+    }
+
+    @Override
+    public void deliver(Notification notification) {
+        System.out.println("Sending SMS to: " + notification.getRecipientPhone());
+        System.out.println("Message: " + notification.getMessage());
+    }
+}
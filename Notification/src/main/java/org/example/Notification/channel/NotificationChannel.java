@@ -0,0 +1,30 @@
+package org.example.Notification.channel;
+
+import org.example.Notification.entity.Notification;
+import org.example.Notification.enums.NotificationType;
+
+/**
+ * Delivery provider for one notification type (EMAIL, SMS, PUSH).
+ *
+ * <p>Implementations are discovered as Spring beans by the
+ * {@link org.example.Notification.service.NotificationDeliveryEngine}, which calls them from its own
+ * worker threads, outside any database transaction. A provider may therefore block on network I/O;
+ * it signals a failed delivery by throwing.</p>
+ *
+ * @since 1.1
+ */
+public interface NotificationChannel {
+
+    /**
+     * @return the notification type this channel delivers
+     */
+    NotificationType type();
+
+    /**
+     * Hands the notification to the provider.
+     *
+     * @param notification a PENDING notification of this channel's type
+     * @throws Exception if the provider rejected or could not accept the notification
+     */
+    void deliver(Notification notification) throws Exception;
+}
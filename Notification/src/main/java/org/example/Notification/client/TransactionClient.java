@@ -4,6 +4,8 @@ import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @FeignClient(name = "transactions", path = "/api/transactions")
 public interface TransactionClient {
 
@@ -24,6 +26,9 @@ public interface TransactionClient {
     @GetMapping("/calculate-fees/{transactionId}")
     ResponseEntity<String> calculateFees(@PathVariable("transactionId") String transactionId);
 
+    @PostMapping("/calculate-fees/batch")
+    ResponseEntity<List<Object>> calculateFeesBatch(@RequestBody List<String> transactionIds);
+
     @GetMapping("/anti-fraud-check/{transactionId}")
     ResponseEntity<String> antiFraudCheck(@PathVariable("transactionId") String transactionId);
 }
\ No newline at end of file
@@ -0,0 +1,29 @@
+package org.example.Notification.controller;
+
+import org.example.Notification.dto.request.TransactionEventDto;
+import org.example.Notification.service.ITransactionEventService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Transaction lifecycle events pushed by the Transactions outbox relay. They overwrite the local transaction
+ * snapshots, so they are not routed by the gateway and are only served to callers presenting the internal
+ * service token (see {@code SecurityConfig}).
+ */
+@RestController
+@RequestMapping(path = "/internal/notifications")
+public class InternalNotificationController {
+
+    @Autowired
+    private ITransactionEventService transactionEventService;
+
+    @PostMapping("/events")
+    public ResponseEntity<Void> receiveTransactionEvents(@RequestBody List<TransactionEventDto> events) {
+        transactionEventService.applyTransactionEvents(events);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).build();
+    }
+}
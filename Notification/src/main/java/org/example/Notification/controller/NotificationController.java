@@ -3,8 +3,11 @@ package org.example.Notification.controller;
 import org.example.Notification.dto.request.NotificationCreateDto;
 import org.example.Notification.dto.request.NotificationUpdateDto;
 import org.example.Notification.dto.response.NotificationDto;
+import org.example.Notification.dto.response.NotificationPageDto;
 import org.example.Notification.dto.response.NotificationStatusDto;
+import org.example.Notification.dto.response.PurgeProgressDto;
 import org.example.Notification.entity.Notification;
+import org.example.Notification.enums.NotificationStatus;
 import org.example.Notification.repository.NotificationRepository;
 import org.example.Notification.service.INotificationService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -103,8 +106,8 @@ public class NotificationController {
         boolean deleted = notificationService.deleteExpiredNotifications(retentionDays);
         if (deleted) {
             return ResponseEntity
-                    .status(HttpStatus.OK)
-                    .body("Expired notifications deleted successfully");
+                    .status(HttpStatus.ACCEPTED)
+                    .body("Purge of expired notifications started");
         } else {
             return ResponseEntity
                     .status(HttpStatus.OK)
@@ -112,6 +115,12 @@ public class NotificationController {
         }
     }
 
+    @GetMapping("/delete-expired/progress")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<PurgeProgressDto> getPurgeProgress() {
+        return ResponseEntity.ok(notificationService.getPurgeProgress());
+    }
+
     @PostMapping("/resend-failed/{notificationId}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<String> resendFailedNotification(@PathVariable("notificationId") String notificationId) {
@@ -135,7 +144,7 @@ public class NotificationController {
     public ResponseEntity<String> sendSmsNotification(@PathVariable("notificationId") String notificationId) {
         String result = notificationService.sendSmsNotification(notificationId);
         return ResponseEntity
-                .status(HttpStatus.OK)
+                .status(HttpStatus.ACCEPTED)
                 .body(result);
     }
 
@@ -144,7 +153,7 @@ public class NotificationController {
     public ResponseEntity<String> sendEmailNotification(@PathVariable("notificationId") String notificationId) {
         String result = notificationService.sendEmailNotification(notificationId);
         return ResponseEntity
-                .status(HttpStatus.OK)
+                .status(HttpStatus.ACCEPTED)
                 .body(result);
     }
 
@@ -175,6 +184,28 @@ public class NotificationController {
                 .body(history);
     }
 
+    @GetMapping("/history/{recipientId}/page")
+    @PreAuthorize("hasAnyRole('CUSTOMER', 'ADMIN')")
+    public ResponseEntity<NotificationPageDto> getNotificationHistoryPage(
+            @PathVariable("recipientId") Long recipientId,
+            @RequestParam(required = false) List<NotificationStatus> status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        NotificationPageDto page = notificationService.getNotificationHistoryPage(recipientId, status, cursor, limit);
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(page);
+    }
+
+    @GetMapping("/unread-count/{recipientId}")
+    @PreAuthorize("hasAnyRole('CUSTOMER', 'ADMIN')")
+    public ResponseEntity<Long> getUnreadCount(@PathVariable("recipientId") Long recipientId) {
+        long unread = notificationService.getUnreadCount(recipientId);
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(unread);
+    }
+
     @PostMapping("/create-for-transaction/{transactionId}")
     @PreAuthorize("hasAnyRole('CUSTOMER', 'ADMIN')")
     public ResponseEntity<NotificationDto> createNotificationForTransaction(
@@ -0,0 +1,34 @@
+package org.example.Notification.dto.response;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class NotificationPageDto {
+
+    private List<NotificationDto> items = new ArrayList<>();
+    private String nextCursor;
+
+    public NotificationPageDto() {
+    }
+
+    public NotificationPageDto(List<NotificationDto> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<NotificationDto> getItems() {
+        return items;
+    }
+
+    public void setItems(List<NotificationDto> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -8,7 +8,13 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+        @Index(name = "idx_notifications_status_scheduled_at", columnList = "status, scheduled_at"),
+        @Index(name = "idx_notifications_status_lease_expires_at", columnList = "status, lease_expires_at"),
+        @Index(name = "idx_notifications_status_next_attempt_at", columnList = "status, next_attempt_at"),
+        @Index(name = "idx_notifications_created_at", columnList = "created_at, id"),
+        @Index(name = "idx_notifications_recipient_created_at", columnList = "recipient_id, created_at DESC, id DESC")
+})
 public class Notification {
 
     @Id
@@ -75,12 +81,21 @@ public class Notification {
     @Column(name = "max_retries", nullable = false)
     private Integer maxRetries = 3;
 
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
     @Column(name = "related_account_id")
     private Long relatedAccountId;
 
     @Column(name = "related_transaction_id")
     private Long relatedTransactionId;
 
+    @Column(name = "lease_owner", length = 100)
+    private String leaseOwner;
+
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+
     public Notification() {
     }
 
@@ -264,6 +279,14 @@ public class Notification {
         this.maxRetries = maxRetries;
     }
 
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
     public Long getRelatedAccountId() {
         return relatedAccountId;
     }
@@ -279,4 +302,20 @@ public class Notification {
     public void setRelatedTransactionId(Long relatedTransactionId) {
         this.relatedTransactionId = relatedTransactionId;
     }
-}
\ No newline at end of file
+
+    public String getLeaseOwner() {
+        return leaseOwner;
+    }
+
+    public void setLeaseOwner(String leaseOwner) {
+        this.leaseOwner = leaseOwner;
+    }
+
+    public LocalDateTime getLeaseExpiresAt() {
+        return leaseExpiresAt;
+    }
+
+    public void setLeaseExpiresAt(LocalDateTime leaseExpiresAt) {
+        this.leaseExpiresAt = leaseExpiresAt;
+    }
+}
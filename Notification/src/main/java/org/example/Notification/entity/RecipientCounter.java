@@ -0,0 +1,47 @@
+package org.example.Notification.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Per-recipient counters maintained alongside notification state changes, so reading them never
+ * scans the notifications table.
+ *
+ * <p>{@code unreadCount} is the number of the recipient's notifications in status SENT. It is
+ * incremented by the same statement that marks a notification SENT and decremented when one is
+ * marked READ or purged while still SENT.</p>
+ */
+@Entity
+@Table(name = "recipient_counters")
+public class RecipientCounter {
+
+    @Id
+    @Column(name = "recipient_id")
+    private Long recipientId;
+
+    @Column(name = "unread_count", nullable = false)
+    private long unreadCount;
+
+    public RecipientCounter() {
+    }
+
+    public RecipientCounter(Long recipientId, long unreadCount) {
+        this.recipientId = recipientId;
+        this.unreadCount = unreadCount;
+    }
+
+    public Long getRecipientId() {
+        return recipientId;
+    }
+
+    public void setRecipientId(Long recipientId) {
+        this.recipientId = recipientId;
+    }
+
+    public long getUnreadCount() {
+        return unreadCount;
+    }
+
+    public void setUnreadCount(long unreadCount) {
+        this.unreadCount = unreadCount;
+    }
+}
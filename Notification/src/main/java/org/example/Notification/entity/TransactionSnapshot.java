@@ -0,0 +1,177 @@
+package org.example.Notification.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Local projection of a transaction, built from the events relayed by the Transactions service.
+ */
+@Entity
+@Table(name = "transaction_snapshots")
+public class TransactionSnapshot {
+
+    @Id
+    @Column(name = "transaction_id", length = 50)
+    private String transactionId;
+
+    @Column(name = "transaction_type", length = 20)
+    private String transactionType;
+
+    @Column(name = "status", length = 20)
+    private String status;
+
+    @Column(name = "from_account_number", length = 30)
+    private String fromAccountNumber;
+
+    @Column(name = "to_account_number", length = 30)
+    private String toAccountNumber;
+
+    @Column(name = "amount", precision = 15, scale = 2)
+    private BigDecimal amount;
+
+    @Column(name = "currency", length = 3)
+    private String currency;
+
+    @Column(name = "fee", precision = 15, scale = 2)
+    private BigDecimal fee;
+
+    @Column(name = "risk_score", precision = 3, scale = 2)
+    private BigDecimal riskScore;
+
+    @Column(name = "fraud_flagged", nullable = false)
+    private boolean fraudFlagged;
+
+    @Column(name = "failure_reason", length = 255)
+    private String failureReason;
+
+    @Column(name = "last_event_id", nullable = false)
+    private Long lastEventId = 0L;
+
+    // per-transaction version of the last state event applied; outbox ids are not ordered across producers
+    @Column(name = "last_version")
+    private Long lastVersion = 0L;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public TransactionSnapshot() {
+    }
+
+    public TransactionSnapshot(String transactionId) {
+        this.transactionId = transactionId;
+    }
+
+    public String getTransactionId() {
+        return transactionId;
+    }
+
+    public void setTransactionId(String transactionId) {
+        this.transactionId = transactionId;
+    }
+
+    public String getTransactionType() {
+        return transactionType;
+    }
+
+    public void setTransactionType(String transactionType) {
+        this.transactionType = transactionType;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getFromAccountNumber() {
+        return fromAccountNumber;
+    }
+
+    public void setFromAccountNumber(String fromAccountNumber) {
+        this.fromAccountNumber = fromAccountNumber;
+    }
+
+    public String getToAccountNumber() {
+        return toAccountNumber;
+    }
+
+    public void setToAccountNumber(String toAccountNumber) {
+        this.toAccountNumber = toAccountNumber;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+
+    public BigDecimal getFee() {
+        return fee;
+    }
+
+    public void setFee(BigDecimal fee) {
+        this.fee = fee;
+    }
+
+    public BigDecimal getRiskScore() {
+        return riskScore;
+    }
+
+    public void setRiskScore(BigDecimal riskScore) {
+        this.riskScore = riskScore;
+    }
+
+    public boolean isFraudFlagged() {
+        return fraudFlagged;
+    }
+
+    public void setFraudFlagged(boolean fraudFlagged) {
+        this.fraudFlagged = fraudFlagged;
+    }
+
+    public String getFailureReason() {
+        return failureReason;
+    }
+
+    public void setFailureReason(String failureReason) {
+        this.failureReason = failureReason;
+    }
+
+    public Long getLastEventId() {
+        return lastEventId;
+    }
+
+    public void setLastEventId(Long lastEventId) {
+        this.lastEventId = lastEventId;
+    }
+
+    public Long getLastVersion() {
+        return lastVersion;
+    }
+
+    public void setLastVersion(Long lastVersion) {
+        this.lastVersion = lastVersion;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -6,5 +6,6 @@ public enum NotificationStatus {
     SENT,
     FAILED,
     READ,
-    EXPIRED
+    EXPIRED,
+    DEAD_LETTER
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+package org.example.Notification.enums;
+
+public enum TransactionEventType {
+    TRANSACTION_POSTED,
+    TRANSACTION_UPDATED,
+    TRANSACTION_COMPLETED,
+    TRANSACTION_FAILED,
+    FRAUD_FLAGGED
+}
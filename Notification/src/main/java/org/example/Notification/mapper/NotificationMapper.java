@@ -5,8 +5,8 @@ import org.example.Notification.dto.request.NotificationUpdateDto;
 import org.example.Notification.dto.response.NotificationDto;
 import org.example.Notification.dto.response.NotificationStatusDto;
 import org.example.Notification.entity.Notification;
+import org.example.Notification.utils.SnowflakeIdGenerator;
 
-import java.util.UUID;
 
 public class NotificationMapper {
 
@@ -98,8 +98,7 @@ public class NotificationMapper {
     }
 
     private static String generateNotificationId() {
-        String timestamp = String.valueOf(System.currentTimeMillis());
-        String random = UUID.randomUUID().toString().substring(0, 8).toUpperCase();
-        return "NOTIF-" + timestamp.substring(timestamp.length() - 10) + "-" + random;
+        // zero-padded so that string order matches id order
+        return String.format("NOTIF-%019d", SnowflakeIdGenerator.next());
     }
 }
@@ -2,25 +2,188 @@ package org.example.Notification.repository;
 
 import org.example.Notification.entity.Notification;
 import org.example.Notification.enums.NotificationStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
 
+    String UNREAD_OF_DELETED = "unread AS (UPDATE recipient_counters c " +
+            "SET unread_count = GREATEST(c.unread_count - g.deleted, 0) " +
+            "FROM (SELECT recipient_id, count(*) AS deleted FROM gone WHERE status = 'SENT' " +
+            "GROUP BY recipient_id) g WHERE c.recipient_id = g.recipient_id) ";
+
     Optional<Notification> findByNotificationId(String notificationId);
 
-    List<Notification> findByRecipientId(Long recipientId);
+    List<Notification> findByRecipientIdOrderByCreatedAtDescIdDesc(Long recipientId);
+
+    /**
+     * One keyset page of a recipient's history, newest first, starting strictly after the cursor
+     * ({@code beforeAt}, {@code beforeId}). Served by the (recipient_id, created_at DESC, id DESC) index;
+     * the leading {@code createdAt <= :beforeAt} is implied by the OR but is what lets Postgres start the
+     * index scan at the cursor instead of filtering every newer row of the recipient.
+     */
+    @Query("SELECT n FROM Notification n WHERE n.recipientId = :recipientId " +
+            "AND n.createdAt <= :beforeAt " +
+            "AND (n.createdAt < :beforeAt OR (n.createdAt = :beforeAt AND n.id < :beforeId)) " +
+            "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findHistoryPage(@Param("recipientId") Long recipientId,
+                                       @Param("beforeAt") LocalDateTime beforeAt,
+                                       @Param("beforeId") Long beforeId,
+                                       Pageable pageable);
+
+    @Query("SELECT n FROM Notification n WHERE n.recipientId = :recipientId AND n.status IN :statuses " +
+            "AND n.createdAt <= :beforeAt " +
+            "AND (n.createdAt < :beforeAt OR (n.createdAt = :beforeAt AND n.id < :beforeId)) " +
+            "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findHistoryPageByStatus(@Param("recipientId") Long recipientId,
+                                               @Param("statuses") Collection<NotificationStatus> statuses,
+                                               @Param("beforeAt") LocalDateTime beforeAt,
+                                               @Param("beforeId") Long beforeId,
+                                               Pageable pageable);
+
+    boolean existsByCreatedAtBefore(LocalDateTime dateTime);
+
+    // index-only scan over (created_at, id); stops after one chunk
+    @Query(value = "SELECT id FROM notifications WHERE created_at < :cutoff " +
+            "ORDER BY created_at, id LIMIT :limit", nativeQuery = true)
+    List<Long> findExpiredIds(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    // deleted rows still SENT are taken off their recipient's unread counter in the same statement
+    @Transactional
+    @Query(value = "WITH gone AS (DELETE FROM notifications " +
+            "WHERE id BETWEEN :fromId AND :toId AND created_at < :cutoff RETURNING recipient_id, status), " +
+            UNREAD_OF_DELETED + "SELECT count(*) FROM gone", nativeQuery = true)
+    int deleteExpiredInRange(@Param("fromId") Long fromId,
+                             @Param("toId") Long toId,
+                             @Param("cutoff") LocalDateTime cutoff);
+
+    @Transactional
+    @Query(value = "WITH gone AS (DELETE FROM notifications " +
+            "WHERE id IN (:ids) AND created_at < :cutoff RETURNING recipient_id, status), " +
+            UNREAD_OF_DELETED + "SELECT count(*) FROM gone", nativeQuery = true)
+    int deleteExpiredByIds(@Param("ids") Collection<Long> ids, @Param("cutoff") LocalDateTime cutoff);
+
+    // rows leased by another instance are skipped rather than waited on; expired leases are reclaimable
+    @Query(value = "SELECT * FROM notifications WHERE status = 'PENDING' " +
+            "AND (lease_expires_at IS NULL OR lease_expires_at < :now) " +
+            "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Notification> claimablePending(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.leaseOwner = :leaseOwner, n.leaseExpiresAt = :leaseExpiresAt " +
+            "WHERE n.id IN :ids")
+    int leaseAll(@Param("ids") Collection<Long> ids,
+                 @Param("leaseOwner") String leaseOwner,
+                 @Param("leaseExpiresAt") LocalDateTime leaseExpiresAt);
+
+    /**
+     * Takes or renews the delivery lease of one PENDING notification. Succeeds when the row is unleased,
+     * its lease has expired, or it is already leased by {@code leaseOwner}.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Notification n SET n.leaseOwner = :leaseOwner, n.leaseExpiresAt = :leaseExpiresAt " +
+            "WHERE n.notificationId = :notificationId " +
+            "AND n.status = org.example.Notification.enums.NotificationStatus.PENDING " +
+            "AND (n.leaseOwner IS NULL OR n.leaseOwner = :leaseOwner OR n.leaseExpiresAt < :now)")
+    int acquireLease(@Param("notificationId") String notificationId,
+                     @Param("leaseOwner") String leaseOwner,
+                     @Param("now") LocalDateTime now,
+                     @Param("leaseExpiresAt") LocalDateTime leaseExpiresAt);
+
+    /**
+     * Marks a leased PENDING notification SENT and increments its recipient's unread counter in one
+     * statement, so the counter cannot drift from the rows even if the instance dies mid-way.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "WITH sent AS (UPDATE notifications SET status = 'SENT', sent_at = :sentAt, " +
+            "delivered_at = :sentAt, lease_owner = NULL, lease_expires_at = NULL " +
+            "WHERE notification_id = :notificationId AND status = 'PENDING' AND lease_owner = :leaseOwner " +
+            "RETURNING recipient_id) " +
+            "INSERT INTO recipient_counters (recipient_id, unread_count) SELECT recipient_id, 1 FROM sent " +
+            "ON CONFLICT (recipient_id) DO UPDATE SET unread_count = recipient_counters.unread_count + 1",
+            nativeQuery = true)
+    int markSent(@Param("notificationId") String notificationId,
+                 @Param("leaseOwner") String leaseOwner,
+                 @Param("sentAt") LocalDateTime sentAt);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.status = org.example.Notification.enums.NotificationStatus.READ " +
+            "WHERE n.notificationId = :notificationId AND n.status = :from")
+    int markRead(@Param("notificationId") String notificationId, @Param("from") NotificationStatus from);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Notification n SET n.status = org.example.Notification.enums.NotificationStatus.FAILED, " +
+            "n.failedAt = :failedAt, n.failureReason = :failureReason, n.nextAttemptAt = :nextAttemptAt, " +
+            "n.leaseOwner = null, n.leaseExpiresAt = null " +
+            "WHERE n.notificationId = :notificationId " +
+            "AND n.status = org.example.Notification.enums.NotificationStatus.PENDING " +
+            "AND n.leaseOwner = :leaseOwner")
+    int markFailed(@Param("notificationId") String notificationId,
+                   @Param("leaseOwner") String leaseOwner,
+                   @Param("failedAt") LocalDateTime failedAt,
+                   @Param("failureReason") String failureReason,
+                   @Param("nextAttemptAt") LocalDateTime nextAttemptAt);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Notification n SET n.status = org.example.Notification.enums.NotificationStatus.DEAD_LETTER, " +
+            "n.failedAt = :failedAt, n.failureReason = :failureReason, n.nextAttemptAt = null, " +
+            "n.leaseOwner = null, n.leaseExpiresAt = null " +
+            "WHERE n.notificationId = :notificationId " +
+            "AND n.status = org.example.Notification.enums.NotificationStatus.PENDING " +
+            "AND n.leaseOwner = :leaseOwner")
+    int markDeadLetter(@Param("notificationId") String notificationId,
+                       @Param("leaseOwner") String leaseOwner,
+                       @Param("failedAt") LocalDateTime failedAt,
+                       @Param("failureReason") String failureReason);
+
+    @Query(value = "SELECT * FROM notifications WHERE status = 'FAILED' AND next_attempt_at <= :now " +
+            "ORDER BY next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Notification> claimDueRetries(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.status = org.example.Notification.enums.NotificationStatus.PENDING, " +
+            "n.retryCount = n.retryCount + 1, n.failureReason = null, n.failedAt = null, n.nextAttemptAt = null " +
+            "WHERE n.id IN :ids AND n.status = org.example.Notification.enums.NotificationStatus.FAILED")
+    int retryAll(@Param("ids") Collection<Long> ids);
 
-    List<Notification> findByCreatedAtBefore(LocalDateTime dateTime);
+    /**
+     * One keyset page of SCHEDULED notifications due before {@code until}, ordered by (scheduledAt, id)
+     * and starting strictly after the cursor ({@code afterAt}, {@code afterId}). Served by the
+     * (status, scheduled_at) index; the redundant {@code scheduledAt >= :afterAt} bounds the scan at the
+     * cursor, which the OR alone does not.
+     */
+    @Query("SELECT n.id AS id, n.notificationId AS notificationId, n.scheduledAt AS scheduledAt, " +
+            "n.notificationType AS notificationType, n.priority AS priority " +
+            "FROM Notification n " +
+            "WHERE n.status = org.example.Notification.enums.NotificationStatus.SCHEDULED " +
+            "AND n.scheduledAt < :until " +
+            "AND n.scheduledAt >= :afterAt " +
+            "AND (n.scheduledAt > :afterAt OR (n.scheduledAt = :afterAt AND n.id > :afterId)) " +
+            "ORDER BY n.scheduledAt, n.id")
+    List<ScheduledNotificationView> findScheduledPage(@Param("afterAt") LocalDateTime afterAt,
+                                                      @Param("afterId") Long afterId,
+                                                      @Param("until") LocalDateTime until,
+                                                      Pageable pageable);
 
+    @Transactional
     @Modifying
-    @Query("DELETE FROM Notification n WHERE n.createdAt < :dateTime")
-    void deleteOldNotifications(LocalDateTime dateTime);
-}
\ No newline at end of file
+    @Query("UPDATE Notification n SET n.status = org.example.Notification.enums.NotificationStatus.PENDING " +
+            "WHERE n.notificationId = :notificationId " +
+            "AND n.status = org.example.Notification.enums.NotificationStatus.SCHEDULED")
+    int promoteScheduled(@Param("notificationId") String notificationId);
+}
@@ -0,0 +1,37 @@
+package org.example.Notification.repository;
+
+import org.example.Notification.entity.RecipientCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Repository
+public interface RecipientCounterRepository extends JpaRepository<RecipientCounter, Long> {
+
+    @Query("SELECT c.unreadCount FROM RecipientCounter c WHERE c.recipientId = :recipientId")
+    Optional<Long> findUnreadCount(@Param("recipientId") Long recipientId);
+
+    // never goes below zero, so a decrement racing the initial seed cannot leave a negative count
+    @Modifying
+    @Query(value = "INSERT INTO recipient_counters (recipient_id, unread_count) " +
+            "VALUES (:recipientId, GREATEST(:delta, 0)) " +
+            "ON CONFLICT (recipient_id) DO UPDATE " +
+            "SET unread_count = GREATEST(recipient_counters.unread_count + :delta, 0)", nativeQuery = true)
+    int adjustUnread(@Param("recipientId") Long recipientId, @Param("delta") long delta);
+
+    /**
+     * Creates the counters of recipients that have none yet from the current SENT rows. Recipients that
+     * already have a counter keep it, so running this again is harmless.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO recipient_counters (recipient_id, unread_count) " +
+            "SELECT recipient_id, count(*) FROM notifications WHERE status = 'SENT' GROUP BY recipient_id " +
+            "ON CONFLICT (recipient_id) DO NOTHING", nativeQuery = true)
+    int seedMissing();
+}
@@ -0,0 +1,22 @@
+package org.example.Notification.repository;
+
+import org.example.Notification.enums.NotificationPriority;
+import org.example.Notification.enums.NotificationType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Slim projection of a SCHEDULED notification, carrying only what the dispatcher needs to fire it.
+ */
+public interface ScheduledNotificationView {
+
+    Long getId();
+
+    String getNotificationId();
+
+    LocalDateTime getScheduledAt();
+
+    NotificationType getNotificationType();
+
+    NotificationPriority getPriority();
+}
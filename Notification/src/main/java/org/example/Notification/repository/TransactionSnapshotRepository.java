@@ -0,0 +1,9 @@
+package org.example.Notification.repository;
+
+import org.example.Notification.entity.TransactionSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TransactionSnapshotRepository extends JpaRepository<TransactionSnapshot, String> {
+}
@@ -3,7 +3,10 @@ package org.example.Notification.service;
 import org.example.Notification.dto.request.NotificationCreateDto;
 import org.example.Notification.dto.request.NotificationUpdateDto;
 import org.example.Notification.dto.response.NotificationDto;
+import org.example.Notification.dto.response.NotificationPageDto;
 import org.example.Notification.dto.response.NotificationStatusDto;
+import org.example.Notification.dto.response.PurgeProgressDto;
+import org.example.Notification.enums.NotificationStatus;
 
 import java.util.List;
 
@@ -78,13 +81,27 @@ public interface INotificationService {
      * that were created before the cutoff date (current date minus retention days).
      * Typically used as a scheduled maintenance task.</p>
      *
+     * <p>Deletion runs in the background in bounded chunks; use
+     * {@link #getPurgeProgress()} to follow it. With archiving enabled, rows are
+     * written to the cold archive before they are deleted and remain visible in
+     * {@link #getNotificationHistory(Long)}.</p>
+     *
      * @param retentionDays the number of days to retain notifications (e.g., 30, 60, 90)
-     * @return boolean true if at least one notification was deleted, false if none were found
+     * @return boolean true if expired notifications were found and a purge is running,
+     *         false if none were found
      * @author Stanga George
      * @since 1.0
      */
     boolean deleteExpiredNotifications(int retentionDays);
 
+    /**
+     * Reports the state of the most recent purge started on this instance.
+     *
+     * @return PurgeProgressDto state, rows deleted so far and the deletion rate
+     * @since 1.1
+     */
+    PurgeProgressDto getPurgeProgress();
+
     /**
      * Attempts to resend a notification that previously failed.
      *
@@ -92,6 +109,9 @@ public interface INotificationService {
      * that the notification is in FAILED status and hasn't exceeded the maximum
      * retry attempts before resetting it to PENDING status.</p>
      *
+     * <p>FAILED notifications are also retried automatically with exponential backoff;
+     * this triggers the next attempt right away.</p>
+     *
      * @param notificationId the ID of the failed notification to resend
      * @return String success message including the current retry count
      * @throws RuntimeException if notification is not found, not in FAILED status,
@@ -116,32 +136,33 @@ public interface INotificationService {
     NotificationDto scheduleNotification(NotificationCreateDto notificationCreateDto);
 
     /**
-     * Sends an SMS notification to the recipient's phone number.
+     * Queues an SMS notification for delivery to the recipient's phone number.
      *
-     * <p>Validates that the notification type is SMS and that a valid phone number
-     * is present before attempting to send. Updates the notification status
-     * to SENT on success or FAILED on error.</p>
+     * <p>Validates that the notification is PENDING, of type SMS and that a valid phone
+     * number is present, then hands it to the asynchronous delivery engine. The engine
+     * updates the notification status to SENT on success or FAILED on error.</p>
      *
      * @param notificationId the ID of the notification to send via SMS
-     * @return String success message containing the recipient's phone number
-     * @throws RuntimeException if notification is not found, is not of type SMS,
-     *                          phone number is missing, or SMS service fails
+     * @return String confirmation message containing the recipient's phone number
+     * @throws RuntimeException if notification is not found, is not PENDING, is not of type SMS,
+     *                          phone number is missing, or the SMS delivery queue is full
      * @author Stanga George
      * @since 1.0
      */
     String sendSmsNotification(String notificationId);
 
     /**
-     * Sends an email notification to the recipient's email address.
+     * Queues an email notification for delivery to the recipient's email address.
      *
-     * <p>Validates that the notification type is EMAIL and that a valid email address
-     * is present. On successful sending, updates status to SENT with timestamp.
-     * On failure, updates status to FAILED with error details.</p>
+     * <p>Validates that the notification is PENDING, of type EMAIL and that a valid email
+     * address is present, then hands it to the asynchronous delivery engine. On successful
+     * sending the engine updates status to SENT with timestamp; on failure, to FAILED with
+     * error details.</p>
      *
      * @param notificationId the ID of the notification to send via email
-     * @return String success message containing the recipient's email address
-     * @throws RuntimeException if notification is not found, is not of type EMAIL,
-     *                          email address is missing, or email service fails
+     * @return String confirmation message containing the recipient's email address
+     * @throws RuntimeException if notification is not found, is not PENDING, is not of type EMAIL,
+     *                          email address is missing, or the email delivery queue is full
      * @author Stanga George
      * @since 1.0
      */
@@ -190,6 +211,35 @@ public interface INotificationService {
      */
     List<NotificationDto> getNotificationHistory(Long recipientId);
 
+    /**
+     * Retrieves one page of a recipient's notification history, newest first.
+     *
+     * <p>Pages are keyset-paginated by (createdAt, id): pass the {@code nextCursor} of a page
+     * to get the following one. The cost of a page does not depend on how deep it is.</p>
+     *
+     * @param recipientId the unique identifier of the recipient/user
+     * @param statuses only notifications in one of these statuses; null or empty for all
+     * @param cursor the {@code nextCursor} of the previous page, or null for the first page
+     * @param limit the page size, capped at 100
+     * @return NotificationPageDto the page, with a null {@code nextCursor} on the last page
+     * @throws RuntimeException if the cursor is malformed
+     * @since 1.1
+     */
+    NotificationPageDto getNotificationHistoryPage(Long recipientId, List<NotificationStatus> statuses,
+                                                   String cursor, int limit);
+
+    /**
+     * Returns how many notifications of a recipient are SENT but not yet READ.
+     *
+     * <p>Served from a counter maintained with every status change, so it is cheap
+     * enough to poll.</p>
+     *
+     * @param recipientId the unique identifier of the recipient/user
+     * @return long the unread count, 0 for unknown recipients
+     * @since 1.1
+     */
+    long getUnreadCount(Long recipientId);
+
     /**
      * Creates a notification after verifying a transaction exists.
      *
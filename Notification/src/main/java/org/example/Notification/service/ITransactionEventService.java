@@ -0,0 +1,22 @@
+package org.example.Notification.service;
+
+import org.example.Notification.dto.request.TransactionEventDto;
+
+import java.util.List;
+
+/**
+ * Consumes the transaction events relayed from the Transactions service outbox.
+ *
+ * <p>Events arrive in batches with at-least-once delivery, so applying the same batch twice
+ * must leave the local transaction snapshots unchanged.</p>
+ */
+public interface ITransactionEventService {
+
+    /**
+     * Applies a batch of transaction events to the local transaction snapshots.
+     *
+     * @param events the relayed events, each carrying the outbox id of the Transactions service
+     * @return the number of events that changed a snapshot (duplicates and stale events are skipped)
+     */
+    int applyTransactionEvents(List<TransactionEventDto> events);
+}
@@ -0,0 +1,138 @@
+package org.example.Notification.service;
+
+import org.example.Notification.archive.Segment;
+import org.example.Notification.archive.SegmentWriter;
+import org.example.Notification.entity.Notification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Cold archive of expired notifications in compressed, memory-mapped segment files.
+ *
+ * <p>When {@code notification.archive.enabled} is set, {@link NotificationPurgeService} writes every chunk
+ * it is about to delete to a new segment in {@code notification.archive.directory} and deletes the rows
+ * only once the segment is on disk. Lookups read whatever segments are in the directory, enabled or not,
+ * picking up segments written by other instances sharing the directory within {@code rescan-interval}.</p>
+ *
+ * @since 1.1
+ * @see SegmentWriter
+ */
+@Service
+public class NotificationArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationArchiveService.class);
+
+    private final boolean enabled;
+    private final Path directory;
+    private final long rescanNanos;
+    private final Map<Path, Segment> segments = new ConcurrentHashMap<>();
+    private volatile long lastScanNanos;
+    private volatile boolean scanned;
+
+    public NotificationArchiveService(@Value("${notification.archive.enabled:false}") boolean enabled,
+                                      @Value("${notification.archive.directory:archive}") String directory,
+                                      @Value("${notification.archive.rescan-interval:30s}") Duration rescanInterval) {
+        this.enabled = enabled;
+        this.directory = Paths.get(directory);
+        this.rescanNanos = rescanInterval.toNanos();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Writes the notifications to a new segment; returns once it is durable.
+     */
+    public void archive(List<Notification> notifications) {
+        if (notifications.isEmpty()) {
+            return;
+        }
+        try {
+            Path written = SegmentWriter.write(directory, notifications);
+            segments.put(written, Segment.open(written));
+        } catch (IOException e) {
+            throw new RuntimeException("Archiving " + notifications.size() + " notifications failed: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Archived notifications of a recipient created in {@code [from, to)}; null bounds are open.
+     */
+    public List<Notification> findByRecipient(Long recipientId, LocalDateTime from, LocalDateTime to) {
+        List<Notification> found = new ArrayList<>();
+        if (recipientId == null) {
+            return found;
+        }
+        rescanIfDue();
+        for (Segment segment : segments.values()) {
+            found.addAll(segment.find(recipientId, from, to));
+        }
+        return found;
+    }
+
+    /**
+     * At most {@code limit} archived notifications of a recipient that sort before
+     * ({@code beforeAt}, {@code beforeId}) and match {@code filter}, newest first.
+     */
+    public List<Notification> findNewestBefore(Long recipientId, LocalDateTime beforeAt, long beforeId,
+                                               Predicate<Notification> filter, int limit) {
+        List<Notification> found = new ArrayList<>();
+        if (recipientId == null) {
+            return found;
+        }
+        rescanIfDue();
+        for (Segment segment : segments.values()) {
+            found.addAll(segment.findNewestBefore(recipientId, beforeAt, beforeId, filter, limit));
+        }
+        found.sort(Comparator.comparing(Notification::getCreatedAt, Comparator.reverseOrder())
+                .thenComparing(Notification::getId, Comparator.nullsLast(Comparator.reverseOrder())));
+        return found.size() > limit ? new ArrayList<>(found.subList(0, limit)) : found;
+    }
+
+    public int segmentCount() {
+        rescanIfDue();
+        return segments.size();
+    }
+
+    private void rescanIfDue() {
+        long now = System.nanoTime();
+        if (scanned && now - lastScanNanos < rescanNanos) {
+            return;
+        }
+        lastScanNanos = now;
+        scanned = true;
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*.nseg")) {
+            for (Path file : files) {
+                if (!segments.containsKey(file)) {
+                    try {
+                        segments.put(file, Segment.open(file));
+                    } catch (IOException e) {
+                        log.error("Skipping unreadable archive segment {}", file, e);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log.error("Listing archive directory {} failed", directory, e);
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package org.example.Notification.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.transaction.Transactional;
+import org.example.Notification.channel.NotificationChannel;
+import org.example.Notification.entity.Notification;
+import org.example.Notification.enums.NotificationPriority;
+import org.example.Notification.enums.NotificationStatus;
+import org.example.Notification.enums.NotificationType;
+import org.example.Notification.repository.NotificationRepository;
+import org.example.Notification.utils.ExponentialBackoff;
+import org.example.Notification.utils.PriorityDispatchQueue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asynchronous delivery of PENDING notifications through the registered {@link NotificationChannel}s.
+ *
+ * <p><strong>Design:</strong></p>
+ * <ul>
+ *   <li>One {@link PriorityDispatchQueue} of notification IDs per channel, so a slow SMS gateway cannot
+ *       delay emails; within a channel, URGENT/HIGH/MEDIUM/LOW lanes are served by weighted round-robin
+ *       with aging, so fraud alerts overtake bulk sends without starving them</li>
+ *   <li>A fixed number of virtual-thread workers per channel draining its queue</li>
+ *   <li>Workers take a lease on the notification, call the provider outside any transaction, then
+ *       record the outcome with a PENDING → SENT/FAILED update that only succeeds while this instance
+ *       still owns the lease; no database connection is held while the provider runs</li>
+ *   <li>Submissions made inside a transaction are queued only after it commits, so workers never
+ *       look for a row they cannot see yet</li>
+ * </ul>
+ *
+ * <p><strong>Multiple instances:</strong> every instance periodically claims a batch of unleased PENDING
+ * notifications with {@code FOR UPDATE SKIP LOCKED}, so concurrent claimers never block on or return the
+ * same rows, and leases them to itself before queueing them. The lease is what prevents a duplicate send:
+ * a notification queued on two instances is delivered only by the one that holds its lease. Leases of a
+ * crashed instance expire after {@code lease-duration} and the rows are claimed again; the duration must
+ * exceed the slowest provider call.</p>
+ *
+ * <p>A submission rejected by a full lane leaves the notification PENDING for the next claim.</p>
+ *
+ * <p><strong>Failures:</strong> a failed send is FAILED with {@code nextAttemptAt} set by exponential
+ * backoff with full jitter, and is picked up again by {@link NotificationRetryScheduler}; once
+ * {@code retryCount} has reached {@code maxRetries} it is moved to DEAD_LETTER instead.</p>
+ *
+ * <p><strong>Metrics:</strong> {@code notification.dispatch.queue.depth} (gauge) and
+ * {@code notification.dispatch.wait} (timer, enqueue to pickup), both tagged with
+ * {@code channel} and {@code priority}.</p>
+ *
+ * @since 1.1
+ * @see NotificationChannel
+ */
+@Service
+public class NotificationDeliveryEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationDeliveryEngine.class);
+
+    private final NotificationRepository notificationRepository;
+    private final MeterRegistry meterRegistry;
+    private final Map<NotificationType, Lane> lanes = new EnumMap<>(NotificationType.class);
+    private final Set<String> queued = ConcurrentHashMap.newKeySet();
+    private final int workersPerChannel;
+    private final Duration leaseDuration;
+    private final int claimBatchSize;
+    private final String leaseOwner;
+    private final ExponentialBackoff retryBackoff;
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running;
+
+    public NotificationDeliveryEngine(NotificationRepository notificationRepository,
+                                      List<NotificationChannel> channels,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${notification.delivery.queue-capacity:10000}") int queueCapacity,
+                                      @Value("${notification.delivery.workers-per-channel:16}") int workersPerChannel,
+                                      @Value("${notification.delivery.max-wait:30s}") Duration maxWait,
+                                      @Value("${notification.delivery.lease-duration:5m}") Duration leaseDuration,
+                                      @Value("${notification.delivery.claim-batch-size:200}") int claimBatchSize,
+                                      @Value("${notification.delivery.instance-id:}") String instanceId,
+                                      @Value("${notification.retry.base-delay:30s}") Duration retryBaseDelay,
+                                      @Value("${notification.retry.max-delay:1h}") Duration retryMaxDelay) {
+        this.notificationRepository = notificationRepository;
+        this.meterRegistry = meterRegistry;
+        this.workersPerChannel = workersPerChannel;
+        this.leaseDuration = leaseDuration;
+        this.claimBatchSize = claimBatchSize;
+        this.retryBackoff = new ExponentialBackoff(retryBaseDelay, retryMaxDelay);
+        // unique per process, so a restarted instance never mistakes its predecessor's leases for its own
+        this.leaseOwner = (instanceId == null || instanceId.isBlank()
+                ? System.getenv().getOrDefault("HOSTNAME", "notification") : instanceId)
+                + "-" + UUID.randomUUID().toString().substring(0, 8);
+        for (NotificationChannel channel : channels) {
+            Lane lane = new Lane(channel, new PriorityDispatchQueue(queueCapacity, maxWait.toNanos()),
+                    new EnumMap<>(NotificationPriority.class));
+            if (lanes.putIfAbsent(channel.type(), lane) != null) {
+                throw new IllegalStateException("More than one channel registered for " + channel.type());
+            }
+            registerMeters(lane);
+        }
+    }
+
+    private void registerMeters(Lane lane) {
+        String channel = lane.channel().type().name();
+        for (NotificationPriority priority : NotificationPriority.values()) {
+            Gauge.builder("notification.dispatch.queue.depth", lane.queue(), queue -> queue.depth(priority))
+                    .tag("channel", channel)
+                    .tag("priority", priority.name())
+                    .register(meterRegistry);
+            lane.waitTimers().put(priority, Timer.builder("notification.dispatch.wait")
+                    .tag("channel", channel)
+                    .tag("priority", priority.name())
+                    .register(meterRegistry));
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        for (Lane lane : lanes.values()) {
+            ThreadFactory factory = Thread.ofVirtual()
+                    .name("notification-" + lane.channel().type().name().toLowerCase() + "-", 0)
+                    .factory();
+            for (int i = 0; i < workersPerChannel; i++) {
+                Thread worker = factory.newThread(() -> drain(lane));
+                workers.add(worker);
+                worker.start();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        workers.forEach(Thread::interrupt);
+    }
+
+    /**
+     * Queues a PENDING notification for delivery on the channel of the given type, in the lane of
+     * its priority (MEDIUM when none is set).
+     *
+     * @throws RuntimeException if no channel handles the type, or if called outside a transaction
+     *                          while that lane is full
+     */
+    public void submit(String notificationId, NotificationType type, NotificationPriority priority) {
+        Lane lane = lanes.get(type);
+        if (lane == null) {
+            throw new RuntimeException("No delivery channel registered for " + type);
+        }
+        NotificationPriority lanePriority = priority != null ? priority : NotificationPriority.MEDIUM;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    if (!enqueue(lane, notificationId, lanePriority)) {
+                        log.warn("{} {} delivery lane full, notification {} left PENDING", type, lanePriority, notificationId);
+                    }
+                }
+            });
+        } else if (!enqueue(lane, notificationId, lanePriority)) {
+            throw new RuntimeException(type + " " + lanePriority + " delivery queue is full, try again later");
+        }
+    }
+
+    /**
+     * Claims a batch of PENDING notifications that no live instance holds a lease on — new rows whose
+     * submission was lost or rejected, and rows orphaned by a crashed instance — and queues them here.
+     */
+    @Scheduled(fixedDelayString = "${notification.delivery.claim-interval:5s}")
+    @Transactional
+    public void claimPending() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Notification> claimed = notificationRepository.claimablePending(now, claimBatchSize);
+        if (claimed.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(claimed.size());
+        for (Notification notification : claimed) {
+            ids.add(notification.getId());
+        }
+        notificationRepository.leaseAll(ids, leaseOwner, now.plus(leaseDuration));
+        for (Notification notification : claimed) {
+            if (lanes.containsKey(notification.getNotificationType())) {
+                submit(notification.getNotificationId(), notification.getNotificationType(), notification.getPriority());
+            }
+        }
+        log.debug("Claimed {} pending notifications", claimed.size());
+    }
+
+    public String leaseOwner() {
+        return leaseOwner;
+    }
+
+    public int queueDepth(NotificationType type) {
+        Lane lane = lanes.get(type);
+        return lane == null ? 0 : lane.queue().size();
+    }
+
+    private void drain(Lane lane) {
+        while (running) {
+            PriorityDispatchQueue.Entry entry;
+            try {
+                entry = lane.queue().take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            lane.waitTimers().get(entry.priority())
+                    .record(System.nanoTime() - entry.enqueuedNanos(), TimeUnit.NANOSECONDS);
+            try {
+                deliver(lane.channel(), entry.notificationId());
+            } catch (RuntimeException e) {
+                log.error("Delivery of notification {} aborted", entry.notificationId(), e);
+            } finally {
+                queued.remove(entry.notificationId());
+            }
+        }
+    }
+
+    // an id already waiting in or being delivered from this instance is not queued a second time
+    private boolean enqueue(Lane lane, String notificationId, NotificationPriority priority) {
+        if (!queued.add(notificationId)) {
+            return true;
+        }
+        if (!lane.queue().offer(notificationId, priority)) {
+            queued.remove(notificationId);
+            return false;
+        }
+        return true;
+    }
+
+    void deliver(NotificationChannel channel, String notificationId) {
+        LocalDateTime now = LocalDateTime.now();
+        if (notificationRepository.acquireLease(notificationId, leaseOwner, now, now.plus(leaseDuration)) != 1) {
+            return;
+        }
+        Optional<Notification> found = notificationRepository.findByNotificationId(notificationId);
+        if (found.isEmpty() || found.get().getStatus() != NotificationStatus.PENDING) {
+            return;
+        }
+        Notification notification = found.get();
+        try {
+            channel.deliver(notification);
+        } catch (Exception e) {
+            recordFailure(notification, channel.type() + " sending failed: " + e.getMessage());
+            return;
+        }
+        if (notificationRepository.markSent(notificationId, leaseOwner, LocalDateTime.now()) != 1) {
+            log.warn("Lease on notification {} expired during delivery", notificationId);
+        }
+    }
+
+    private void recordFailure(Notification notification, String reason) {
+        String failureReason = reason.length() > 255 ? reason.substring(0, 255) : reason;
+        LocalDateTime failedAt = LocalDateTime.now();
+        int retries = notification.getRetryCount() != null ? notification.getRetryCount() : 0;
+        int maxRetries = notification.getMaxRetries() != null ? notification.getMaxRetries() : 0;
+        if (retries < maxRetries) {
+            notificationRepository.markFailed(notification.getNotificationId(), leaseOwner, failedAt, failureReason,
+                    failedAt.plus(retryBackoff.delay(retries)));
+        } else {
+            notificationRepository.markDeadLetter(notification.getNotificationId(), leaseOwner, failedAt, failureReason);
+            log.warn("Notification {} dead-lettered after {} retries: {}", notification.getNotificationId(), retries, failureReason);
+        }
+    }
+
+    private record Lane(NotificationChannel channel, PriorityDispatchQueue queue,
+                        Map<NotificationPriority, Timer> waitTimers) {
+    }
+}
@@ -0,0 +1,66 @@
+package org.example.Notification.service;
+
+import jakarta.transaction.Transactional;
+import org.example.Notification.entity.Notification;
+import org.example.Notification.repository.NotificationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Automatically retries FAILED notifications whose backoff has elapsed.
+ *
+ * <p>Every {@code poll-interval} a batch of FAILED rows with {@code nextAttemptAt <= now} is claimed with
+ * {@code FOR UPDATE SKIP LOCKED}, so replicas split the due retries between them, moved back to PENDING
+ * with {@code retryCount} incremented, and queued for delivery once that commits. The backoff itself
+ * is set by {@link NotificationDeliveryEngine} when a send fails.</p>
+ *
+ * @since 1.1
+ */
+@Service
+public class NotificationRetryScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationRetryScheduler.class);
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationDeliveryEngine notificationDeliveryEngine;
+    private final int batchSize;
+
+    public NotificationRetryScheduler(NotificationRepository notificationRepository,
+                                      NotificationDeliveryEngine notificationDeliveryEngine,
+                                      @Value("${notification.retry.batch-size:200}") int batchSize) {
+        this.notificationRepository = notificationRepository;
+        this.notificationDeliveryEngine = notificationDeliveryEngine;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${notification.retry.poll-interval:5s}")
+    @Transactional
+    public void retryDue() {
+        List<Notification> due = notificationRepository.claimDueRetries(LocalDateTime.now(), batchSize);
+        if (due.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(due.size());
+        for (Notification notification : due) {
+            ids.add(notification.getId());
+        }
+        notificationRepository.retryAll(ids);
+        for (Notification notification : due) {
+            try {
+                notificationDeliveryEngine.submit(notification.getNotificationId(), notification.getNotificationType(),
+                        notification.getPriority());
+            } catch (RuntimeException e) {
+                // left PENDING; the delivery engine's claim picks it up
+                log.warn("Retry of notification {} not queued: {}", notification.getNotificationId(), e.getMessage());
+            }
+        }
+        log.debug("Retrying {} failed notifications", due.size());
+    }
+}
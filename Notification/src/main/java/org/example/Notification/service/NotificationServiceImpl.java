@@ -4,20 +4,43 @@ import org.example.Notification.client.TransactionClient;
 import org.example.Notification.dto.request.NotificationCreateDto;
 import org.example.Notification.dto.request.NotificationUpdateDto;
 import org.example.Notification.dto.response.NotificationDto;
+import org.example.Notification.dto.response.NotificationPageDto;
 import org.example.Notification.dto.response.NotificationStatusDto;
+import org.example.Notification.dto.response.PurgeProgressDto;
 import org.example.Notification.entity.Notification;
+import org.example.Notification.entity.TransactionSnapshot;
+import org.example.Notification.enums.NotificationPriority;
 import org.example.Notification.enums.NotificationStatus;
 import org.example.Notification.mapper.NotificationMapper;
 import org.example.Notification.repository.NotificationRepository;
+import org.example.Notification.repository.RecipientCounterRepository;
+import org.example.Notification.repository.TransactionSnapshotRepository;
 import feign.FeignException;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 import org.example.Notification.client.AccountClient;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /**
@@ -39,6 +62,10 @@ import java.util.stream.Collectors;
  *   <li>Transaction fee calculation notifications</li>
  * </ul>
  *
+ * <p><strong>Transaction Data:</strong> transaction existence, fees and fraud scores are read from the
+ * local {@link TransactionSnapshot} projection fed by the Transactions outbox. The Transaction service
+ * is only called synchronously for transactions whose events have not arrived yet.</p>
+ *
  * <p><strong>Database Operations:</strong></p>
  * <ul>
  *   <li>All create/update/delete operations are transactional</li>
@@ -53,10 +80,20 @@ import java.util.stream.Collectors;
  * @see NotificationRepository
  * @see TransactionClient
  * @see AccountClient
+ * @see TransactionSnapshotRepository
  */
 @Service
 public class NotificationServiceImpl implements INotificationService {
 
+    static final int MAX_HISTORY_PAGE_SIZE = 100;
+
+    // first-page cursor: later than any created_at, and still a valid Postgres timestamp
+    private static final LocalDateTime HISTORY_START = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    private static final Comparator<Notification> NEWEST_FIRST = Comparator
+            .comparing(Notification::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(Notification::getId, Comparator.nullsLast(Comparator.reverseOrder()));
+
     @Autowired
     private NotificationRepository notificationRepository;
 
@@ -66,6 +103,27 @@ public class NotificationServiceImpl implements INotificationService {
     @Autowired
     private AccountClient accountClient;
 
+    @Autowired
+    private TransactionSnapshotRepository transactionSnapshotRepository;
+
+    @Autowired
+    private NotificationDeliveryEngine notificationDeliveryEngine;
+
+    @Autowired
+    private ScheduledNotificationDispatcher scheduledNotificationDispatcher;
+
+    @Autowired
+    private NotificationPurgeService notificationPurgeService;
+
+    @Autowired
+    private NotificationArchiveService notificationArchiveService;
+
+    @Autowired
+    private RecipientCounterRepository recipientCounterRepository;
+
+    @Value("${notification.unread.seed-on-startup:false}")
+    private boolean seedUnreadCounters;
+
     /**
      * {@inheritDoc}
      *
@@ -93,7 +151,8 @@ public class NotificationServiceImpl implements INotificationService {
      *
      * <p><strong>Implementation Details:</strong></p>
      * <ol>
-     *   <li>Makes HTTP GET request to Transaction service via Feign Client</li>
+     *   <li>Looks the transaction up in the local snapshot projection</li>
+     *   <li>Only if no snapshot exists yet: makes HTTP GET request to Transaction service via Feign Client</li>
      *   <li>Endpoint called: GET /api/transactions/{transactionId}</li>
      *   <li>Validates HTTP 2xx response (transaction exists)</li>
      *   <li>Creates notification with enhanced message including transaction ID</li>
@@ -117,26 +176,28 @@ public class NotificationServiceImpl implements INotificationService {
      */
     @Transactional
     public NotificationDto createNotificationForTransaction(String transactionId, NotificationCreateDto notificationCreateDto) {
-        try {
-            // 1. Verifică dacă tranzacția există apelând microserviciul Transactions
-            ResponseEntity<Object> transactionResponse = transactionClient.getTransaction(transactionId);
-
-            if (transactionResponse.getStatusCode().is2xxSuccessful()) {
-                System.out.println("Transaction found: " + transactionResponse.getBody());
-
-                // 2. Creează notificarea
-                Notification notification = NotificationMapper.toEntity(notificationCreateDto);
-                notification.setStatus(NotificationStatus.PENDING);
-                notification.setMessage("Notification for transaction: " + transactionId + " - " + notification.getMessage());
-
-                Notification savedNotification = notificationRepository.save(notification);
-                return NotificationMapper.toDto(savedNotification);
-            } else {
-                throw new RuntimeException("Transaction not found: " + transactionId);
+        if (transactionSnapshotRepository.findById(transactionId).isEmpty()) {
+            try {
+                // 1. Verifică dacă tranzacția există apelând microserviciul Transactions
+                ResponseEntity<Object> transactionResponse = transactionClient.getTransaction(transactionId);
+
+                if (transactionResponse.getStatusCode().is2xxSuccessful()) {
+                    System.out.println("Transaction found: " + transactionResponse.getBody());
+                } else {
+                    throw new RuntimeException("Transaction not found: " + transactionId);
+                }
+            } catch (FeignException e) {
+                throw new RuntimeException("Error communicating with Transaction service: " + e.getMessage());
             }
-        } catch (FeignException e) {
-            throw new RuntimeException("Error communicating with Transaction service: " + e.getMessage());
         }
+
+        // 2. Creează notificarea
+        Notification notification = NotificationMapper.toEntity(notificationCreateDto);
+        notification.setStatus(NotificationStatus.PENDING);
+        notification.setMessage("Notification for transaction: " + transactionId + " - " + notification.getMessage());
+
+        Notification savedNotification = notificationRepository.save(notification);
+        return NotificationMapper.toDto(savedNotification);
     }
 
     /**
@@ -196,7 +257,8 @@ public class NotificationServiceImpl implements INotificationService {
      *
      * <p><strong>Implementation Details:</strong></p>
      * <ol>
-     *   <li>Calls Transaction service to calculate fees via Feign Client</li>
+     *   <li>Uses the fee carried by the local transaction snapshot when present</li>
+     *   <li>Otherwise calls Transaction service to calculate fees via Feign Client</li>
      *   <li>Endpoint: POST /api/transactions/{transactionId}/calculate-fees</li>
      *   <li>Receives fee calculation result (e.g., "$5.00")</li>
      *   <li>Creates notification with fees information</li>
@@ -216,32 +278,25 @@ public class NotificationServiceImpl implements INotificationService {
      */
     @Transactional
     public String calculateFeesAndNotify(String transactionId, NotificationCreateDto notificationCreateDto) {
-        try {
-            // 1. Calculează fees din microserviciul Transactions
-            ResponseEntity<String> feesResponse = transactionClient.calculateFees(transactionId);
-
-            if (feesResponse.getStatusCode().is2xxSuccessful()) {
-                String feesMessage = feesResponse.getBody();
-                System.out.println("Calculated fees: " + feesMessage);
-
-                // 2. Creează notificare cu informații despre fees
-                Notification notification = NotificationMapper.toEntity(notificationCreateDto);
-                notification.setStatus(NotificationStatus.PENDING);
-                notification.setMessage("Transaction fees: " + feesMessage);
-                notification.setSubject("Transaction Fees Notification");
+        // 1. Calculează fees din snapshot-ul local sau din microserviciul Transactions
+        String feesMessage = findSnapshot(transactionId)
+                .filter(snapshot -> snapshot.getFee() != null)
+                .map(snapshot -> "Calculated fees: " + snapshot.getFee())
+                .orElseGet(() -> fetchFees(transactionId));
+        System.out.println("Calculated fees: " + feesMessage);
+
+        // 2. Creează notificare cu informații despre fees
+        Notification notification = NotificationMapper.toEntity(notificationCreateDto);
+        notification.setStatus(NotificationStatus.PENDING);
+        notification.setMessage("Transaction fees: " + feesMessage);
+        notification.setSubject("Transaction Fees Notification");
 
-                Notification savedNotification = notificationRepository.save(notification);
+        Notification savedNotification = notificationRepository.save(notification);
 
-                // 3. Trimite notificarea
-                sendEmailNotification(savedNotification.getNotificationId());
+        // 3. Trimite notificarea
+        sendEmailNotification(savedNotification.getNotificationId());
 
-                return "Fees calculated and notification sent: " + feesMessage;
-            } else {
-                throw new RuntimeException("Failed to calculate fees for transaction: " + transactionId);
-            }
-        } catch (FeignException e) {
-            throw new RuntimeException("Error communicating with Transaction service: " + e.getMessage());
-        }
+        return "Fees calculated and notification sent: " + feesMessage;
     }
 
     /**
@@ -249,7 +304,8 @@ public class NotificationServiceImpl implements INotificationService {
      *
      * <p><strong>Implementation Details:</strong></p>
      * <ol>
-     *   <li>Requests anti-fraud analysis from Transaction service via Feign Client</li>
+     *   <li>Uses the risk score carried by the local transaction snapshot when present</li>
+     *   <li>Otherwise requests anti-fraud analysis from Transaction service via Feign Client</li>
      *   <li>Endpoint: POST /api/transactions/{transactionId}/anti-fraud-check</li>
      *   <li>Receives fraud risk score/assessment (e.g., "Fraud score: 0.85")</li>
      *   <li>Creates security alert notification with fraud results</li>
@@ -261,7 +317,7 @@ public class NotificationServiceImpl implements INotificationService {
      * <ul>
      *   <li>Subject: "Security Alert - Transaction {transactionId}"</li>
      *   <li>Message: "Anti-fraud check result: {fraudScore}"</li>
-     *   <li>Priority: Should be set to HIGH in the DTO</li>
+     *   <li>Priority: always URGENT, so the alert overtakes bulk sends in the delivery queues</li>
      *   <li>Type: EMAIL (for audit trail)</li>
      * </ul>
      *
@@ -277,29 +333,51 @@ public class NotificationServiceImpl implements INotificationService {
      */
     @Transactional
     public String checkFraudAndNotify(String transactionId, NotificationCreateDto notificationCreateDto) {
-        try {
-            // 1. Verifică anti-fraud din microserviciul Transactions
-            ResponseEntity<String> fraudCheckResponse = transactionClient.antiFraudCheck(transactionId);
+        // 1. Verifică anti-fraud din snapshot-ul local sau din microserviciul Transactions
+        String fraudScore = findSnapshot(transactionId)
+                .filter(snapshot -> snapshot.getRiskScore() != null)
+                .map(snapshot -> "Anti fraud score:" + snapshot.getRiskScore())
+                .orElseGet(() -> fetchFraudScore(transactionId));
+        System.out.println("Anti-fraud check result: " + fraudScore);
+
+        // 2. Creează notificare bazată pe scorul de fraud
+        Notification notification = NotificationMapper.toEntity(notificationCreateDto);
+        notification.setStatus(NotificationStatus.PENDING);
+        notification.setMessage("Anti-fraud check result: " + fraudScore);
+        notification.setSubject("Security Alert - Transaction " + transactionId);
+        notification.setPriority(NotificationPriority.URGENT);
 
-            if (fraudCheckResponse.getStatusCode().is2xxSuccessful()) {
-                String fraudScore = fraudCheckResponse.getBody();
-                System.out.println("Anti-fraud check result: " + fraudScore);
+        Notification savedNotification = notificationRepository.save(notification);
 
-                // 2. Creează notificare bazată pe scorul de fraud
-                Notification notification = NotificationMapper.toEntity(notificationCreateDto);
-                notification.setStatus(NotificationStatus.PENDING);
-                notification.setMessage("Anti-fraud check result: " + fraudScore);
-                notification.setSubject("Security Alert - Transaction " + transactionId);
+        // 3. Trimite notificarea
+        sendEmailNotification(savedNotification.getNotificationId());
 
-                Notification savedNotification = notificationRepository.save(notification);
+        return "Fraud check completed and notification sent: " + fraudScore;
+    }
 
-                // 3. Trimite notificarea
-                sendEmailNotification(savedNotification.getNotificationId());
+    private Optional<TransactionSnapshot> findSnapshot(String transactionId) {
+        return transactionSnapshotRepository.findById(transactionId);
+    }
 
-                return "Fraud check completed and notification sent: " + fraudScore);
-            } else {
-                throw new RuntimeException("Fraud check failed for transaction: " + transactionId);
+    private String fetchFees(String transactionId) {
+        try {
+            ResponseEntity<String> feesResponse = transactionClient.calculateFees(transactionId);
+            if (feesResponse.getStatusCode().is2xxSuccessful()) {
+                return feesResponse.getBody();
+            }
+            throw new RuntimeException("Failed to calculate fees for transaction: " + transactionId);
+        } catch (FeignException e) {
+            throw new RuntimeException("Error communicating with Transaction service: " + e.getMessage());
+        }
+    }
+
+    private String fetchFraudScore(String transactionId) {
+        try {
+            ResponseEntity<String> fraudCheckResponse = transactionClient.antiFraudCheck(transactionId);
+            if (fraudCheckResponse.getStatusCode().is2xxSuccessful()) {
+                return fraudCheckResponse.getBody();
             }
+            throw new RuntimeException("Fraud check failed for transaction: " + transactionId);
         } catch (FeignException e) {
             throw new RuntimeException("Error communicating with Transaction service: " + e.getMessage());
         }
@@ -357,10 +435,12 @@ public class NotificationServiceImpl implements INotificationService {
      * <p><strong>Implementation Details:</strong></p>
      * <ol>
      *   <li>Calculates cutoff date: current date - retention days</li>
-     *   <li>Queries for notifications created before cutoff date</li>
+     *   <li>Checks for a single notification created before cutoff date</li>
      *   <li>If none found, returns false (no deletion needed)</li>
-     *   <li>If found, executes batch delete operation</li>
-     *   <li>Returns true on successful deletion</li>
+     *   <li>If found, starts a chunked background purge ({@link NotificationPurgeService})
+     *       unless one is already running; in archival mode each chunk is written to the
+     *       cold archive before it is deleted</li>
+     *   <li>Returns true once the purge is running</li>
      * </ol>
      *
      * <p><strong>Typical Usage:</strong></p>
@@ -370,17 +450,20 @@ public class NotificationServiceImpl implements INotificationService {
      * </pre>
      */
     @Override
-    @Transactional
     public boolean deleteExpiredNotifications(int retentionDays) {
         LocalDateTime cutoffDate = LocalDateTime.now().minusDays(retentionDays);
-        List<Notification> oldNotifications = notificationRepository.findByCreatedAtBefore(cutoffDate);
-        if (oldNotifications.isEmpty()) {
+        if (!notificationRepository.existsByCreatedAtBefore(cutoffDate)) {
             return false;
         }
-        notificationRepository.deleteOldNotifications(cutoffDate);
+        notificationPurgeService.start(cutoffDate);
         return true;
     }
 
+    @Override
+    public PurgeProgressDto getPurgeProgress() {
+        return notificationPurgeService.progress();
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -388,9 +471,12 @@ public class NotificationServiceImpl implements INotificationService {
      * <ul>
      *   <li>Maximum retry attempts: 3</li>
      *   <li>Each resend increments retry counter</li>
-     *   <li>Notification must be in FAILED status</li>
+     *   <li>Notification must be in FAILED status; DEAD_LETTER notifications are not resent</li>
+     *   <li>Resends immediately instead of waiting for the automatic retry at nextAttemptAt
+     *       ({@link NotificationRetryScheduler})</li>
      *   <li>Status changes: FAILED → PENDING</li>
      *   <li>Clears previous failure reason and timestamp</li>
+     *   <li>Queues the notification for delivery once the reset is committed</li>
      * </ul>
      *
      * <p><strong>Example Return:</strong></p>
@@ -414,8 +500,10 @@ public class NotificationServiceImpl implements INotificationService {
         notification.setStatus(NotificationStatus.PENDING);
         notification.setFailureReason(null);
         notification.setFailedAt(null);
+        notification.setNextAttemptAt(null);
 
         notificationRepository.save(notification);
+        notificationDeliveryEngine.submit(notificationId, notification.getNotificationType(), notification.getPriority());
 
         return "Notification resent successfully. Retry count: " + notification.getRetryCount();
     }
@@ -433,7 +521,7 @@ public class NotificationServiceImpl implements INotificationService {
      * <p><strong>Status Transitions:</strong></p>
      * <ul>
      *   <li>On schedule: SCHEDULED</li>
-     *   <li>On delivery time: SCHEDULED → PENDING → SENT</li>
+     *   <li>On delivery time: SCHEDULED → PENDING → SENT, fired by {@link ScheduledNotificationDispatcher}</li>
      * </ul>
      */
     @Override
@@ -450,6 +538,7 @@ public class NotificationServiceImpl implements INotificationService {
         Notification notification = NotificationMapper.toEntity(notificationCreateDto);
         notification.setStatus(NotificationStatus.SCHEDULED);
         Notification savedNotification = notificationRepository.save(notification);
+        scheduledNotificationDispatcher.track(savedNotification);
         return NotificationMapper.toDto(savedNotification);
     }
 
@@ -458,32 +547,22 @@ public class NotificationServiceImpl implements INotificationService {
      *
      * <p><strong>Pre-send Validation:</strong></p>
      * <ol>
-     *   <li>Checks notification exists</li>
+     *   <li>Checks notification exists and is PENDING</li>
      *   <li>Validates type is SMS</li>
      *   <li>Validates phone number is present and non-empty</li>
      * </ol>
      *
-     * <p><strong>On Success:</strong></p>
-     * <ul>
-     *   <li>Status: PENDING → SENT</li>
-     *   <li>Sets sentAt timestamp</li>
-     *   <li>Sets deliveredAt timestamp</li>
-     *   <li>Returns success message with phone number</li>
-     * </ul>
-     *
-     * <p><strong>On Failure:</strong></p>
+     * <p><strong>Delivery:</strong></p>
      * <ul>
-     *   <li>Status: PENDING → FAILED</li>
-     *   <li>Sets failedAt timestamp</li>
-     *   <li>Records failure reason</li>
-     *   <li>Throws RuntimeException with error details</li>
+     *   <li>Queues the notification on the SMS lane of {@link NotificationDeliveryEngine}</li>
+     *   <li>Returns immediately; the provider is called by a delivery worker</li>
+     *   <li>The worker moves the status PENDING → SENT (with sentAt/deliveredAt)
+     *       or PENDING → FAILED (with failedAt and failure reason)</li>
      * </ul>
      */
     @Override
-    @Transactional
     public String sendSmsNotification(String notificationId) {
-        Notification notification = notificationRepository.findByNotificationId(notificationId)
-                .orElseThrow(() -> new RuntimeException("Notification not found: " + notificationId));
+        Notification notification = findPendingNotification(notificationId);
 
         if (notification.getNotificationType() != org.example.Notification.enums.NotificationType.SMS) {
             throw new RuntimeException("Notification is not of type SMS");
@@ -493,26 +572,8 @@ public class NotificationServiceImpl implements INotificationService {
             throw new RuntimeException("Recipient phone number is missing");
         }
 
-        try {
-            System.out.println("Sending SMS to: " + notification.getRecipientPhone());
-            System.out.println("Message: " + notification.getMessage());
-
-            notification.setStatus(NotificationStatus.SENT);
-            notification.setSentAt(LocalDateTime.now());
-            notification.setDeliveredAt(LocalDateTime.now());
-
-            notificationRepository.save(notification);
-
-            return "SMS sent successfully to " + notification.getRecipientPhone();
-
-        } catch (Exception e) {
-            notification.setStatus(NotificationStatus.FAILED);
-            notification.setFailedAt(LocalDateTime.now());
-            notification.setFailureReason("SMS sending failed: " + e.getMessage());
-            notificationRepository.save(notification);
-
-            throw new RuntimeException("Failed to send SMS: " + e.getMessage());
-        }
+        notificationDeliveryEngine.submit(notificationId, notification.getNotificationType(), notification.getPriority());
+        return "SMS queued for delivery to " + notification.getRecipientPhone();
     }
 
     /**
@@ -520,7 +581,7 @@ public class NotificationServiceImpl implements INotificationService {
      *
      * <p><strong>Pre-send Validation:</strong></p>
      * <ol>
-     *   <li>Checks notification exists</li>
+     *   <li>Checks notification exists and is PENDING</li>
      *   <li>Validates type is EMAIL</li>
      *   <li>Validates email address is present and non-empty</li>
      * </ol>
@@ -532,17 +593,18 @@ public class NotificationServiceImpl implements INotificationService {
      *   <li>Body: notification.message</li>
      * </ul>
      *
-     * <p><strong>Status Updates:</strong></p>
+     * <p><strong>Status Updates</strong> (applied by the delivery worker):</p>
      * <ul>
      *   <li>Success: PENDING → SENT (with timestamps)</li>
      *   <li>Failure: PENDING → FAILED (with error details)</li>
      * </ul>
+     *
+     * <p>When called inside a transaction (e.g. from {@link #calculateFeesAndNotify}), the
+     * notification is queued only after that transaction commits.</p>
      */
     @Override
-    @Transactional
     public String sendEmailNotification(String notificationId) {
-        Notification notification = notificationRepository.findByNotificationId(notificationId)
-                .orElseThrow(() -> new RuntimeException("Notification not found: " + notificationId));
+        Notification notification = findPendingNotification(notificationId);
 
         if (notification.getNotificationType() != org.example.Notification.enums.NotificationType.EMAIL) {
             throw new RuntimeException("Notification is not of type EMAIL");
@@ -552,27 +614,17 @@ public class NotificationServiceImpl implements INotificationService {
             throw new RuntimeException("Recipient email is missing");
         }
 
-        try {
-            System.out.println("Sending Email to: " + notification.getRecipientEmail());
-            System.out.println("Subject: " + notification.getSubject());
-            System.out.println("Message: " + notification.getMessage());
-
-            notification.setStatus(NotificationStatus.SENT);
-            notification.setSentAt(LocalDateTime.now());
-            notification.setDeliveredAt(LocalDateTime.now());
-
-            notificationRepository.save(notification);
-
-            return "Email sent successfully to " + notification.getRecipientEmail();
-
-        } catch (Exception e) {
-            notification.setStatus(NotificationStatus.FAILED);
-            notification.setFailedAt(LocalDateTime.now());
-            notification.setFailureReason("Email sending failed: " + e.getMessage());
-            notificationRepository.save(notification);
+        notificationDeliveryEngine.submit(notificationId, notification.getNotificationType(), notification.getPriority());
+        return "Email queued for delivery to " + notification.getRecipientEmail();
+    }
 
-            throw new RuntimeException("Failed to send Email: " + e.getMessage());
+    private Notification findPendingNotification(String notificationId) {
+        Notification notification = notificationRepository.findByNotificationId(notificationId)
+                .orElseThrow(() -> new RuntimeException("Notification not found: " + notificationId));
+        if (notification.getStatus() != NotificationStatus.PENDING) {
+            throw new RuntimeException("Notification is in status " + notification.getStatus() + " and cannot be sent");
         }
+        return notification;
     }
 
     /**
@@ -581,7 +633,10 @@ public class NotificationServiceImpl implements INotificationService {
      * <p><strong>Behavior:</strong></p>
      * <ul>
      *   <li>If already READ: Returns info message, no database update</li>
-     *   <li>If not READ: Updates status to READ and saves</li>
+     *   <li>If SENT: Moves it to READ with a conditional update and decrements the
+     *       recipient's unread counter in the same transaction; of two concurrent calls
+     *       only one decrements</li>
+     *   <li>Otherwise: Updates status to READ and saves</li>
      *   <li>Idempotent operation (safe to call multiple times)</li>
      * </ul>
      */
@@ -595,6 +650,14 @@ public class NotificationServiceImpl implements INotificationService {
             return "Notification already marked as read";
         }
 
+        if (notification.getStatus() == NotificationStatus.SENT) {
+            if (notificationRepository.markRead(notificationId, NotificationStatus.SENT) == 0) {
+                return "Notification already marked as read";
+            }
+            recipientCounterRepository.adjustUnread(notification.getRecipientId(), -1);
+            return "Notification marked as read successfully";
+        }
+
         notification.setStatus(NotificationStatus.READ);
         notificationRepository.save(notification);
 
@@ -627,6 +690,8 @@ public class NotificationServiceImpl implements INotificationService {
      *   <li>Returns all statuses (PENDING, SENT, FAILED, READ)</li>
      *   <li>Ordered by creation date (newest first)</li>
      *   <li>Includes all notification types (EMAIL, SMS, PUSH)</li>
+     *   <li>Includes notifications moved to the cold archive ({@link NotificationArchiveService});
+     *       a notification present in both is returned once, from the live table</li>
      * </ul>
      *
      * <p><strong>Use Cases:</strong></p>
@@ -638,9 +703,115 @@ public class NotificationServiceImpl implements INotificationService {
      */
     @Override
     public List<NotificationDto> getNotificationHistory(Long recipientId) {
-        List<Notification> notifications = notificationRepository.findByRecipientId(recipientId);
+        List<Notification> notifications =
+                new ArrayList<>(notificationRepository.findByRecipientIdOrderByCreatedAtDescIdDesc(recipientId));
+        Set<String> seen = new HashSet<>();
+        notifications.forEach(notification -> seen.add(notification.getNotificationId()));
+        for (Notification archived : notificationArchiveService.findByRecipient(recipientId, null, null)) {
+            if (seen.add(archived.getNotificationId())) {
+                notifications.add(archived);
+            }
+        }
         return notifications.stream()
+                .sorted(NEWEST_FIRST)
                 .map(NotificationMapper::toDto)
                 .collect(Collectors.toList());
     }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p><strong>Query Details:</strong></p>
+     * <ul>
+     *   <li>Reads at most {@code limit + 1} rows from the (recipient_id, created_at DESC, id DESC)
+     *       index, starting right after the cursor, whatever the depth of the page</li>
+     *   <li>Archived notifications before the cursor are merged in by the same (createdAt, id) order,
+     *       again at most {@code limit + 1} of them; a notification present in both is returned once,
+     *       from the live table</li>
+     *   <li>The cursor is the (createdAt, id) of the last item, Base64-encoded; it stays valid while
+     *       newer notifications arrive, which simply do not appear on later pages</li>
+     * </ul>
+     */
+    @Override
+    public NotificationPageDto getNotificationHistoryPage(Long recipientId, List<NotificationStatus> statuses,
+                                                          String cursor, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_HISTORY_PAGE_SIZE));
+        LocalDateTime beforeAt = HISTORY_START;
+        long beforeId = Long.MAX_VALUE;
+        if (cursor != null && !cursor.isBlank()) {
+            HistoryCursor position = HistoryCursor.decode(cursor);
+            beforeAt = position.createdAt();
+            beforeId = position.id();
+        }
+        boolean filtered = statuses != null && !statuses.isEmpty();
+        PageRequest page = PageRequest.of(0, size + 1);
+        List<Notification> live = filtered
+                ? notificationRepository.findHistoryPageByStatus(recipientId, statuses, beforeAt, beforeId, page)
+                : notificationRepository.findHistoryPage(recipientId, beforeAt, beforeId, page);
+
+        Map<String, Notification> merged = new LinkedHashMap<>();
+        live.forEach(notification -> merged.put(notification.getNotificationId(), notification));
+        Predicate<Notification> wanted = filtered ? archived -> statuses.contains(archived.getStatus()) : archived -> true;
+        for (Notification archived : notificationArchiveService.findNewestBefore(recipientId, beforeAt, beforeId, wanted, size + 1)) {
+            merged.putIfAbsent(archived.getNotificationId(), archived);
+        }
+        List<Notification> ordered = new ArrayList<>(merged.values());
+        ordered.sort(NEWEST_FIRST);
+
+        String nextCursor = null;
+        if (ordered.size() > size) {
+            ordered = ordered.subList(0, size);
+            Notification last = ordered.get(size - 1);
+            nextCursor = new HistoryCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new NotificationPageDto(
+                ordered.stream().map(NotificationMapper::toDto).collect(Collectors.toList()),
+                nextCursor);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Reads the recipient's row in {@code recipient_counters}; no notification rows are scanned.</p>
+     */
+    @Override
+    public long getUnreadCount(Long recipientId) {
+        return recipientCounterRepository.findUnreadCount(recipientId).orElse(0L);
+    }
+
+    /**
+     * Creates unread counters for recipients that have none yet. This groups the whole notifications
+     * table, so it is a one-off backfill: start a single instance with
+     * {@code notification.unread.seed-on-startup=true} after the counters are introduced, then turn it off.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedUnreadCounters() {
+        if (seedUnreadCounters) {
+            recipientCounterRepository.seedMissing();
+        }
+    }
+
+    /**
+     * Position of the last item of a history page, handed to clients as an opaque Base64 token.
+     */
+    record HistoryCursor(LocalDateTime createdAt, long id) {
+
+        String encode() {
+            String position = createdAt + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static HistoryCursor decode(String cursor) {
+            try {
+                String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+                if (position.length != 2) {
+                    throw new IllegalArgumentException("Expected createdAt|id");
+                }
+                return new HistoryCursor(LocalDateTime.parse(position[0]), Long.parseLong(position[1]));
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                // a client-supplied token, so a bad one is the caller's error rather than a 500
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid history cursor: " + cursor);
+            }
+        }
+    }
 }
\ No newline at end of file
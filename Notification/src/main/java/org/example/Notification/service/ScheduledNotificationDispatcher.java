@@ -0,0 +1,180 @@
+package org.example.Notification.service;
+
+import org.example.Notification.entity.Notification;
+import org.example.Notification.enums.NotificationPriority;
+import org.example.Notification.enums.NotificationType;
+import org.example.Notification.repository.NotificationRepository;
+import org.example.Notification.repository.ScheduledNotificationView;
+import org.example.Notification.utils.HierarchicalTimingWheel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fires SCHEDULED notifications on time by promoting them to PENDING and handing them to the
+ * {@link NotificationDeliveryEngine}.
+ *
+ * <p><strong>Design:</strong></p>
+ * <ul>
+ *   <li>Only a sliding window of the schedule is held in memory: every {@code load-interval} the
+ *       rows due before {@code now + lookahead} that were not loaded yet are read in keyset pages over
+ *       the (status, scheduled_at) index and added to a {@link HierarchicalTimingWheel}, so millions of
+ *       far-future rows cost nothing until their window comes up</li>
+ *   <li>The wheel is advanced every {@code tick}; each expired entry is promoted with a conditional
+ *       SCHEDULED → PENDING update and only submitted for delivery when that update wins, so several
+ *       instances loading the same window never deliver a notification twice</li>
+ *   <li>Notifications scheduled after their window was loaded are added to the wheel directly once
+ *       their transaction commits</li>
+ * </ul>
+ *
+ * <p><strong>Restart:</strong> the first load has no lower bound, so anything still SCHEDULED — including
+ * rows that became due while no instance was running — is picked up again. Every load also re-reads
+ * rows overdue by more than {@code overdue-grace}, which covers a row missed by both paths above.</p>
+ *
+ * @since 1.1
+ * @see HierarchicalTimingWheel
+ */
+@Service
+public class ScheduledNotificationDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(ScheduledNotificationDispatcher.class);
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationDeliveryEngine notificationDeliveryEngine;
+    private final HierarchicalTimingWheel<ScheduledEntry> wheel;
+    private final Duration lookahead;
+    private final Duration overdueGrace;
+    private final int pageSize;
+    private volatile LocalDateTime loadedUntil;
+
+    public ScheduledNotificationDispatcher(NotificationRepository notificationRepository,
+                                           NotificationDeliveryEngine notificationDeliveryEngine,
+                                           @Value("${notification.scheduler.tick:1s}") Duration tick,
+                                           @Value("${notification.scheduler.lookahead:10m}") Duration lookahead,
+                                           @Value("${notification.scheduler.overdue-grace:2m}") Duration overdueGrace,
+                                           @Value("${notification.scheduler.page-size:1000}") int pageSize) {
+        this.notificationRepository = notificationRepository;
+        this.notificationDeliveryEngine = notificationDeliveryEngine;
+        this.wheel = new HierarchicalTimingWheel<>(tick.toMillis(), 64, 4, System.currentTimeMillis());
+        if (lookahead.toMillis() >= wheel.horizonMillis()) {
+            throw new IllegalStateException("notification.scheduler.lookahead must be shorter than the timing wheel horizon");
+        }
+        this.lookahead = lookahead;
+        this.overdueGrace = overdueGrace;
+        this.pageSize = pageSize;
+    }
+
+    @Scheduled(fixedDelayString = "${notification.scheduler.load-interval:1m}")
+    public void loadWindow() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime until = now.plus(lookahead);
+        LocalDateTime from = loadedUntil;
+        if (from == null) {
+            from = EPOCH;
+        } else {
+            // safety net for rows that neither a window load nor track() put on the wheel
+            int overdue = load(EPOCH, now.minus(overdueGrace));
+            if (overdue > 0) {
+                log.warn("Re-queued {} overdue scheduled notifications", overdue);
+            }
+        }
+        int loaded = load(from, until);
+        loadedUntil = until;
+        log.debug("Loaded {} scheduled notifications due before {}", loaded, until);
+    }
+
+    @Scheduled(fixedDelayString = "${notification.scheduler.tick:1s}")
+    public void tick() {
+        List<ScheduledEntry> expired = new ArrayList<>();
+        synchronized (wheel) {
+            wheel.advance(System.currentTimeMillis(), expired::add);
+        }
+        expired.forEach(this::fire);
+    }
+
+    /**
+     * Puts a newly scheduled notification on the wheel if its window has already been loaded; later
+     * ones are picked up by the window load. Inside a transaction this happens after commit.
+     */
+    public void track(Notification notification) {
+        LocalDateTime windowEnd = loadedUntil;
+        if (notification.getScheduledAt() == null || windowEnd == null || !notification.getScheduledAt().isBefore(windowEnd)) {
+            return;
+        }
+        ScheduledEntry entry = new ScheduledEntry(notification.getNotificationId(), notification.getNotificationType(),
+                notification.getPriority(), toMillis(notification.getScheduledAt()));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    schedule(entry);
+                }
+            });
+        } else {
+            schedule(entry);
+        }
+    }
+
+    public int pending() {
+        synchronized (wheel) {
+            return wheel.size();
+        }
+    }
+
+    private int load(LocalDateTime from, LocalDateTime until) {
+        LocalDateTime afterAt = from;
+        long afterId = -1L;
+        int loaded = 0;
+        List<ScheduledNotificationView> page;
+        do {
+            page = notificationRepository.findScheduledPage(afterAt, afterId, until, PageRequest.of(0, pageSize));
+            for (ScheduledNotificationView row : page) {
+                schedule(new ScheduledEntry(row.getNotificationId(), row.getNotificationType(), row.getPriority(),
+                        toMillis(row.getScheduledAt())));
+            }
+            if (!page.isEmpty()) {
+                ScheduledNotificationView last = page.get(page.size() - 1);
+                afterAt = last.getScheduledAt();
+                afterId = last.getId();
+                loaded += page.size();
+            }
+        } while (page.size() == pageSize);
+        return loaded;
+    }
+
+    private void schedule(ScheduledEntry entry) {
+        synchronized (wheel) {
+            wheel.add(entry, entry.dueMillis());
+        }
+    }
+
+    private void fire(ScheduledEntry entry) {
+        try {
+            if (notificationRepository.promoteScheduled(entry.notificationId()) == 1) {
+                notificationDeliveryEngine.submit(entry.notificationId(), entry.type(), entry.priority());
+            }
+        } catch (RuntimeException e) {
+            log.error("Scheduled notification {} could not be dispatched", entry.notificationId(), e);
+        }
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private record ScheduledEntry(String notificationId, NotificationType type, NotificationPriority priority,
+                                  long dueMillis) {
+    }
+}
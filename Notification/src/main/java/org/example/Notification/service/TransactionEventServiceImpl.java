@@ -0,0 +1,88 @@
+package org.example.Notification.service;
+
+import jakarta.transaction.Transactional;
+import org.example.Notification.dto.request.TransactionEventDto;
+import org.example.Notification.entity.TransactionSnapshot;
+import org.example.Notification.enums.TransactionEventType;
+import org.example.Notification.repository.TransactionSnapshotRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of {@link ITransactionEventService} backed by the {@code transaction_snapshots} table.
+ *
+ * <p><strong>Ordering:</strong> every event carries the transaction's own version, which the
+ * Transactions service increments with each change to that transaction, and every snapshot remembers
+ * the highest version it has applied. A state-bearing event (POSTED, UPDATED, COMPLETED, FAILED) whose
+ * version is not higher is a redelivery or arrived out of order and is skipped. The outbox id is not
+ * used for this: it comes from a pooled sequence and is not monotonic across producer instances.
+ * FRAUD_FLAGGED only ever raises the flag, so it is applied regardless of order.</p>
+ *
+ * <p>The whole batch is loaded with one query and written back with one {@code saveAll}.</p>
+ */
+@Service
+public class TransactionEventServiceImpl implements ITransactionEventService {
+
+    @Autowired
+    private TransactionSnapshotRepository transactionSnapshotRepository;
+
+    @Override
+    @Transactional
+    public int applyTransactionEvents(List<TransactionEventDto> events) {
+        Map<String, TransactionSnapshot> snapshots = new HashMap<>();
+        for (TransactionSnapshot snapshot : transactionSnapshotRepository.findAllById(
+                events.stream().map(TransactionEventDto::getTransactionId).collect(Collectors.toSet()))) {
+            snapshots.put(snapshot.getTransactionId(), snapshot);
+        }
+
+        int applied = 0;
+        LocalDateTime now = LocalDateTime.now();
+        List<TransactionEventDto> ordered = events.stream()
+                .sorted(Comparator.comparing(TransactionEventDto::getVersion, Comparator.nullsFirst(Comparator.naturalOrder())))
+                .toList();
+        for (TransactionEventDto event : ordered) {
+            TransactionSnapshot snapshot = snapshots.computeIfAbsent(event.getTransactionId(), TransactionSnapshot::new);
+            if (apply(snapshot, event)) {
+                snapshot.setUpdatedAt(now);
+                applied++;
+            }
+        }
+
+        transactionSnapshotRepository.saveAll(snapshots.values());
+        return applied;
+    }
+
+    private static boolean apply(TransactionSnapshot snapshot, TransactionEventDto event) {
+        if (event.getEventType() == TransactionEventType.FRAUD_FLAGGED) {
+            if (snapshot.isFraudFlagged()) {
+                return false;
+            }
+            snapshot.setFraudFlagged(true);
+            snapshot.setRiskScore(event.getRiskScore());
+            return true;
+        }
+        long version = event.getVersion() != null ? event.getVersion() : 0L;
+        if (version <= (snapshot.getLastVersion() != null ? snapshot.getLastVersion() : 0L)) {
+            return false;
+        }
+        snapshot.setLastVersion(version);
+        snapshot.setLastEventId(event.getEventId());
+        snapshot.setStatus(event.getStatus());
+        snapshot.setTransactionType(event.getTransactionType());
+        snapshot.setFromAccountNumber(event.getFromAccountNumber());
+        snapshot.setToAccountNumber(event.getToAccountNumber());
+        snapshot.setAmount(event.getAmount());
+        snapshot.setCurrency(event.getCurrency());
+        snapshot.setFee(event.getFee());
+        snapshot.setRiskScore(event.getRiskScore());
+        snapshot.setFailureReason(event.getFailureReason());
+        return true;
+    }
+}
@@ -0,0 +1,44 @@
+package org.example.Notification.utils;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Exponential backoff with full jitter: the delay before retry {@code n} (0-based) is drawn uniformly
+ * from {@code [0, min(maxDelay, baseDelay * 2^n))}.
+ *
+ * <p>Spreading each retry over the whole window, rather than adding a little noise to a fixed delay,
+ * keeps notifications that failed together during a provider outage from retrying together.</p>
+ */
+public final class ExponentialBackoff {
+
+    private final long baseMillis;
+    private final long maxMillis;
+    private final DoubleSupplier random;
+
+    public ExponentialBackoff(Duration baseDelay, Duration maxDelay) {
+        this(baseDelay, maxDelay, () -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    ExponentialBackoff(Duration baseDelay, Duration maxDelay, DoubleSupplier random) {
+        if (baseDelay.isNegative() || baseDelay.isZero() || maxDelay.compareTo(baseDelay) < 0) {
+            throw new IllegalArgumentException("Backoff needs 0 < baseDelay <= maxDelay");
+        }
+        this.baseMillis = baseDelay.toMillis();
+        this.maxMillis = maxDelay.toMillis();
+        this.random = random;
+    }
+
+    public Duration delay(int retry) {
+        return Duration.ofMillis((long) (random.getAsDouble() * ceiling(retry)));
+    }
+
+    long ceiling(int retry) {
+        // shifting past the cap's magnitude would overflow; the cap applies long before that
+        if (retry >= Long.numberOfLeadingZeros(baseMillis) - 1) {
+            return maxMillis;
+        }
+        return Math.min(maxMillis, baseMillis << Math.max(retry, 0));
+    }
+}
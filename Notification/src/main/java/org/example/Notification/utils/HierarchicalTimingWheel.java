@@ -0,0 +1,143 @@
+package org.example.Notification.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel with O(1) insertion and amortized O(1) expiry per timer.
+ *
+ * <p>Time is divided into ticks of {@code tickMillis}. Level 0 has one slot per tick; each level above
+ * covers {@code wheelSize} slots of the level below, so with a 1s tick, 64 slots and 4 levels the wheel
+ * reaches 63 * 64^3 seconds (about 191 days) ahead. A timer is stored at the lowest level where it is
+ * fewer than {@code wheelSize} slots away. When time reaches the start of a higher-level slot, that slot's
+ * timers are cascaded one or more levels down; a timer therefore moves at most {@code levels - 1} times
+ * before it fires from level 0.</p>
+ *
+ * <p>Not thread-safe; callers synchronize externally.</p>
+ *
+ * @param <T> the payload fired on expiry
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final int levels;
+    private final long[] spans;
+    private final List<Timer<T>>[][] slots;
+    private final List<T> due = new ArrayList<>();
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimingWheel(long tickMillis, int wheelSize, int levels, long startMillis) {
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.levels = levels;
+        this.spans = new long[levels + 1];
+        this.slots = new List[levels][wheelSize];
+        long span = 1;
+        for (int level = 0; level <= levels; level++) {
+            spans[level] = span;
+            span = Math.multiplyExact(span, wheelSize);
+        }
+        for (int level = 0; level < levels; level++) {
+            for (int slot = 0; slot < wheelSize; slot++) {
+                slots[level][slot] = new ArrayList<>();
+            }
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /**
+     * Schedules {@code item} to fire once time reaches {@code deadlineMillis}. A deadline that has
+     * already passed fires on the next {@link #advance}.
+     *
+     * @return false if the deadline lies beyond the wheel's horizon
+     */
+    public boolean add(T item, long deadlineMillis) {
+        long deadlineTick = deadlineMillis / tickMillis;
+        if (deadlineTick <= currentTick) {
+            due.add(item);
+            size++;
+            return true;
+        }
+        return place(new Timer<>(item, deadlineTick));
+    }
+
+    /**
+     * Moves the wheel forward to {@code nowMillis}, handing every expired item to {@code expired}
+     * in deadline order.
+     */
+    public void advance(long nowMillis, Consumer<T> expired) {
+        fireDue(expired);
+        long targetTick = nowMillis / tickMillis;
+        while (currentTick < targetTick) {
+            currentTick++;
+            // highest level first, so timers cascaded into a lower slot that is also due are cascaded again
+            for (int level = levels - 1; level >= 1; level--) {
+                if (currentTick % spans[level] == 0) {
+                    cascade(level);
+                }
+            }
+            List<Timer<T>> slot = slots[0][(int) (currentTick % wheelSize)];
+            for (Timer<T> timer : slot) {
+                due.add(timer.item());
+            }
+            slot.clear();
+            fireDue(expired);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long horizonMillis() {
+        return (spans[levels] - spans[levels - 1]) * tickMillis;
+    }
+
+    private boolean place(Timer<T> timer) {
+        for (int level = 0; level < levels; level++) {
+            // a full revolution away would land on the slot this level is currently in, which is never cascaded again
+            if (timer.deadlineTick() / spans[level] - currentTick / spans[level] < wheelSize) {
+                int slot = (int) ((timer.deadlineTick() / spans[level]) % wheelSize);
+                slots[level][slot].add(timer);
+                size++;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void cascade(int level) {
+        List<Timer<T>> slot = slots[level][(int) ((currentTick / spans[level]) % wheelSize)];
+        if (slot.isEmpty()) {
+            return;
+        }
+        List<Timer<T>> timers = new ArrayList<>(slot);
+        slot.clear();
+        size -= timers.size();
+        for (Timer<T> timer : timers) {
+            if (timer.deadlineTick() <= currentTick) {
+                due.add(timer.item());
+                size++;
+            } else {
+                place(timer);
+            }
+        }
+    }
+
+    private void fireDue(Consumer<T> expired) {
+        if (due.isEmpty()) {
+            return;
+        }
+        List<T> firing = new ArrayList<>(due);
+        due.clear();
+        size -= firing.size();
+        firing.forEach(expired);
+    }
+
+    private record Timer<T>(T item, long deadlineTick) {
+    }
+}
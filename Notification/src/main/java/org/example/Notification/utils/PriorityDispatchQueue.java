@@ -0,0 +1,174 @@
+package org.example.Notification.utils;
+
+import org.example.Notification.enums.NotificationPriority;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded blocking queue with one FIFO lane per {@link NotificationPriority}.
+ *
+ * <p>Lanes are served by smooth weighted round-robin: with weights URGENT 8, HIGH 4, MEDIUM 2, LOW 1
+ * and every lane busy, out of 15 takes 8 come from URGENT and 1 from LOW, interleaved rather than
+ * in bursts. Idle lanes are skipped without accumulating credit.</p>
+ *
+ * <p>Starvation protection: when the head of a lane has waited longer than {@code maxWaitNanos},
+ * the lane whose head is the oldest overdue entry is served first, regardless of weights.</p>
+ */
+public class PriorityDispatchQueue {
+
+    private static final NotificationPriority[] PRIORITIES = NotificationPriority.values();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final ArrayDeque<Entry>[] lanes;
+    private final int[] weights;
+    private final int[] credits;
+    private final int capacityPerLane;
+    private final long maxWaitNanos;
+    private final LongSupplier clock;
+    private int size;
+
+    public PriorityDispatchQueue(int capacityPerLane, long maxWaitNanos) {
+        this(capacityPerLane, maxWaitNanos, System::nanoTime);
+    }
+
+    @SuppressWarnings("unchecked")
+    PriorityDispatchQueue(int capacityPerLane, long maxWaitNanos, LongSupplier clock) {
+        this.capacityPerLane = capacityPerLane;
+        this.maxWaitNanos = maxWaitNanos;
+        this.clock = clock;
+        this.lanes = new ArrayDeque[PRIORITIES.length];
+        this.weights = new int[PRIORITIES.length];
+        this.credits = new int[PRIORITIES.length];
+        for (NotificationPriority priority : PRIORITIES) {
+            lanes[priority.ordinal()] = new ArrayDeque<>();
+            weights[priority.ordinal()] = weight(priority);
+        }
+    }
+
+    public static int weight(NotificationPriority priority) {
+        return switch (priority) {
+            case URGENT -> 8;
+            case HIGH -> 4;
+            case MEDIUM -> 2;
+            case LOW -> 1;
+        };
+    }
+
+    /**
+     * @return false if the lane for this priority is full
+     */
+    public boolean offer(String notificationId, NotificationPriority priority) {
+        lock.lock();
+        try {
+            ArrayDeque<Entry> lane = lanes[priority.ordinal()];
+            if (lane.size() >= capacityPerLane) {
+                return false;
+            }
+            lane.addLast(new Entry(notificationId, priority, clock.getAsLong()));
+            size++;
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Entry take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (size == 0) {
+                notEmpty.await();
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the next entry, or null if none arrived within the timeout
+     */
+    public Entry poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long remaining = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (size == 0) {
+                if (remaining <= 0) {
+                    return null;
+                }
+                remaining = notEmpty.awaitNanos(remaining);
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int depth(NotificationPriority priority) {
+        lock.lock();
+        try {
+            return lanes[priority.ordinal()].size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Entry dequeue() {
+        int lane = overdueLane();
+        if (lane < 0) {
+            lane = weightedLane();
+        }
+        size--;
+        return lanes[lane].pollFirst();
+    }
+
+    private int overdueLane() {
+        long now = clock.getAsLong();
+        int oldest = -1;
+        long oldestEnqueued = Long.MAX_VALUE;
+        for (int i = 0; i < lanes.length; i++) {
+            Entry head = lanes[i].peekFirst();
+            if (head != null && now - head.enqueuedNanos() > maxWaitNanos && head.enqueuedNanos() < oldestEnqueued) {
+                oldest = i;
+                oldestEnqueued = head.enqueuedNanos();
+            }
+        }
+        return oldest;
+    }
+
+    // smooth weighted round-robin over the non-empty lanes
+    private int weightedLane() {
+        int activeWeight = 0;
+        int best = -1;
+        for (int i = 0; i < lanes.length; i++) {
+            if (lanes[i].isEmpty()) {
+                credits[i] = 0;
+                continue;
+            }
+            credits[i] += weights[i];
+            activeWeight += weights[i];
+            if (best < 0 || credits[i] > credits[best]) {
+                best = i;
+            }
+        }
+        credits[best] -= activeWeight;
+        return best;
+    }
+
+    public record Entry(String notificationId, NotificationPriority priority, long enqueuedNanos) {
+    }
+}
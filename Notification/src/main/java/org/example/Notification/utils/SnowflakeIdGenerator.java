@@ -0,0 +1,69 @@
+package org.example.Notification.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-ordered 63-bit identifiers: 41 bits of milliseconds since 2024-01-01T00:00:00Z, 10 bits of node id and
+ * a 12-bit per-millisecond sequence. Consecutive ids are strictly increasing on a node, so new keys land on the
+ * right-most leaf of the unique index instead of scattering inserts across the B-tree.
+ *
+ * <p>The node id is read from the {@code ID_GENERATOR_NODE} environment variable (0-1023), which must be set and
+ * unique per running instance of the service; {@link #node()} is called from {@code main} so a missing value
+ * stops the instance at startup rather than at its first insert. When more than 4096 ids are requested within
+ * one millisecond, or the clock moves backwards, the sequence keeps counting into the following millisecond
+ * instead of blocking or repeating.</p>
+ *
+ * <p>AccountManagement and Notification each carry an identical copy of this class and of its test: the services
+ * are built and deployed independently and share no library module. Change both copies together; only the
+ * package declaration differs.</p>
+ */
+public final class SnowflakeIdGenerator {
+
+    private static final long EPOCH_MILLIS = 1704067200000L;
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private static final SnowflakeIdGenerator INSTANCE = new SnowflakeIdGenerator(nodeFromEnvironment());
+
+    private final long node;
+    // (millis since epoch << SEQUENCE_BITS) | sequence of the last id handed out
+    private final AtomicLong state = new AtomicLong();
+
+    SnowflakeIdGenerator(long node) {
+        if (node < 0 || node > MAX_NODE) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE + ": " + node);
+        }
+        this.node = node;
+    }
+
+    public static long next() {
+        return INSTANCE.nextId();
+    }
+
+    public static long node() {
+        return INSTANCE.node;
+    }
+
+    long nextId() {
+        while (true) {
+            long last = state.get();
+            long now = System.currentTimeMillis() - EPOCH_MILLIS;
+            long next = now > (last >>> SEQUENCE_BITS) ? now << SEQUENCE_BITS : last + 1;
+            if (state.compareAndSet(last, next)) {
+                long timestamp = next >>> SEQUENCE_BITS;
+                return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | (node << SEQUENCE_BITS) | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    private static long nodeFromEnvironment() {
+        String configured = System.getenv("ID_GENERATOR_NODE");
+        if (configured == null || configured.isBlank()) {
+            // a random node would let two replicas hand out the same id
+            throw new IllegalStateException("ID_GENERATOR_NODE must be set to a node id (0-" + MAX_NODE + ") unique to this instance");
+        }
+        return Long.parseLong(configured.trim());
+    }
+}
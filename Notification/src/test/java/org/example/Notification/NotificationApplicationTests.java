@@ -3,7 +3,7 @@ package org.example.Notification;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "notification.internal.token=test-token")
 class NotificationApplicationTests {
 
 //	@Test
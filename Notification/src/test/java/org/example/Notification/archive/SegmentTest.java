@@ -0,0 +1,156 @@
+package org.example.Notification.archive;
+
+import org.example.Notification.entity.Notification;
+import org.example.Notification.enums.NotificationPriority;
+import org.example.Notification.enums.NotificationStatus;
+import org.example.Notification.enums.NotificationType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SegmentTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 8, 0, 0, 123_456_000);
+
+    @TempDir
+    Path directory;
+
+    // ========== ROUNDTRIP ==========
+
+    @Test
+    void testWriteAndFind_RoundtripsEveryColumn() throws IOException {
+        // Given
+        Notification original = notification(1L, 42L, BASE);
+        original.setRecipientPhone(null);
+        original.setSentAt(BASE.plusSeconds(5));
+        original.setFailureReason("SMS sending failed: ünïcödé");
+        original.setRelatedTransactionId(null);
+
+        // When
+        Path written = SegmentWriter.write(directory, List.of(original));
+        List<Notification> found = Segment.open(written).find(42L, null, null);
+
+        // Then
+        assertEquals(1, found.size());
+        Notification copy = found.get(0);
+        assertEquals(1L, copy.getId());
+        assertEquals("NOTIF-1", copy.getNotificationId());
+        assertEquals(42L, copy.getRecipientId());
+        assertEquals("user42@example.com", copy.getRecipientEmail());
+        assertNull(copy.getRecipientPhone());
+        assertEquals(NotificationType.EMAIL, copy.getNotificationType());
+        assertEquals(NotificationStatus.SENT, copy.getStatus());
+        assertEquals(NotificationPriority.HIGH, copy.getPriority());
+        assertEquals("Subject 1", copy.getSubject());
+        assertEquals("Message body 1", copy.getMessage());
+        assertEquals(BASE, copy.getCreatedAt());
+        assertEquals(BASE.plusSeconds(5), copy.getSentAt());
+        assertNull(copy.getFailedAt());
+        assertEquals("SMS sending failed: ünïcödé", copy.getFailureReason());
+        assertEquals(2, copy.getRetryCount());
+        assertEquals(3, copy.getMaxRetries());
+        assertEquals(7L, copy.getRelatedAccountId());
+        assertNull(copy.getRelatedTransactionId());
+    }
+
+    // ========== SPARSE INDEX ==========
+
+    @Test
+    void testFind_RecipientSpanningBlocksAndTimeRange() throws IOException {
+        // Given (1000 rows over 10 recipients -> many 128-row blocks)
+        List<Notification> rows = new ArrayList<>();
+        for (long id = 1; id <= 1000; id++) {
+            rows.add(notification(id, id % 10, BASE.plusMinutes(id)));
+        }
+        Segment segment = Segment.open(SegmentWriter.write(directory, rows));
+
+        // When
+        List<Notification> all = segment.find(3L, null, null);
+        List<Notification> window = segment.find(3L, BASE.plusMinutes(100), BASE.plusMinutes(200));
+
+        // Then
+        assertEquals(1000, segment.rowCount());
+        assertEquals(100, all.size());
+        assertTrue(all.stream().allMatch(row -> row.getRecipientId() == 3L));
+        assertEquals(10, window.size());
+        assertEquals(BASE.plusMinutes(103), window.get(0).getCreatedAt());
+        assertTrue(segment.find(99L, null, null).isEmpty());
+    }
+
+    @Test
+    void testFindNewestBefore_WalksBackFromCursorAndStopsAtLimit() throws IOException {
+        // Given (1000 rows over 10 recipients -> recipient 3 has ids 3, 13, ..., 993)
+        List<Notification> rows = new ArrayList<>();
+        for (long id = 1; id <= 1000; id++) {
+            Notification row = notification(id, id % 10, BASE.plusMinutes(id));
+            row.setStatus(id % 20 == 3 ? NotificationStatus.READ : NotificationStatus.SENT);
+            rows.add(row);
+        }
+        Segment segment = Segment.open(SegmentWriter.write(directory, rows));
+
+        // When
+        List<Notification> newest = segment.findNewestBefore(3L, BASE.plusYears(1), Long.MAX_VALUE, row -> true, 3);
+        List<Notification> afterCursor = segment.findNewestBefore(3L, BASE.plusMinutes(503), 503L, row -> true, 2);
+        List<Notification> sent = segment.findNewestBefore(3L, BASE.plusMinutes(503), 503L,
+                row -> row.getStatus() == NotificationStatus.SENT, 2);
+
+        // Then
+        assertEquals(List.of(993L, 983L, 973L), newest.stream().map(Notification::getId).toList());
+        assertEquals(List.of(493L, 483L), afterCursor.stream().map(Notification::getId).toList());
+        assertEquals(List.of(493L, 473L), sent.stream().map(Notification::getId).toList());
+        assertTrue(segment.findNewestBefore(3L, BASE, Long.MAX_VALUE, row -> true, 5).isEmpty());
+        assertTrue(segment.findNewestBefore(99L, BASE.plusYears(1), Long.MAX_VALUE, row -> true, 5).isEmpty());
+    }
+
+    @Test
+    void testWrite_CompressesAndNamesByIdRange() throws IOException {
+        // Given
+        List<Notification> rows = new ArrayList<>();
+        for (long id = 10; id < 510; id++) {
+            rows.add(notification(id, 1L, BASE.plusSeconds(id)));
+        }
+
+        // When
+        Path written = SegmentWriter.write(directory, rows);
+        Path again = SegmentWriter.write(directory, rows);
+
+        // Then
+        assertEquals("segment-10-509.nseg", written.getFileName().toString());
+        assertEquals(written, again);
+        assertTrue(Files.size(written) < 500 * 100);
+        try (var files = Files.list(directory)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void testOpen_RejectsForeignFile() throws IOException {
+        // Given
+        Path bogus = Files.write(directory.resolve("bogus.nseg"), new byte[64]);
+
+        // When & Then
+        assertThrows(IOException.class, () -> Segment.open(bogus));
+    }
+
+    private static Notification notification(long id, long recipientId, LocalDateTime createdAt) {
+        Notification notification = new Notification("NOTIF-" + id, recipientId, "user" + recipientId + "@example.com",
+                "+40700000000", NotificationType.EMAIL, "TRANSACTION_COMPLETED", "Subject " + id,
+                "Message body " + id, NotificationPriority.HIGH);
+        notification.setId(id);
+        notification.setStatus(NotificationStatus.SENT);
+        notification.setCreatedAt(createdAt);
+        notification.setRetryCount(2);
+        notification.setMaxRetries(3);
+        notification.setRelatedAccountId(7L);
+        notification.setRelatedTransactionId(11L);
+        return notification;
+    }
+}
@@ -0,0 +1,32 @@
+package org.example.Notification.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InternalCallerAuthorizationTest {
+
+    @Test
+    void isInternal_MatchingToken_IsAllowed() {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/internal/notifications/events");
+        request.addHeader(InternalCallerAuthorization.HEADER, "s3cret");
+
+        // When / Then
+        assertTrue(new InternalCallerAuthorization("s3cret").isInternal(request));
+    }
+
+    @Test
+    void isInternal_MissingOrWrongToken_IsDenied() {
+        // Given
+        InternalCallerAuthorization authorization = new InternalCallerAuthorization("s3cret");
+        MockHttpServletRequest anonymous = new MockHttpServletRequest("POST", "/internal/notifications/events");
+        MockHttpServletRequest wrong = new MockHttpServletRequest("POST", "/internal/notifications/events");
+        wrong.addHeader(InternalCallerAuthorization.HEADER, "guess");
+
+        // When / Then
+        assertFalse(authorization.isInternal(anonymous));
+        assertFalse(authorization.isInternal(wrong));
+    }
+}
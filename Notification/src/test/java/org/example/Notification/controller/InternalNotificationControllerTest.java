@@ -0,0 +1,42 @@
+package org.example.Notification.controller;
+
+import org.example.Notification.dto.request.TransactionEventDto;
+import org.example.Notification.enums.TransactionEventType;
+import org.example.Notification.service.ITransactionEventService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InternalNotificationControllerTest {
+
+    @Mock
+    private ITransactionEventService transactionEventService;
+
+    @InjectMocks
+    private InternalNotificationController internalNotificationController;
+
+    @Test
+    void testReceiveTransactionEvents() {
+        // Given
+        List<TransactionEventDto> events = List.of(
+                new TransactionEventDto(1L, TransactionEventType.TRANSACTION_POSTED, "TXN-123", "PENDING"));
+        when(transactionEventService.applyTransactionEvents(events)).thenReturn(1);
+
+        // When
+        ResponseEntity<Void> response = internalNotificationController.receiveTransactionEvents(events);
+
+        // Then
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        verify(transactionEventService, times(1)).applyTransactionEvents(events);
+    }
+}
@@ -3,7 +3,9 @@ package org.example.Notification.controller;
 import org.example.Notification.dto.request.NotificationCreateDto;
 import org.example.Notification.dto.request.NotificationUpdateDto;
 import org.example.Notification.dto.response.NotificationDto;
+import org.example.Notification.dto.response.NotificationPageDto;
 import org.example.Notification.dto.response.NotificationStatusDto;
+import org.example.Notification.dto.response.PurgeProgressDto;
 import org.example.Notification.entity.Notification;
 import org.example.Notification.enums.NotificationStatus;
 import org.example.Notification.enums.NotificationType;
@@ -241,8 +243,8 @@ class NotificationControllerTest {
         ResponseEntity<String> response = notificationController.deleteExpiredNotifications(30);
 
         // Then
-        assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertTrue(response.getBody().contains("deleted successfully"));
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        assertTrue(response.getBody().contains("Purge of expired notifications started"));
         verify(notificationService, times(1)).deleteExpiredNotifications(30);
     }
 
@@ -294,13 +296,13 @@ class NotificationControllerTest {
     void testSendSmsNotification() {
         // Given
         when(notificationService.sendSmsNotification("NOTIF-123"))
-                .thenReturn("SMS sent successfully");
+                .thenReturn("SMS queued for delivery");
 
         // When
         ResponseEntity<String> response = notificationController.sendSmsNotification("NOTIF-123");
 
         // Then
-        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
         assertTrue(response.getBody().contains("SMS"));
         verify(notificationService, times(1)).sendSmsNotification("NOTIF-123");
     }
@@ -309,13 +311,13 @@ class NotificationControllerTest {
     void testSendEmailNotification() {
         // Given
         when(notificationService.sendEmailNotification("NOTIF-123"))
-                .thenReturn("Email sent successfully");
+                .thenReturn("Email queued for delivery");
 
         // When
         ResponseEntity<String> response = notificationController.sendEmailNotification("NOTIF-123");
 
         // Then
-        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
         assertTrue(response.getBody().contains("Email"));
         verify(notificationService, times(1)).sendEmailNotification("NOTIF-123");
     }
@@ -380,6 +382,36 @@ class NotificationControllerTest {
         assertTrue(response.getBody().isEmpty());
     }
 
+    @Test
+    void testGetNotificationHistoryPage() {
+        // Given
+        NotificationPageDto page = new NotificationPageDto(List.of(notificationDto), "next");
+        when(notificationService.getNotificationHistoryPage(123L, List.of(NotificationStatus.SENT), null, 20))
+                .thenReturn(page);
+
+        // When
+        ResponseEntity<NotificationPageDto> response =
+                notificationController.getNotificationHistoryPage(123L, List.of(NotificationStatus.SENT), null, 20);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().getItems().size());
+        assertEquals("next", response.getBody().getNextCursor());
+    }
+
+    @Test
+    void testGetUnreadCount() {
+        // Given
+        when(notificationService.getUnreadCount(123L)).thenReturn(3L);
+
+        // When
+        ResponseEntity<Long> response = notificationController.getUnreadCount(123L);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(3L, response.getBody());
+    }
+
     @Test
     void testCreateNotificationForTransaction() {
         // Given
@@ -425,10 +457,26 @@ class NotificationControllerTest {
         ResponseEntity<String> response = notificationController.deleteExpiredNotifications(60);
 
         // Then
-        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
         verify(notificationService, times(1)).deleteExpiredNotifications(60);
     }
 
+    @Test
+    void testGetPurgeProgress() {
+        // Given
+        PurgeProgressDto progress = new PurgeProgressDto();
+        progress.setState("COMPLETED");
+        progress.setDeletedRows(2500);
+        when(notificationService.getPurgeProgress()).thenReturn(progress);
+
+        // When
+        ResponseEntity<PurgeProgressDto> response = notificationController.getPurgeProgress();
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(2500, response.getBody().getDeletedRows());
+    }
+
     @Test
     void testFetchNotificationWithDifferentId() {
         // Given
@@ -477,4 +525,4 @@ class NotificationControllerTest {
 
         assertEquals(2, response.getBody().size());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,292 @@
+package org.example.Notification.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.Notification.channel.NotificationChannel;
+import org.example.Notification.entity.Notification;
+import org.example.Notification.enums.NotificationPriority;
+import org.example.Notification.enums.NotificationStatus;
+import org.example.Notification.enums.NotificationType;
+import org.example.Notification.repository.NotificationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationDeliveryEngineTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private FakeChannel emailChannel;
+    private NotificationDeliveryEngine engine;
+    private Notification notification;
+
+    @BeforeEach
+    void setUp() {
+        emailChannel = new FakeChannel(NotificationType.EMAIL);
+        meterRegistry = new SimpleMeterRegistry();
+        engine = new NotificationDeliveryEngine(notificationRepository, List.of(emailChannel), meterRegistry,
+                2, 1, Duration.ofSeconds(30), Duration.ofMinutes(5), 100, "test",
+                Duration.ofSeconds(30), Duration.ofHours(1));
+
+        notification = new Notification();
+        notification.setNotificationId("NOTIF-123");
+        notification.setNotificationType(NotificationType.EMAIL);
+        notification.setRecipientEmail("test@example.com");
+        notification.setStatus(NotificationStatus.PENDING);
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.stop();
+    }
+
+    // ========== DELIVER ==========
+
+    @Test
+    void testDeliver_Success() {
+        // Given
+        leaseGranted();
+        when(notificationRepository.findByNotificationId("NOTIF-123")).thenReturn(Optional.of(notification));
+        when(notificationRepository.markSent(eq("NOTIF-123"), eq(engine.leaseOwner()), any(LocalDateTime.class))).thenReturn(1);
+
+        // When
+        engine.deliver(emailChannel, "NOTIF-123");
+
+        // Then
+        assertEquals(1, emailChannel.delivered);
+        verify(notificationRepository, times(1)).markSent(eq("NOTIF-123"), eq(engine.leaseOwner()), any(LocalDateTime.class));
+        verify(notificationRepository, never()).markFailed(anyString(), anyString(), any(), anyString(), any());
+    }
+
+    @Test
+    void testDeliver_ProviderFailure() {
+        // Given
+        emailChannel.failure = new IllegalStateException("SMTP timeout");
+        leaseGranted();
+        when(notificationRepository.findByNotificationId("NOTIF-123")).thenReturn(Optional.of(notification));
+
+        // When
+        engine.deliver(emailChannel, "NOTIF-123");
+
+        // Then
+        verify(notificationRepository, times(1))
+                .markFailed(eq("NOTIF-123"), eq(engine.leaseOwner()), any(LocalDateTime.class),
+                        startsWith("EMAIL sending failed: SMTP timeout"), any(LocalDateTime.class));
+        verify(notificationRepository, never()).markSent(anyString(), anyString(), any());
+    }
+
+    @Test
+    void testDeliver_ProviderFailure_RetryWithinBackoffWindow() {
+        // Given
+        emailChannel.failure = new IllegalStateException("SMTP timeout");
+        notification.setRetryCount(2);
+        leaseGranted();
+        when(notificationRepository.findByNotificationId("NOTIF-123")).thenReturn(Optional.of(notification));
+        LocalDateTime before = LocalDateTime.now();
+
+        // When
+        engine.deliver(emailChannel, "NOTIF-123");
+
+        // Then (third retry: up to 30s * 2^2)
+        ArgumentCaptor<LocalDateTime> nextAttempt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(notificationRepository).markFailed(eq("NOTIF-123"), anyString(), any(LocalDateTime.class), anyString(),
+                nextAttempt.capture());
+        assertFalse(nextAttempt.getValue().isBefore(before));
+        assertTrue(nextAttempt.getValue().isBefore(LocalDateTime.now().plusMinutes(2)));
+    }
+
+    @Test
+    void testDeliver_ProviderFailure_DeadLetterWhenRetriesExhausted() {
+        // Given
+        emailChannel.failure = new IllegalStateException("SMTP timeout");
+        notification.setRetryCount(3);
+        leaseGranted();
+        when(notificationRepository.findByNotificationId("NOTIF-123")).thenReturn(Optional.of(notification));
+
+        // When
+        engine.deliver(emailChannel, "NOTIF-123");
+
+        // Then
+        verify(notificationRepository, times(1)).markDeadLetter(eq("NOTIF-123"), eq(engine.leaseOwner()),
+                any(LocalDateTime.class), startsWith("EMAIL sending failed"));
+        verify(notificationRepository, never()).markFailed(anyString(), anyString(), any(), anyString(), any());
+    }
+
+    @Test
+    void testDeliver_SkipsNotificationNoLongerPending() {
+        // Given
+        notification.setStatus(NotificationStatus.SENT);
+        leaseGranted();
+        when(notificationRepository.findByNotificationId("NOTIF-123")).thenReturn(Optional.of(notification));
+
+        // When
+        engine.deliver(emailChannel, "NOTIF-123");
+
+        // Then
+        assertEquals(0, emailChannel.delivered);
+        verify(notificationRepository, never()).markSent(anyString(), anyString(), any());
+    }
+
+    @Test
+    void testDeliver_SkipsNotificationLeasedByAnotherInstance() {
+        // Given
+        when(notificationRepository.acquireLease(eq("NOTIF-123"), eq(engine.leaseOwner()), any(LocalDateTime.class),
+                any(LocalDateTime.class))).thenReturn(0);
+
+        // When
+        engine.deliver(emailChannel, "NOTIF-123");
+
+        // Then
+        assertEquals(0, emailChannel.delivered);
+        verify(notificationRepository, never()).findByNotificationId(anyString());
+        verify(notificationRepository, never()).markSent(anyString(), anyString(), any());
+    }
+
+    // ========== SUBMIT ==========
+
+    @Test
+    void testSubmit_DeliveredByWorker() throws InterruptedException {
+        // Given
+        leaseGranted();
+        when(notificationRepository.findByNotificationId("NOTIF-123")).thenReturn(Optional.of(notification));
+        engine.start();
+
+        // When
+        engine.submit("NOTIF-123", NotificationType.EMAIL, NotificationPriority.URGENT);
+
+        // Then
+        assertTrue(emailChannel.done.await(5, TimeUnit.SECONDS));
+        verify(notificationRepository, timeout(5000).times(1))
+                .markSent(eq("NOTIF-123"), eq(engine.leaseOwner()), any(LocalDateTime.class));
+        assertEquals(1, meterRegistry.get("notification.dispatch.wait")
+                .tag("channel", "EMAIL").tag("priority", "URGENT").timer().count());
+    }
+
+    @Test
+    void testSubmit_QueueFull() {
+        // Given (workers not started, capacity 2 per lane)
+        engine.submit("NOTIF-1", NotificationType.EMAIL, NotificationPriority.LOW);
+        engine.submit("NOTIF-2", NotificationType.EMAIL, NotificationPriority.LOW);
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> engine.submit("NOTIF-3", NotificationType.EMAIL, NotificationPriority.LOW));
+
+        assertTrue(exception.getMessage().contains("queue is full"));
+        engine.submit("NOTIF-4", NotificationType.EMAIL, NotificationPriority.URGENT);
+        assertEquals(3, engine.queueDepth(NotificationType.EMAIL));
+        assertEquals(2.0, meterRegistry.get("notification.dispatch.queue.depth")
+                .tag("channel", "EMAIL").tag("priority", "LOW").gauge().value());
+    }
+
+    @Test
+    void testSubmit_SameNotificationQueuedOnce() {
+        // When
+        engine.submit("NOTIF-1", NotificationType.EMAIL, NotificationPriority.HIGH);
+        engine.submit("NOTIF-1", NotificationType.EMAIL, NotificationPriority.HIGH);
+
+        // Then
+        assertEquals(1, engine.queueDepth(NotificationType.EMAIL));
+    }
+
+    @Test
+    void testSubmit_NoChannelForType() {
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> engine.submit("NOTIF-123", NotificationType.SMS, NotificationPriority.HIGH));
+
+        assertTrue(exception.getMessage().contains("No delivery channel"));
+    }
+
+    // ========== CLAIM ==========
+
+    @Test
+    void testClaimPending_LeasesAndQueuesBatch() {
+        // Given
+        notification.setId(7L);
+        notification.setPriority(NotificationPriority.HIGH);
+        when(notificationRepository.claimablePending(any(LocalDateTime.class), eq(100))).thenReturn(List.of(notification));
+
+        // When
+        engine.claimPending();
+
+        // Then
+        verify(notificationRepository, times(1)).leaseAll(eq(List.of(7L)), eq(engine.leaseOwner()), any(LocalDateTime.class));
+        assertEquals(1, engine.queueDepth(NotificationType.EMAIL));
+    }
+
+    @Test
+    void testClaimPending_NothingToClaim() {
+        // Given
+        when(notificationRepository.claimablePending(any(LocalDateTime.class), eq(100))).thenReturn(List.of());
+
+        // When
+        engine.claimPending();
+
+        // Then
+        verify(notificationRepository, never()).leaseAll(any(), anyString(), any());
+        assertEquals(0, engine.queueDepth(NotificationType.EMAIL));
+    }
+
+    @Test
+    void testLeaseOwner_UniquePerInstance() {
+        // Given
+        NotificationDeliveryEngine other = new NotificationDeliveryEngine(notificationRepository, List.of(emailChannel),
+                new SimpleMeterRegistry(), 2, 1, Duration.ofSeconds(30), Duration.ofMinutes(5), 100, "test",
+                Duration.ofSeconds(30), Duration.ofHours(1));
+
+        // When & Then
+        assertTrue(engine.leaseOwner().startsWith("test-"));
+        assertNotEquals(engine.leaseOwner(), other.leaseOwner());
+    }
+
+    private void leaseGranted() {
+        when(notificationRepository.acquireLease(eq("NOTIF-123"), eq(engine.leaseOwner()), any(LocalDateTime.class),
+                any(LocalDateTime.class))).thenReturn(1);
+    }
+
+    private static final class FakeChannel implements NotificationChannel {
+        private final NotificationType type;
+        private final CountDownLatch done = new CountDownLatch(1);
+        private volatile int delivered;
+        private volatile RuntimeException failure;
+
+        FakeChannel(NotificationType type) {
+            this.type = type;
+        }
+
+        @Override
+        public NotificationType type() {
+            return type;
+        }
+
+        @Override
+        public void deliver(Notification notification) {
+            if (failure != null) {
+                throw failure;
+            }
+            delivered++;
+            done.countDown();
+        }
+    }
+}
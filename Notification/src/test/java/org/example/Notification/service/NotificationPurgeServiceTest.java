@@ -0,0 +1,161 @@
+package org.example.Notification.service;
+
+import org.example.Notification.dto.response.PurgeProgressDto;
+import org.example.Notification.entity.Notification;
+import org.example.Notification.repository.NotificationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationPurgeServiceTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private NotificationArchiveService notificationArchiveService;
+
+    private NotificationPurgeService purgeService;
+    private LocalDateTime cutoff;
+
+    @BeforeEach
+    void setUp() {
+        purgeService = new NotificationPurgeService(notificationRepository, notificationArchiveService, 3, Duration.ZERO, 0);
+        cutoff = LocalDateTime.now().minusDays(30);
+    }
+
+    // ========== RUN ==========
+
+    @Test
+    void testRun_DeletesContiguousChunksByRange() {
+        // Given
+        when(notificationRepository.findExpiredIds(cutoff, 3))
+                .thenReturn(List.of(1L, 2L, 3L), List.of(4L, 6L), List.of());
+        when(notificationRepository.deleteExpiredInRange(1L, 3L, cutoff)).thenReturn(3);
+        when(notificationRepository.deleteExpiredInRange(4L, 6L, cutoff)).thenReturn(2);
+
+        // When
+        purgeService.run(cutoff);
+
+        // Then
+        PurgeProgressDto progress = purgeService.progress();
+        assertEquals("COMPLETED", progress.getState());
+        assertEquals(5, progress.getDeletedRows());
+        assertEquals(2, progress.getChunks());
+        assertEquals(cutoff, progress.getCutoff());
+        assertNotNull(progress.getFinishedAt());
+        verify(notificationRepository, never()).deleteExpiredByIds(any(), any());
+    }
+
+    @Test
+    void testRun_SparseChunkDeletedById() {
+        // Given
+        List<Long> sparse = List.of(10L, 500L, 90_000L);
+        when(notificationRepository.findExpiredIds(cutoff, 3)).thenReturn(sparse, List.of());
+        when(notificationRepository.deleteExpiredByIds(sparse, cutoff)).thenReturn(3);
+
+        // When
+        purgeService.run(cutoff);
+
+        // Then
+        assertEquals(3, purgeService.progress().getDeletedRows());
+        verify(notificationRepository, never()).deleteExpiredInRange(anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void testRun_FailureReported() {
+        // Given
+        when(notificationRepository.findExpiredIds(cutoff, 3)).thenReturn(List.of(1L));
+        when(notificationRepository.deleteExpiredInRange(eq(1L), eq(1L), any()))
+                .thenThrow(new RuntimeException("lock timeout"));
+
+        // When
+        purgeService.run(cutoff);
+
+        // Then
+        PurgeProgressDto progress = purgeService.progress();
+        assertEquals("FAILED", progress.getState());
+        assertEquals("lock timeout", progress.getError());
+    }
+
+    @Test
+    void testRun_ArchivalModeArchivesBeforeDeletingExactIds() {
+        // Given
+        Notification expired = new Notification();
+        expired.setId(1L);
+        when(notificationArchiveService.isEnabled()).thenReturn(true);
+        when(notificationRepository.findExpiredIds(cutoff, 3)).thenReturn(List.of(1L, 2L), List.of());
+        when(notificationRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(expired));
+        when(notificationRepository.deleteExpiredByIds(List.of(1L, 2L), cutoff)).thenReturn(2);
+
+        // When
+        purgeService.run(cutoff);
+
+        // Then
+        InOrder inOrder = inOrder(notificationArchiveService, notificationRepository);
+        inOrder.verify(notificationArchiveService).archive(List.of(expired));
+        inOrder.verify(notificationRepository).deleteExpiredByIds(List.of(1L, 2L), cutoff);
+        verify(notificationRepository, never()).deleteExpiredInRange(anyLong(), anyLong(), any());
+        assertEquals(2, purgeService.progress().getDeletedRows());
+    }
+
+    @Test
+    void testRun_ArchiveFailureKeepsRows() {
+        // Given
+        when(notificationArchiveService.isEnabled()).thenReturn(true);
+        when(notificationRepository.findExpiredIds(cutoff, 3)).thenReturn(List.of(1L));
+        when(notificationRepository.findAllById(List.of(1L))).thenReturn(List.of(new Notification()));
+        doThrow(new RuntimeException("disk full")).when(notificationArchiveService).archive(any());
+
+        // When
+        purgeService.run(cutoff);
+
+        // Then
+        assertEquals("FAILED", purgeService.progress().getState());
+        verify(notificationRepository, never()).deleteExpiredByIds(any(), any());
+    }
+
+    @Test
+    void testProgress_IdleBeforeFirstRun() {
+        // When
+        PurgeProgressDto progress = purgeService.progress();
+
+        // Then
+        assertEquals("IDLE", progress.getState());
+        assertEquals(0, progress.getDeletedRows());
+        assertNull(progress.getStartedAt());
+    }
+
+    // ========== START ==========
+
+    @Test
+    void testStart_RunsInBackground() throws InterruptedException {
+        // Given
+        when(notificationRepository.findExpiredIds(cutoff, 3)).thenReturn(List.of(7L), List.of());
+        when(notificationRepository.deleteExpiredInRange(7L, 7L, cutoff)).thenReturn(1);
+
+        // When
+        assertTrue(purgeService.start(cutoff));
+
+        // Then
+        for (int i = 0; i < 100 && !"COMPLETED".equals(purgeService.progress().getState()); i++) {
+            Thread.sleep(20);
+        }
+        assertEquals("COMPLETED", purgeService.progress().getState());
+        assertEquals(1, purgeService.progress().getDeletedRows());
+    }
+}
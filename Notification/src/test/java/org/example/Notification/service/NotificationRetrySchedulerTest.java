@@ -0,0 +1,86 @@
+package org.example.Notification.service;
+
+import org.example.Notification.entity.Notification;
+import org.example.Notification.enums.NotificationPriority;
+import org.example.Notification.enums.NotificationStatus;
+import org.example.Notification.enums.NotificationType;
+import org.example.Notification.repository.NotificationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationRetrySchedulerTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private NotificationDeliveryEngine notificationDeliveryEngine;
+
+    private NotificationRetryScheduler retryScheduler;
+    private Notification notification;
+
+    @BeforeEach
+    void setUp() {
+        retryScheduler = new NotificationRetryScheduler(notificationRepository, notificationDeliveryEngine, 50);
+
+        notification = new Notification();
+        notification.setId(9L);
+        notification.setNotificationId("NOTIF-123");
+        notification.setNotificationType(NotificationType.SMS);
+        notification.setPriority(NotificationPriority.HIGH);
+        notification.setStatus(NotificationStatus.FAILED);
+    }
+
+    // ========== RETRY DUE ==========
+
+    @Test
+    void testRetryDue_ResetsAndQueuesBatch() {
+        // Given
+        when(notificationRepository.claimDueRetries(any(LocalDateTime.class), eq(50))).thenReturn(List.of(notification));
+
+        // When
+        retryScheduler.retryDue();
+
+        // Then
+        verify(notificationRepository, times(1)).retryAll(List.of(9L));
+        verify(notificationDeliveryEngine, times(1)).submit("NOTIF-123", NotificationType.SMS, NotificationPriority.HIGH);
+    }
+
+    @Test
+    void testRetryDue_NothingDue() {
+        // Given
+        when(notificationRepository.claimDueRetries(any(LocalDateTime.class), eq(50))).thenReturn(List.of());
+
+        // When
+        retryScheduler.retryDue();
+
+        // Then
+        verify(notificationRepository, never()).retryAll(any());
+        verifyNoInteractions(notificationDeliveryEngine);
+    }
+
+    @Test
+    void testRetryDue_QueueFullLeavesRowPending() {
+        // Given
+        when(notificationRepository.claimDueRetries(any(LocalDateTime.class), eq(50))).thenReturn(List.of(notification));
+        doThrow(new RuntimeException("SMS HIGH delivery queue is full, try again later"))
+                .when(notificationDeliveryEngine).submit(any(), any(), any());
+
+        // When
+        retryScheduler.retryDue();
+
+        // Then
+        verify(notificationRepository, times(1)).retryAll(List.of(9L));
+    }
+}
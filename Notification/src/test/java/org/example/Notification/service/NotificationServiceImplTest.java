@@ -6,31 +6,43 @@ import org.example.Notification.client.TransactionClient;
 import org.example.Notification.dto.request.NotificationCreateDto;
 import org.example.Notification.dto.request.NotificationUpdateDto;
 import org.example.Notification.dto.response.NotificationDto;
+import org.example.Notification.dto.response.NotificationPageDto;
 import org.example.Notification.dto.response.NotificationStatusDto;
+import org.example.Notification.dto.response.PurgeProgressDto;
 import org.example.Notification.entity.Notification;
+import org.example.Notification.entity.TransactionSnapshot;
 import org.example.Notification.enums.NotificationStatus;
 import org.example.Notification.enums.NotificationType;
 import org.example.Notification.enums.NotificationPriority;
 import org.example.Notification.enums.TriggerEvent;
 import org.example.Notification.repository.NotificationRepository;
+import org.example.Notification.repository.RecipientCounterRepository;
+import org.example.Notification.repository.TransactionSnapshotRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -45,6 +57,24 @@ class NotificationServiceImplTest {
     @Mock
     private AccountClient accountClient;
 
+    @Mock
+    private TransactionSnapshotRepository transactionSnapshotRepository;
+
+    @Mock
+    private NotificationDeliveryEngine notificationDeliveryEngine;
+
+    @Mock
+    private ScheduledNotificationDispatcher scheduledNotificationDispatcher;
+
+    @Mock
+    private NotificationPurgeService notificationPurgeService;
+
+    @Mock
+    private NotificationArchiveService notificationArchiveService;
+
+    @Mock
+    private RecipientCounterRepository recipientCounterRepository;
+
     @InjectMocks
     private NotificationServiceImpl notificationService;
 
@@ -150,6 +180,20 @@ class NotificationServiceImplTest {
         assertTrue(exception.getMessage().contains("Error communicating with Transaction service"));
     }
 
+    @Test
+    void testCreateNotificationForTransaction_FromSnapshot() {
+        // Given
+        when(transactionSnapshotRepository.findById("TXN-123")).thenReturn(Optional.of(new TransactionSnapshot("TXN-123")));
+        when(notificationRepository.save(any(Notification.class))).thenReturn(notification);
+
+        // When
+        NotificationDto result = notificationService.createNotificationForTransaction("TXN-123", notificationCreateDto);
+
+        // Then
+        assertNotNull(result);
+        verifyNoInteractions(transactionClient);
+    }
+
     // ========== CREATE FOR ACCOUNT ==========
 
     @Test
@@ -241,6 +285,43 @@ class NotificationServiceImplTest {
         assertTrue(exception.getMessage().contains("Error communicating with Transaction service"));
     }
 
+    @Test
+    void testCalculateFeesAndNotify_FromSnapshot() {
+        // Given
+        TransactionSnapshot snapshot = new TransactionSnapshot("TXN-123");
+        snapshot.setFee(new BigDecimal("2.50"));
+        when(transactionSnapshotRepository.findById("TXN-123")).thenReturn(Optional.of(snapshot));
+
+        notification.setNotificationType(NotificationType.EMAIL);
+        when(notificationRepository.save(any(Notification.class))).thenReturn(notification);
+        when(notificationRepository.findByNotificationId(anyString())).thenReturn(Optional.of(notification));
+
+        // When
+        String result = notificationService.calculateFeesAndNotify("TXN-123", notificationCreateDto);
+
+        // Then
+        assertTrue(result.contains("Calculated fees: 2.50"));
+        verifyNoInteractions(transactionClient);
+    }
+
+    @Test
+    void testCalculateFeesAndNotify_SnapshotWithoutFeeFallsBackToTransactionService() {
+        // Given
+        when(transactionSnapshotRepository.findById("TXN-123")).thenReturn(Optional.of(new TransactionSnapshot("TXN-123")));
+        when(transactionClient.calculateFees("TXN-123")).thenReturn(ResponseEntity.ok("Fee: $5.00"));
+
+        notification.setNotificationType(NotificationType.EMAIL);
+        when(notificationRepository.save(any(Notification.class))).thenReturn(notification);
+        when(notificationRepository.findByNotificationId(anyString())).thenReturn(Optional.of(notification));
+
+        // When
+        String result = notificationService.calculateFeesAndNotify("TXN-123", notificationCreateDto);
+
+        // Then
+        assertTrue(result.contains("Fee: $5.00"));
+        verify(transactionClient, times(1)).calculateFees("TXN-123");
+    }
+
     // ========== FRAUD CHECK AND NOTIFY ==========
 
     @Test
@@ -288,6 +369,26 @@ class NotificationServiceImplTest {
         assertTrue(exception.getMessage().contains("Error communicating with Transaction service"));
     }
 
+    @Test
+    void testCheckFraudAndNotify_FromSnapshot() {
+        // Given
+        TransactionSnapshot snapshot = new TransactionSnapshot("TXN-123");
+        snapshot.setRiskScore(new BigDecimal("0.85"));
+        when(transactionSnapshotRepository.findById("TXN-123")).thenReturn(Optional.of(snapshot));
+
+        notification.setNotificationType(NotificationType.EMAIL);
+        when(notificationRepository.save(any(Notification.class))).thenReturn(notification);
+        when(notificationRepository.findByNotificationId(anyString())).thenReturn(Optional.of(notification));
+
+        // When
+        String result = notificationService.checkFraudAndNotify("TXN-123", notificationCreateDto);
+
+        // Then
+        assertTrue(result.contains("0.85"));
+        verifyNoInteractions(transactionClient);
+        verify(notificationRepository).save(argThat(saved -> saved.getPriority() == NotificationPriority.URGENT));
+    }
+
     // ========== FETCH NOTIFICATION ==========
 
     @Test
@@ -341,32 +442,41 @@ class NotificationServiceImplTest {
     @Test
     void testDeleteExpiredNotifications_Success() {
         // Given
-        LocalDateTime cutoffDate = LocalDateTime.now().minusDays(30);
-        List<Notification> oldNotifications = Arrays.asList(notification);
-        when(notificationRepository.findByCreatedAtBefore(any(LocalDateTime.class)))
-                .thenReturn(oldNotifications);
-        doNothing().when(notificationRepository).deleteOldNotifications(any(LocalDateTime.class));
+        when(notificationRepository.existsByCreatedAtBefore(any(LocalDateTime.class))).thenReturn(true);
 
         // When
         boolean result = notificationService.deleteExpiredNotifications(30);
 
         // Then
         assertTrue(result);
-        verify(notificationRepository, times(1)).deleteOldNotifications(any(LocalDateTime.class));
+        verify(notificationPurgeService, times(1)).start(any(LocalDateTime.class));
     }
 
     @Test
     void testDeleteExpiredNotifications_NoExpiredNotifications() {
         // Given
-        when(notificationRepository.findByCreatedAtBefore(any(LocalDateTime.class)))
-                .thenReturn(Collections.emptyList());
+        when(notificationRepository.existsByCreatedAtBefore(any(LocalDateTime.class))).thenReturn(false);
 
         // When
         boolean result = notificationService.deleteExpiredNotifications(30);
 
         // Then
         assertFalse(result);
-        verify(notificationRepository, never()).deleteOldNotifications(any(LocalDateTime.class));
+        verify(notificationPurgeService, never()).start(any(LocalDateTime.class));
+    }
+
+    @Test
+    void testGetPurgeProgress() {
+        // Given
+        PurgeProgressDto progress = new PurgeProgressDto();
+        progress.setState("RUNNING");
+        when(notificationPurgeService.progress()).thenReturn(progress);
+
+        // When
+        PurgeProgressDto result = notificationService.getPurgeProgress();
+
+        // Then
+        assertEquals("RUNNING", result.getState());
     }
 
     // ========== RESEND FAILED ==========
@@ -377,6 +487,7 @@ class NotificationServiceImplTest {
         notification.setStatus(NotificationStatus.FAILED);
         notification.setRetryCount(1);
         notification.setMaxRetries(3);
+        notification.setNextAttemptAt(LocalDateTime.now().plusMinutes(5));
         when(notificationRepository.findByNotificationId("NOTIF-123"))
                 .thenReturn(Optional.of(notification));
         when(notificationRepository.save(any(Notification.class)))
@@ -388,6 +499,7 @@ class NotificationServiceImplTest {
         // Then
         assertTrue(result.contains("resent successfully"));
         assertEquals(NotificationStatus.PENDING, notification.getStatus());
+        assertNull(notification.getNextAttemptAt());
         verify(notificationRepository, times(1)).save(notification);
     }
 
@@ -435,6 +547,7 @@ class NotificationServiceImplTest {
         // Then
         assertNotNull(result);
         verify(notificationRepository, times(1)).save(any(Notification.class));
+        verify(scheduledNotificationDispatcher, times(1)).track(notification);
     }
 
     @Test
@@ -470,15 +583,31 @@ class NotificationServiceImplTest {
         notification.setRecipientPhone("+40721234567");
         when(notificationRepository.findByNotificationId("NOTIF-123"))
                 .thenReturn(Optional.of(notification));
-        when(notificationRepository.save(any(Notification.class)))
-                .thenReturn(notification);
 
         // When
         String result = notificationService.sendSmsNotification("NOTIF-123");
 
         // Then
-        assertTrue(result.contains("SMS sent successfully"));
-        assertEquals(NotificationStatus.SENT, notification.getStatus());
+        assertTrue(result.contains("SMS queued for delivery"));
+        assertEquals(NotificationStatus.PENDING, notification.getStatus());
+        verify(notificationDeliveryEngine, times(1)).submit("NOTIF-123", NotificationType.SMS, NotificationPriority.HIGH);
+        verify(notificationRepository, never()).save(any(Notification.class));
+    }
+
+    @Test
+    void testSendSmsNotification_NotPending() {
+        // Given
+        notification.setNotificationType(NotificationType.SMS);
+        notification.setStatus(NotificationStatus.SENT);
+        when(notificationRepository.findByNotificationId("NOTIF-123"))
+                .thenReturn(Optional.of(notification));
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> notificationService.sendSmsNotification("NOTIF-123"));
+
+        assertTrue(exception.getMessage().contains("cannot be sent"));
+        verifyNoInteractions(notificationDeliveryEngine);
     }
 
     @Test
@@ -519,15 +648,15 @@ class NotificationServiceImplTest {
         notification.setRecipientEmail("test@example.com");
         when(notificationRepository.findByNotificationId("NOTIF-123"))
                 .thenReturn(Optional.of(notification));
-        when(notificationRepository.save(any(Notification.class)))
-                .thenReturn(notification);
 
         // When
         String result = notificationService.sendEmailNotification("NOTIF-123");
 
         // Then
-        assertTrue(result.contains("Email sent successfully"));
-        assertEquals(NotificationStatus.SENT, notification.getStatus());
+        assertTrue(result.contains("Email queued for delivery"));
+        assertEquals(NotificationStatus.PENDING, notification.getStatus());
+        verify(notificationDeliveryEngine, times(1)).submit("NOTIF-123", NotificationType.EMAIL, NotificationPriority.HIGH);
+        verify(notificationRepository, never()).save(any(Notification.class));
     }
 
     @Test
@@ -565,6 +694,40 @@ class NotificationServiceImplTest {
     void testMarkAsRead_Success() {
         // Given
         notification.setStatus(NotificationStatus.SENT);
+        when(notificationRepository.findByNotificationId("NOTIF-123"))
+                .thenReturn(Optional.of(notification));
+        when(notificationRepository.markRead("NOTIF-123", NotificationStatus.SENT))
+                .thenReturn(1);
+
+        // When
+        String result = notificationService.markAsRead("NOTIF-123");
+
+        // Then
+        assertTrue(result.contains("marked as read successfully"));
+        verify(recipientCounterRepository, times(1)).adjustUnread(123L, -1);
+        verify(notificationRepository, never()).save(any(Notification.class));
+    }
+
+    @Test
+    void testMarkAsRead_ReadConcurrently_DoesNotDecrementTwice() {
+        // Given
+        notification.setStatus(NotificationStatus.SENT);
+        when(notificationRepository.findByNotificationId("NOTIF-123"))
+                .thenReturn(Optional.of(notification));
+        when(notificationRepository.markRead("NOTIF-123", NotificationStatus.SENT))
+                .thenReturn(0);
+
+        // When
+        String result = notificationService.markAsRead("NOTIF-123");
+
+        // Then
+        assertTrue(result.contains("already marked as read"));
+        verify(recipientCounterRepository, never()).adjustUnread(anyLong(), anyLong());
+    }
+
+    @Test
+    void testMarkAsRead_Pending_LeavesCounterAlone() {
+        // Given
         when(notificationRepository.findByNotificationId("NOTIF-123"))
                 .thenReturn(Optional.of(notification));
         when(notificationRepository.save(any(Notification.class)))
@@ -576,6 +739,7 @@ class NotificationServiceImplTest {
         // Then
         assertTrue(result.contains("marked as read successfully"));
         assertEquals(NotificationStatus.READ, notification.getStatus());
+        verify(recipientCounterRepository, never()).adjustUnread(anyLong(), anyLong());
     }
 
     @Test
@@ -615,7 +779,7 @@ class NotificationServiceImplTest {
     void testGetNotificationHistory_Success() {
         // Given
         List<Notification> notifications = Arrays.asList(notification);
-        when(notificationRepository.findByRecipientId(123L))
+        when(notificationRepository.findByRecipientIdOrderByCreatedAtDescIdDesc(123L))
                 .thenReturn(notifications);
 
         // When
@@ -624,13 +788,35 @@ class NotificationServiceImplTest {
         // Then
         assertNotNull(result);
         assertEquals(1, result.size());
-        verify(notificationRepository, times(1)).findByRecipientId(123L);
+        verify(notificationRepository, times(1)).findByRecipientIdOrderByCreatedAtDescIdDesc(123L);
+    }
+
+    @Test
+    void testGetNotificationHistory_MergesArchiveNewestFirst() {
+        // Given
+        notification.setCreatedAt(LocalDateTime.now().minusDays(1));
+        Notification archived = new Notification();
+        archived.setNotificationId("NOTIF-OLD");
+        archived.setCreatedAt(LocalDateTime.now().minusDays(90));
+        Notification archivedCopy = new Notification();
+        archivedCopy.setNotificationId(notification.getNotificationId());
+        archivedCopy.setCreatedAt(notification.getCreatedAt());
+        when(notificationRepository.findByRecipientIdOrderByCreatedAtDescIdDesc(123L)).thenReturn(List.of(notification));
+        when(notificationArchiveService.findByRecipient(123L, null, null)).thenReturn(List.of(archived, archivedCopy));
+
+        // When
+        List<NotificationDto> result = notificationService.getNotificationHistory(123L);
+
+        // Then
+        assertEquals(2, result.size());
+        assertEquals(notification.getNotificationId(), result.get(0).getNotificationId());
+        assertEquals("NOTIF-OLD", result.get(1).getNotificationId());
     }
 
     @Test
     void testGetNotificationHistory_Empty() {
         // Given
-        when(notificationRepository.findByRecipientId(999L))
+        when(notificationRepository.findByRecipientIdOrderByCreatedAtDescIdDesc(999L))
                 .thenReturn(Collections.emptyList());
 
         // When
@@ -640,4 +826,131 @@ class NotificationServiceImplTest {
         assertNotNull(result);
         assertTrue(result.isEmpty());
     }
-}
\ No newline at end of file
+
+    // ========== HISTORY PAGES ==========
+
+    private Notification historyRow(long id, LocalDateTime createdAt) {
+        Notification row = new Notification();
+        row.setId(id);
+        row.setNotificationId("NOTIF-" + id);
+        row.setRecipientId(123L);
+        row.setNotificationType(NotificationType.PUSH);
+        row.setStatus(NotificationStatus.SENT);
+        row.setCreatedAt(createdAt);
+        return row;
+    }
+
+    @Test
+    void testGetNotificationHistoryPage_FirstPage_ReturnsCursorWhenMoreRemain() {
+        // Given
+        LocalDateTime now = LocalDateTime.of(2026, 3, 1, 12, 0);
+        when(notificationRepository.findHistoryPage(eq(123L), any(LocalDateTime.class), eq(Long.MAX_VALUE),
+                argThat((Pageable page) -> page.getPageSize() == 3)))
+                .thenReturn(List.of(historyRow(9, now), historyRow(8, now), historyRow(7, now.minusMinutes(1))));
+
+        // When
+        NotificationPageDto page = notificationService.getNotificationHistoryPage(123L, null, null, 2);
+
+        // Then
+        assertEquals(List.of("NOTIF-9", "NOTIF-8"),
+                page.getItems().stream().map(NotificationDto::getNotificationId).toList());
+        assertNotNull(page.getNextCursor());
+        NotificationServiceImpl.HistoryCursor cursor = NotificationServiceImpl.HistoryCursor.decode(page.getNextCursor());
+        assertEquals(now, cursor.createdAt());
+        assertEquals(8L, cursor.id());
+    }
+
+    @Test
+    void testGetNotificationHistoryPage_Cursor_ContinuesAfterLastItemAndMergesArchive() {
+        // Given
+        LocalDateTime now = LocalDateTime.of(2026, 3, 1, 12, 0);
+        String cursor = new NotificationServiceImpl.HistoryCursor(now, 8L).encode();
+        Notification archived = historyRow(2, now.minusDays(60));
+        when(notificationRepository.findHistoryPage(eq(123L), eq(now), eq(8L), any(Pageable.class)))
+                .thenReturn(List.of(historyRow(7, now.minusMinutes(1))));
+        when(notificationArchiveService.findNewestBefore(eq(123L), eq(now), eq(8L), any(), eq(21)))
+                .thenReturn(List.of(archived));
+
+        // When
+        NotificationPageDto page = notificationService.getNotificationHistoryPage(123L, null, cursor, 20);
+
+        // Then
+        assertEquals(List.of("NOTIF-7", "NOTIF-2"),
+                page.getItems().stream().map(NotificationDto::getNotificationId).toList());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testGetNotificationHistoryPage_StatusFilter_UsesFilteredQuery() {
+        // Given
+        List<NotificationStatus> statuses = List.of(NotificationStatus.SENT);
+        Notification archivedRead = historyRow(1, LocalDateTime.now().minusDays(60));
+        archivedRead.setStatus(NotificationStatus.READ);
+        when(notificationRepository.findHistoryPageByStatus(eq(123L), eq(statuses), any(LocalDateTime.class),
+                anyLong(), any(Pageable.class)))
+                .thenReturn(List.of(historyRow(5, LocalDateTime.now())));
+        when(notificationArchiveService.findNewestBefore(eq(123L), any(LocalDateTime.class), anyLong(),
+                argThat(filter -> !filter.test(archivedRead)), eq(21)))
+                .thenReturn(List.of());
+
+        // When
+        NotificationPageDto page = notificationService.getNotificationHistoryPage(123L, statuses, null, 20);
+
+        // Then
+        assertEquals(1, page.getItems().size());
+        assertEquals("NOTIF-5", page.getItems().get(0).getNotificationId());
+        verify(notificationRepository, never()).findHistoryPage(anyLong(), any(), anyLong(), any());
+    }
+
+    @Test
+    void testGetNotificationHistoryPage_LimitIsCapped() {
+        // When
+        notificationService.getNotificationHistoryPage(123L, null, null, 10_000);
+
+        // Then
+        verify(notificationRepository).findHistoryPage(eq(123L), any(LocalDateTime.class), anyLong(),
+                argThat((Pageable page) -> page.getPageSize() == NotificationServiceImpl.MAX_HISTORY_PAGE_SIZE + 1));
+    }
+
+    @Test
+    void testGetNotificationHistoryPage_InvalidCursor_Returns400() {
+        // When & Then
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> notificationService.getNotificationHistoryPage(123L, null, "not-a-cursor", 20));
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        assertTrue(exception.getMessage().contains("Invalid history cursor"));
+        verify(notificationRepository, never()).findHistoryPage(anyLong(), any(), anyLong(), any());
+    }
+
+    @Test
+    void testGetNotificationHistoryPage_TamperedCursor_Returns400() {
+        // Given (well-formed Base64, but the id is not a number)
+        String tampered = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("2026-03-01T12:00|8x".getBytes(StandardCharsets.UTF_8));
+
+        // When & Then
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> notificationService.getNotificationHistoryPage(123L, null, tampered, 20));
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+    }
+
+    // ========== UNREAD COUNT ==========
+
+    @Test
+    void testGetUnreadCount_ReadsCounter() {
+        // Given
+        when(recipientCounterRepository.findUnreadCount(123L)).thenReturn(Optional.of(4L));
+
+        // When & Then
+        assertEquals(4L, notificationService.getUnreadCount(123L));
+    }
+
+    @Test
+    void testGetUnreadCount_UnknownRecipient_IsZero() {
+        // Given
+        when(recipientCounterRepository.findUnreadCount(999L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertEquals(0L, notificationService.getUnreadCount(999L));
+    }
+}
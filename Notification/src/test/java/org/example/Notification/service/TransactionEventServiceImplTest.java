@@ -0,0 +1,151 @@
+package org.example.Notification.service;
+
+import org.example.Notification.dto.request.TransactionEventDto;
+import org.example.Notification.entity.TransactionSnapshot;
+import org.example.Notification.enums.TransactionEventType;
+import org.example.Notification.repository.TransactionSnapshotRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionEventServiceImplTest {
+
+    @Mock
+    private TransactionSnapshotRepository transactionSnapshotRepository;
+
+    @InjectMocks
+    private TransactionEventServiceImpl transactionEventService;
+
+    // ========== NEW SNAPSHOTS ==========
+
+    @Test
+    void testApplyTransactionEvents_CreatesSnapshotInEventOrder() {
+        // Given
+        when(transactionSnapshotRepository.findAllById(anyIterable())).thenReturn(Collections.emptyList());
+        TransactionEventDto completed = event(2L, TransactionEventType.TRANSACTION_COMPLETED, "TXN-1", "COMPLETED");
+        TransactionEventDto posted = event(1L, TransactionEventType.TRANSACTION_POSTED, "TXN-1", "PENDING");
+        posted.setFee(new BigDecimal("1.23"));
+        completed.setFee(new BigDecimal("1.23"));
+
+        // When
+        int applied = transactionEventService.applyTransactionEvents(List.of(completed, posted));
+
+        // Then
+        assertEquals(2, applied);
+        TransactionSnapshot snapshot = savedSnapshots().get(0);
+        assertEquals("COMPLETED", snapshot.getStatus());
+        assertEquals(2L, snapshot.getLastVersion());
+        assertEquals(new BigDecimal("1.23"), snapshot.getFee());
+    }
+
+    @Test
+    void testApplyTransactionEvents_OrdersByVersionNotOutboxId() {
+        // Given
+        when(transactionSnapshotRepository.findAllById(anyIterable())).thenReturn(Collections.emptyList());
+        TransactionEventDto posted = event(1L, TransactionEventType.TRANSACTION_POSTED, "TXN-1", "PENDING");
+        posted.setEventId(900L);
+        TransactionEventDto updated = event(2L, TransactionEventType.TRANSACTION_UPDATED, "TXN-1", "PENDING");
+        updated.setEventId(50L);
+        updated.setAmount(new BigDecimal("20.00"));
+
+        // When
+        int applied = transactionEventService.applyTransactionEvents(List.of(updated, posted));
+
+        // Then
+        assertEquals(2, applied);
+        TransactionSnapshot snapshot = savedSnapshots().get(0);
+        assertEquals(new BigDecimal("20.00"), snapshot.getAmount());
+        assertEquals(2L, snapshot.getLastVersion());
+        assertEquals(50L, snapshot.getLastEventId());
+    }
+
+    // ========== REDELIVERY ==========
+
+    @Test
+    void testApplyTransactionEvents_SkipsAlreadyAppliedEvents() {
+        // Given
+        TransactionSnapshot existing = new TransactionSnapshot("TXN-1");
+        existing.setStatus("COMPLETED");
+        existing.setLastVersion(5L);
+        when(transactionSnapshotRepository.findAllById(anyIterable())).thenReturn(List.of(existing));
+
+        // When
+        int applied = transactionEventService.applyTransactionEvents(List.of(
+                event(4L, TransactionEventType.TRANSACTION_POSTED, "TXN-1", "PENDING"),
+                event(5L, TransactionEventType.TRANSACTION_COMPLETED, "TXN-1", "COMPLETED")));
+
+        // Then
+        assertEquals(0, applied);
+        assertEquals("COMPLETED", existing.getStatus());
+        assertEquals(5L, existing.getLastVersion());
+    }
+
+    @Test
+    void testApplyTransactionEvents_FraudFlagAppliedOutOfOrder() {
+        // Given
+        TransactionSnapshot existing = new TransactionSnapshot("TXN-1");
+        existing.setStatus("COMPLETED");
+        existing.setLastVersion(9L);
+        when(transactionSnapshotRepository.findAllById(anyIterable())).thenReturn(List.of(existing));
+        TransactionEventDto flagged = event(3L, TransactionEventType.FRAUD_FLAGGED, "TXN-1", "PENDING");
+        flagged.setRiskScore(new BigDecimal("0.90"));
+
+        // When
+        int first = transactionEventService.applyTransactionEvents(List.of(flagged));
+        int second = transactionEventService.applyTransactionEvents(List.of(flagged));
+
+        // Then
+        assertEquals(1, first);
+        assertEquals(0, second);
+        assertTrue(existing.isFraudFlagged());
+        assertEquals("COMPLETED", existing.getStatus());
+        assertEquals(new BigDecimal("0.90"), existing.getRiskScore());
+    }
+
+    // ========== BATCHING ==========
+
+    @Test
+    void testApplyTransactionEvents_LoadsAndSavesBatchOnce() {
+        // Given
+        when(transactionSnapshotRepository.findAllById(anyIterable())).thenReturn(Collections.emptyList());
+
+        // When
+        transactionEventService.applyTransactionEvents(List.of(
+                event(1L, TransactionEventType.TRANSACTION_POSTED, "TXN-1", "PENDING"),
+                event(2L, TransactionEventType.TRANSACTION_POSTED, "TXN-2", "PENDING"),
+                event(3L, TransactionEventType.TRANSACTION_FAILED, "TXN-1", "FAILED")));
+
+        // Then
+        verify(transactionSnapshotRepository, times(1)).findAllById(anyIterable());
+        List<TransactionSnapshot> saved = savedSnapshots();
+        assertEquals(2, saved.size());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<TransactionSnapshot> savedSnapshots() {
+        ArgumentCaptor<Collection<TransactionSnapshot>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(transactionSnapshotRepository).saveAll(captor.capture());
+        return new ArrayList<>(captor.getValue());
+    }
+
+    // the outbox id follows the version unless a test sets it explicitly
+    private static TransactionEventDto event(Long version, TransactionEventType type, String transactionId, String status) {
+        TransactionEventDto event = new TransactionEventDto(version, type, transactionId, status);
+        event.setVersion(version);
+        return event;
+    }
+}
@@ -0,0 +1,61 @@
+package org.example.Notification.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExponentialBackoffTest {
+
+    private static final Duration BASE = Duration.ofSeconds(30);
+    private static final Duration MAX = Duration.ofHours(1);
+
+    // ========== CEILING ==========
+
+    @Test
+    void testCeiling_DoublesPerRetryUpToCap() {
+        // Given
+        ExponentialBackoff backoff = new ExponentialBackoff(BASE, MAX, () -> 0.5);
+
+        // When & Then
+        assertEquals(30_000L, backoff.ceiling(0));
+        assertEquals(60_000L, backoff.ceiling(1));
+        assertEquals(1_920_000L, backoff.ceiling(6));
+        assertEquals(3_600_000L, backoff.ceiling(7));
+        assertEquals(3_600_000L, backoff.ceiling(500));
+    }
+
+    // ========== DELAY ==========
+
+    @Test
+    void testDelay_FullJitterSpansWholeWindow() {
+        // Given
+        ExponentialBackoff lowest = new ExponentialBackoff(BASE, MAX, () -> 0.0);
+        ExponentialBackoff highest = new ExponentialBackoff(BASE, MAX, () -> 0.999);
+
+        // When & Then
+        assertEquals(Duration.ZERO, lowest.delay(3));
+        assertEquals(Duration.ofMillis(239_760), highest.delay(3));
+    }
+
+    @Test
+    void testDelay_RandomStaysWithinWindow() {
+        // Given
+        ExponentialBackoff backoff = new ExponentialBackoff(BASE, MAX);
+
+        // When & Then
+        for (int i = 0; i < 1_000; i++) {
+            Duration delay = backoff.delay(2);
+            assertFalse(delay.isNegative());
+            assertTrue(delay.compareTo(Duration.ofMinutes(2)) < 0);
+        }
+    }
+
+    @Test
+    void testConstructor_RejectsInvalidDelays() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> new ExponentialBackoff(Duration.ZERO, MAX));
+        assertThrows(IllegalArgumentException.class, () -> new ExponentialBackoff(MAX, BASE));
+    }
+}
@@ -0,0 +1,105 @@
+package org.example.Notification.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HierarchicalTimingWheelTest {
+
+    private static final long TICK = 1000L;
+    private static final long START = 1_000_000L * TICK;
+
+    // ========== ADD ==========
+
+    @Test
+    void testAdd_PastDeadlineFiresOnNextAdvance() {
+        // Given
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, 64, 4, START);
+        List<String> fired = new ArrayList<>();
+
+        // When
+        assertTrue(wheel.add("late", START - 5 * TICK));
+        wheel.advance(START, fired::add);
+
+        // Then
+        assertEquals(List.of("late"), fired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testAdd_BeyondHorizonRejected() {
+        // Given
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, 4, 2, START);
+
+        // When & Then
+        assertEquals(12 * TICK, wheel.horizonMillis());
+        assertFalse(wheel.add("too-far", START + 64 * TICK));
+        assertEquals(0, wheel.size());
+    }
+
+    // ========== ADVANCE ==========
+
+    @Test
+    void testAdvance_FiresNothingBeforeDeadline() {
+        // Given
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, 64, 4, START);
+        wheel.add("soon", START + 10 * TICK);
+        List<String> fired = new ArrayList<>();
+
+        // When
+        wheel.advance(START + 9 * TICK, fired::add);
+
+        // Then
+        assertTrue(fired.isEmpty());
+        assertEquals(1, wheel.size());
+    }
+
+    @Test
+    void testAdvance_CascadesHigherLevelsInDeadlineOrder() {
+        // Given (8-slot wheel, 3 levels: deadlines land on every level)
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(TICK, 8, 3, START);
+        long[] offsets = {400, 3, 70, 8, 1, 64, 9, 300, 447, 63};
+        for (long offset : offsets) {
+            assertTrue(wheel.add(offset, START + offset * TICK));
+        }
+        List<Long> fired = new ArrayList<>();
+        List<Long> firedAtTick = new ArrayList<>();
+
+        // When
+        for (long t = 1; t <= 450; t++) {
+            long now = t;
+            wheel.advance(START + t * TICK, offset -> {
+                fired.add(offset);
+                firedAtTick.add(now);
+            });
+        }
+
+        // Then
+        assertEquals(List.of(1L, 3L, 8L, 9L, 63L, 64L, 70L, 300L, 400L, 447L), fired);
+        assertEquals(fired, firedAtTick, "each timer fires on exactly its own tick");
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testAdvance_LargeJumpFiresEverythingDue() {
+        // Given
+        HierarchicalTimingWheel<Integer> wheel = new HierarchicalTimingWheel<>(TICK, 64, 4, START);
+        for (int i = 1; i <= 10_000; i++) {
+            wheel.add(i, START + (long) i * 37 * TICK);
+        }
+        List<Integer> fired = new ArrayList<>();
+
+        // When
+        wheel.advance(START + 5_000L * 37 * TICK, fired::add);
+
+        // Then
+        assertEquals(5_000, fired.size());
+        for (int i = 0; i < fired.size(); i++) {
+            assertEquals(i + 1, fired.get(i));
+        }
+        assertEquals(5_000, wheel.size());
+    }
+}
@@ -0,0 +1,113 @@
+package org.example.Notification.utils;
+
+import org.example.Notification.enums.NotificationPriority;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PriorityDispatchQueueTest {
+
+    private static final long MAX_WAIT = TimeUnit.SECONDS.toNanos(30);
+
+    private final AtomicLong clock = new AtomicLong();
+
+    // ========== WEIGHTED FAIR SCHEDULING ==========
+
+    @Test
+    void testTake_ServesLanesByWeight() throws InterruptedException {
+        // Given
+        PriorityDispatchQueue queue = new PriorityDispatchQueue(1000, MAX_WAIT, clock::get);
+        for (int i = 0; i < 100; i++) {
+            for (NotificationPriority priority : NotificationPriority.values()) {
+                queue.offer(priority.name() + "-" + i, priority);
+            }
+        }
+
+        // When
+        Map<NotificationPriority, Integer> served = new EnumMap<>(NotificationPriority.class);
+        for (int i = 0; i < 150; i++) {
+            served.merge(queue.take().priority(), 1, Integer::sum);
+        }
+
+        // Then
+        assertEquals(80, served.get(NotificationPriority.URGENT));
+        assertEquals(40, served.get(NotificationPriority.HIGH));
+        assertEquals(20, served.get(NotificationPriority.MEDIUM));
+        assertEquals(10, served.get(NotificationPriority.LOW));
+    }
+
+    @Test
+    void testTake_UrgentOvertakesQueuedLowEntries() throws InterruptedException {
+        // Given
+        PriorityDispatchQueue queue = new PriorityDispatchQueue(1000, MAX_WAIT, clock::get);
+        for (int i = 0; i < 500; i++) {
+            queue.offer("LOW-" + i, NotificationPriority.LOW);
+        }
+        queue.offer("FRAUD-ALERT", NotificationPriority.URGENT);
+
+        // When & Then
+        assertEquals("FRAUD-ALERT", queue.take().notificationId());
+        assertEquals("LOW-0", queue.take().notificationId());
+    }
+
+    @Test
+    void testTake_FifoWithinLane() throws InterruptedException {
+        // Given
+        PriorityDispatchQueue queue = new PriorityDispatchQueue(10, MAX_WAIT, clock::get);
+        queue.offer("A", NotificationPriority.HIGH);
+        queue.offer("B", NotificationPriority.HIGH);
+        queue.offer("C", NotificationPriority.HIGH);
+
+        // When & Then
+        assertEquals("A", queue.take().notificationId());
+        assertEquals("B", queue.take().notificationId());
+        assertEquals("C", queue.take().notificationId());
+    }
+
+    // ========== STARVATION PROTECTION ==========
+
+    @Test
+    void testTake_OverdueLowEntryServedFirst() throws InterruptedException {
+        // Given
+        PriorityDispatchQueue queue = new PriorityDispatchQueue(1000, MAX_WAIT, clock::get);
+        queue.offer("LOW-OLD", NotificationPriority.LOW);
+        clock.addAndGet(MAX_WAIT + 1);
+        for (int i = 0; i < 10; i++) {
+            queue.offer("URGENT-" + i, NotificationPriority.URGENT);
+        }
+
+        // When & Then
+        assertEquals("LOW-OLD", queue.take().notificationId());
+        assertEquals(NotificationPriority.URGENT, queue.take().priority());
+    }
+
+    // ========== CAPACITY ==========
+
+    @Test
+    void testOffer_RejectsWhenLaneFull() {
+        // Given
+        PriorityDispatchQueue queue = new PriorityDispatchQueue(2, MAX_WAIT, clock::get);
+        assertTrue(queue.offer("1", NotificationPriority.LOW));
+        assertTrue(queue.offer("2", NotificationPriority.LOW));
+
+        // When & Then
+        assertFalse(queue.offer("3", NotificationPriority.LOW));
+        assertTrue(queue.offer("4", NotificationPriority.URGENT));
+        assertEquals(2, queue.depth(NotificationPriority.LOW));
+        assertEquals(3, queue.size());
+    }
+
+    @Test
+    void testPoll_ReturnsNullWhenEmpty() throws InterruptedException {
+        // Given
+        PriorityDispatchQueue queue = new PriorityDispatchQueue(2, MAX_WAIT);
+
+        // When & Then
+        assertNull(queue.poll(10, TimeUnit.MILLISECONDS));
+    }
+}
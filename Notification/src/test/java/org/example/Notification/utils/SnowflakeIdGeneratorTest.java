@@ -0,0 +1,118 @@
+package org.example.Notification.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnowflakeIdGeneratorTest {
+
+    // ========== ORDERING TESTS ==========
+
+    @Test
+    void testNextId_StrictlyIncreasingOnOneNode() {
+        // Given
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(7);
+
+        // When
+        long previous = generator.nextId();
+        for (int i = 0; i < 100_000; i++) {
+            long current = generator.nextId();
+
+            // Then
+            assertTrue(current > previous, "Ids must be strictly increasing");
+            previous = current;
+        }
+    }
+
+    @Test
+    void testNextId_EncodesNodeId() {
+        // Given
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(513);
+
+        // When
+        long id = generator.nextId();
+
+        // Then
+        assertEquals(513, (id >>> 12) & 0x3FF);
+    }
+
+    @Test
+    void testNextId_ZeroPaddedStringsSortLikeIds() {
+        // Given
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1);
+        List<String> formatted = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < 1_000; i++) {
+            formatted.add(String.format("NOTIF-%019d", generator.nextId()));
+        }
+
+        // Then
+        List<String> sorted = new ArrayList<>(formatted);
+        sorted.sort(String::compareTo);
+        assertEquals(sorted, formatted);
+    }
+
+    // ========== CONCURRENCY TESTS ==========
+
+    @Test
+    void testNextId_UniqueAcrossThreads() throws Exception {
+        // Given
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(3);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // When
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 20_000; i++) {
+                    ids.add(generator.nextId());
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // Then
+        assertEquals(160_000, ids.size());
+    }
+
+    // ========== VALIDATION TESTS ==========
+
+    @Test
+    void testConstructor_RejectsOutOfRangeNode() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(1024));
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(-1));
+    }
+
+    @Test
+    void testNode_ReadFromEnvironment() {
+        // When & Then
+        assertEquals(Long.parseLong(System.getenv("ID_GENERATOR_NODE")), SnowflakeIdGenerator.node());
+    }
+
+    @Test
+    void testNext_StaticInstanceProducesDistinctIds() {
+        // When
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(SnowflakeIdGenerator.next());
+        }
+
+        // Then
+        assertEquals(10_000, ids.size());
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.transactions.client;
+
+import com.example.transactions.dto.request.AccountTransferDto;
+import com.example.transactions.dto.response.AccountBalanceDto;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+
+// balance moves go to the internal endpoints, which only accept calls carrying the service token
+@FeignClient(name = "accountmanagement", configuration = InternalCallConfig.class)
+public interface AccountClient {
+
+    @GetMapping("/api/accounts/check_balance")
+    AccountBalanceDto checkBalance(@RequestParam("accountNumber") String accountNumber);
+
+    @PatchMapping("/internal/accounts/debit")
+    AccountBalanceDto debit(@RequestParam("accountNumber") String accountNumber,
+                            @RequestParam("amount") BigDecimal amount,
+                            @RequestParam("reference") String reference);
+
+    @PatchMapping("/internal/accounts/credit")
+    AccountBalanceDto credit(@RequestParam("accountNumber") String accountNumber,
+                             @RequestParam("amount") BigDecimal amount,
+                             @RequestParam("reference") String reference);
+
+    @PostMapping("/internal/accounts/transfer")
+    AccountBalanceDto transfer(@RequestBody AccountTransferDto accountTransferDto);
+
+    @PostMapping("/internal/accounts/movements/{reference}/reverse")
+    String reverseMovement(@PathVariable("reference") String reference);
+}
@@ -0,0 +1,23 @@
+package com.example.transactions.client;
+
+import feign.RequestInterceptor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Feign configuration for calls into another service's internal endpoints. Deliberately not a
+ * {@code @Configuration}: it is attached per client, so the token is never sent to services that do not need it.
+ */
+public class InternalCallConfig {
+
+    public static final String HEADER = "X-Internal-Token";
+
+    @Bean
+    public RequestInterceptor internalTokenInterceptor(@Value("${transactions.internal.token:}") String token) {
+        if (token.isBlank()) {
+            // the internal endpoints would refuse every call, so every payment would end up compensated
+            throw new IllegalStateException("transactions.internal.token (INTERNAL_SERVICE_TOKEN) must be set");
+        }
+        return template -> template.header(HEADER, token);
+    }
+}
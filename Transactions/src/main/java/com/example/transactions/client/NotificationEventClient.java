@@ -0,0 +1,15 @@
+package com.example.transactions.client;
+
+import com.example.transactions.dto.response.TransactionEventDto;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+import java.util.List;
+
+@FeignClient(name = "notification", path = "/internal/notifications", configuration = InternalCallConfig.class)
+public interface NotificationEventClient {
+
+    @PostMapping("/events")
+    void publishTransactionEvents(@RequestBody List<TransactionEventDto> events);
+}
@@ -0,0 +1,42 @@
+package com.example.transactions.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Resolves the end user a request was made for. The gateway forwards the authenticated user in
+ * {@code X-Authenticated-User}; the header is only believed when it comes with the internal service token,
+ * so a client calling this service directly cannot claim to be someone else.
+ */
+@Component
+public class TrustedCaller {
+
+    public static final String USER_HEADER = "X-Authenticated-User";
+    public static final String TOKEN_HEADER = "X-Internal-Token";
+
+    private final byte[] expected;
+
+    public TrustedCaller(@Value("${transactions.internal.token:}") String token) {
+        if (token == null || token.isBlank()) {
+            // no forwarded user could be trusted, so every request with an Idempotency-Key would get a 401
+            throw new IllegalStateException("transactions.internal.token (INTERNAL_SERVICE_TOKEN) must be set");
+        }
+        this.expected = token.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return the forwarded user, or null if the request did not come through the gateway with a known user
+     */
+    public String nameOf(HttpServletRequest request) {
+        String presented = request.getHeader(TOKEN_HEADER);
+        String user = request.getHeader(USER_HEADER);
+        if (presented == null || user == null || user.isBlank()) {
+            return null;
+        }
+        return MessageDigest.isEqual(expected, presented.getBytes(StandardCharsets.UTF_8)) ? user : null;
+    }
+}
@@ -1,19 +1,28 @@
 package com.example.transactions.controller;
 
+import com.example.transactions.config.TrustedCaller;
 import com.example.transactions.dto.request.PutTransactionDto;
 import com.example.transactions.dto.request.PostTransactionDto;
+import com.example.transactions.dto.response.BatchResultDto;
+import com.example.transactions.dto.response.FeeQuoteDto;
 import com.example.transactions.dto.response.ModifyTransactionCurrencyDto;
 import com.example.transactions.dto.response.TransactionDto;
+import com.example.transactions.dto.response.TransactionPageDto;
 import com.example.transactions.enums.Currency;
 import com.example.transactions.enums.TransactionType;
 import com.example.transactions.service.ITransactionService;
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.util.List;
 
 @RestController
 @RequestMapping(path = "/api/transactions")
@@ -26,16 +35,41 @@ public class TransactionController {
     @Autowired
     private ITransactionService transactionService;
 
+    @Autowired
+    private TrustedCaller trustedCaller;
+
     // CRUD operations
     @PostMapping("/post")
     @PreAuthorize("hasAnyRole('CUSTOMER', 'ADMIN')")
-    public ResponseEntity<TransactionDto> postTransaction(@RequestBody PostTransactionDto postTransactionDto) {
-        TransactionDto createdTransaction = transactionService.postTransaction(postTransactionDto);
+    public ResponseEntity<TransactionDto> postTransaction(
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestBody PostTransactionDto postTransactionDto,
+            HttpServletRequest request) {
+        TransactionDto createdTransaction = transactionService.postTransaction(postTransactionDto, idempotencyKey,
+                trustedCaller.nameOf(request));
         return ResponseEntity
                 .status(HttpStatus.CREATED)
                 .body(createdTransaction);
     }
 
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasAnyRole('CUSTOMER', 'ADMIN')")
+    public ResponseEntity<BatchResultDto> postTransactionsBatch(@RequestBody List<JsonNode> postTransactionDtos) {
+        BatchResultDto result = transactionService.postTransactionsBatch(postTransactionDtos);
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(result);
+    }
+
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasAnyRole('CUSTOMER', 'ADMIN')")
+    public ResponseEntity<BatchResultDto> postTransactionsBatch(HttpServletRequest request) throws IOException {
+        BatchResultDto result = transactionService.postTransactionsBatch(request.getReader());
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(result);
+    }
+
     @PutMapping("/put/{transactionId}")
     @PreAuthorize("hasAnyRole('CUSTOMER', 'ADMIN')")
     public ResponseEntity<String> putTransaction(
@@ -62,6 +96,18 @@ public class TransactionController {
                 .body(transaction);
     }
 
+    @GetMapping("/history")
+    @PreAuthorize("hasAnyRole('CUSTOMER', 'ADMIN')")
+    public ResponseEntity<TransactionPageDto> getTransactionHistory(
+            @RequestParam String accountId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        TransactionPageDto history = transactionService.fetchTransactionHistory(accountId, cursor, size);
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(history);
+    }
+
     @DeleteMapping("/close/{transactionId}")
     @PreAuthorize("hasAnyRole('CUSTOMER', 'ADMIN')")
     public ResponseEntity<String> cancelTransaction(@PathVariable("transactionId") String transactionId) {
@@ -123,8 +169,8 @@ public class TransactionController {
                     .body("Transaction completed successfully");
         } else {
             return ResponseEntity
-                    .status(HttpStatus.NOT_FOUND)
-                    .body("Transaction not found");
+                    .status(HttpStatus.UNPROCESSABLE_ENTITY)
+                    .body("Transaction failed: " + transactionService.fetchTransactionById(transactionId).getFailureReason());
         }
     }
 
@@ -137,6 +183,15 @@ public class TransactionController {
                 .body("Calculated fees: " + fees.toString());
     }
 
+    @PostMapping("/calculate-fees/batch")
+    @PreAuthorize("hasAnyRole('CUSTOMER', 'ADMIN')")
+    public ResponseEntity<List<FeeQuoteDto>> calculateFeesBatch(@RequestBody List<String> transactionIds) {
+        List<FeeQuoteDto> quotes = transactionService.calculateTransactionFees(transactionIds);
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(quotes);
+    }
+
     @GetMapping("/anti-fraud-check/{transactionId}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<String> antiFraudCheck(@PathVariable("transactionId") String transactionId) {
@@ -1,7 +1,6 @@
 package com.example.transactions.dto.request;
 
 import com.example.transactions.enums.Currency;
-import com.example.transactions.enums.TransactionStatus;
 import com.example.transactions.enums.TransactionType;
 
 import java.math.BigDecimal;
@@ -15,7 +14,6 @@ public class PutTransactionDto {
     private BigDecimal amount;
     private Currency currency;
     private String description;
-    private TransactionStatus status;
 
     public PutTransactionDto(
             TransactionType transactionType,
@@ -25,8 +23,7 @@ public class PutTransactionDto {
             String toAccountNumber,
             BigDecimal amount,
             Currency currency,
-            String description,
-            TransactionStatus status) {
+            String description) {
         this.transactionType = transactionType;
         this.fromAccountId = fromAccountId;
         this.toAccountId = toAccountId;
@@ -35,7 +32,6 @@ public class PutTransactionDto {
         this.amount = amount;
         this.currency = currency;
         this.description = description;
-        this.status = status;
     }
 
     public String getFromAccountId() {
@@ -101,12 +97,4 @@ public class PutTransactionDto {
     public void setDescription(String description) {
         this.description = description;
     }
-
-    public TransactionStatus getStatus() {
-        return status;
-    }
-
-    public void setStatus(TransactionStatus status) {
-        this.status = status;
-    }
 }
@@ -0,0 +1,55 @@
+package com.example.transactions.dto.response;
+
+public class BatchItemResultDto {
+    private int index;
+    private String transactionId;
+    private boolean accepted;
+    private String error;
+
+    public BatchItemResultDto(int index, String transactionId, boolean accepted, String error) {
+        this.index = index;
+        this.transactionId = transactionId;
+        this.accepted = accepted;
+        this.error = error;
+    }
+
+    public static BatchItemResultDto accepted(int index, String transactionId) {
+        return new BatchItemResultDto(index, transactionId, true, null);
+    }
+
+    public static BatchItemResultDto rejected(int index, String error) {
+        return new BatchItemResultDto(index, null, false, error);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public String getTransactionId() {
+        return transactionId;
+    }
+
+    public void setTransactionId(String transactionId) {
+        this.transactionId = transactionId;
+    }
+
+    public boolean isAccepted() {
+        return accepted;
+    }
+
+    public void setAccepted(boolean accepted) {
+        this.accepted = accepted;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
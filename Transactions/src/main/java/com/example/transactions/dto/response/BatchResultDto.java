@@ -0,0 +1,39 @@
+package com.example.transactions.dto.response;
+
+import java.util.List;
+
+public class BatchResultDto {
+    private int accepted;
+    private int rejected;
+    private List<BatchItemResultDto> items;
+
+    public BatchResultDto(int accepted, int rejected, List<BatchItemResultDto> items) {
+        this.accepted = accepted;
+        this.rejected = rejected;
+        this.items = items;
+    }
+
+    public int getAccepted() {
+        return accepted;
+    }
+
+    public void setAccepted(int accepted) {
+        this.accepted = accepted;
+    }
+
+    public int getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(int rejected) {
+        this.rejected = rejected;
+    }
+
+    public List<BatchItemResultDto> getItems() {
+        return items;
+    }
+
+    public void setItems(List<BatchItemResultDto> items) {
+        this.items = items;
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.transactions.dto.response;
+
+import com.example.transactions.enums.Currency;
+
+import java.math.BigDecimal;
+
+public class FeeQuoteDto {
+    private String transactionId;
+    private BigDecimal fee;
+    private Currency currency;
+    private String feeScheduleVersion;
+    private String error;
+
+    public FeeQuoteDto(String transactionId, BigDecimal fee, Currency currency, String feeScheduleVersion, String error) {
+        this.transactionId = transactionId;
+        this.fee = fee;
+        this.currency = currency;
+        this.feeScheduleVersion = feeScheduleVersion;
+        this.error = error;
+    }
+
+    public String getTransactionId() {
+        return transactionId;
+    }
+
+    public void setTransactionId(String transactionId) {
+        this.transactionId = transactionId;
+    }
+
+    public BigDecimal getFee() {
+        return fee;
+    }
+
+    public void setFee(BigDecimal fee) {
+        this.fee = fee;
+    }
+
+    public Currency getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(Currency currency) {
+        this.currency = currency;
+    }
+
+    public String getFeeScheduleVersion() {
+        return feeScheduleVersion;
+    }
+
+    public void setFeeScheduleVersion(String feeScheduleVersion) {
+        this.feeScheduleVersion = feeScheduleVersion;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -8,11 +8,16 @@ public class ModifyTransactionCurrencyDto {
     private String transactionId;
     private Currency currency;
     private BigDecimal amount;
+    private BigDecimal exchangeRate;
+    private String exchangeRateVersion;
 
-    public ModifyTransactionCurrencyDto(String transactionId, Currency currency, BigDecimal amount) {
+    public ModifyTransactionCurrencyDto(String transactionId, Currency currency, BigDecimal amount,
+                                        BigDecimal exchangeRate, String exchangeRateVersion) {
         this.transactionId = transactionId;
         this.currency = currency;
         this.amount = amount;
+        this.exchangeRate = exchangeRate;
+        this.exchangeRateVersion = exchangeRateVersion;
     }
 
     public String getTransactionId() {
@@ -38,4 +43,20 @@ public class ModifyTransactionCurrencyDto {
     public void setCurrency(Currency currency) {
         this.currency = currency;
     }
+
+    public BigDecimal getExchangeRate() {
+        return exchangeRate;
+    }
+
+    public void setExchangeRate(BigDecimal exchangeRate) {
+        this.exchangeRate = exchangeRate;
+    }
+
+    public String getExchangeRateVersion() {
+        return exchangeRateVersion;
+    }
+
+    public void setExchangeRateVersion(String exchangeRateVersion) {
+        this.exchangeRateVersion = exchangeRateVersion;
+    }
 }
@@ -5,6 +5,7 @@ import com.example.transactions.enums.TransactionStatus;
 import com.example.transactions.enums.TransactionType;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 public class TransactionDto {
     private String transactionId;
@@ -18,6 +19,8 @@ public class TransactionDto {
     private String description;
     private TransactionStatus status;
     private String failureReason;
+    private LocalDateTime initiatedAt;
+    private BigDecimal riskScore;
 
     public TransactionDto(
             String toAccountId,
@@ -120,6 +123,22 @@ public class TransactionDto {
         this.status = status;
     }
 
+    public LocalDateTime getInitiatedAt() {
+        return initiatedAt;
+    }
+
+    public void setInitiatedAt(LocalDateTime initiatedAt) {
+        this.initiatedAt = initiatedAt;
+    }
+
+    public BigDecimal getRiskScore() {
+        return riskScore;
+    }
+
+    public void setRiskScore(BigDecimal riskScore) {
+        this.riskScore = riskScore;
+    }
+
     public String getFailureReason() {
         return failureReason;
     }
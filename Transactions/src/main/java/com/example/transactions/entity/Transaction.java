@@ -3,6 +3,7 @@ package com.example.transactions.entity;
 import com.example.transactions.enums.Currency;
 import com.example.transactions.enums.TransactionStatus;
 import com.example.transactions.enums.TransactionType;
+import com.example.transactions.utils.UuidV7Generator;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -13,19 +14,24 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "Transactions")
+@Table(name = "Transactions", indexes = {
+        @Index(name = "idx_transactions_from_history", columnList = "from_account_id, initiated_at, id"),
+        @Index(name = "idx_transactions_to_history", columnList = "to_account_id, initiated_at, id"),
+        @Index(name = "idx_transactions_status_processing", columnList = "status, processing_started_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Transaction {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transactions_seq")
+    @SequenceGenerator(name = "transactions_seq", sequenceName = "transactions_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "transaction_id", unique = true, nullable = false, length = 50)
     @Builder.Default
-    private String transactionId = java.util.UUID.randomUUID().toString();
+    private String transactionId = UuidV7Generator.nextString();
 
     @Column(name="from_account_id")
     private String fromAccountId;
@@ -62,6 +68,9 @@ public class Transaction {
     @Column(name = "initiated_at", nullable = false, updatable = false)
     private LocalDateTime initiatedAt;
 
+    @Column(name = "processing_started_at")
+    private LocalDateTime processingStartedAt;
+
     @Column(name = "completed_at")
     private LocalDateTime completedAt;
 
@@ -71,6 +80,16 @@ public class Transaction {
     @Column(name = "failure_reason", length = 255)
     private String failureReason;
 
+    @Column(name = "risk_score", precision = 3, scale = 2)
+    private BigDecimal riskScore;
+
+    @Column(name = "exchange_rate_version", length = 40)
+    private String exchangeRateVersion;
+
+    // incremented with every outbox event that describes a change to this transaction, so consumers can order them
+    @Column(name = "event_version")
+    private Long eventVersion;
+
     @PrePersist
     protected void onCreate() {
         if (initiatedAt == null) {
@@ -82,6 +101,9 @@ public class Transaction {
         if (status == null) {
             status = TransactionStatus.PENDING;
         }
+        if (eventVersion == null) {
+            eventVersion = 1L;
+        }
     }
 
     public String getFromAccountId() {
@@ -180,6 +202,14 @@ public class Transaction {
         this.initiatedAt = initiatedAt;
     }
 
+    public LocalDateTime getProcessingStartedAt() {
+        return processingStartedAt;
+    }
+
+    public void setProcessingStartedAt(LocalDateTime processingStartedAt) {
+        this.processingStartedAt = processingStartedAt;
+    }
+
     public LocalDateTime getCompletedAt() {
         return completedAt;
     }
@@ -203,4 +233,28 @@ public class Transaction {
     public void setFailureReason(String failureReason) {
         this.failureReason = failureReason;
     }
+
+    public BigDecimal getRiskScore() {
+        return riskScore;
+    }
+
+    public void setRiskScore(BigDecimal riskScore) {
+        this.riskScore = riskScore;
+    }
+
+    public String getExchangeRateVersion() {
+        return exchangeRateVersion;
+    }
+
+    public void setExchangeRateVersion(String exchangeRateVersion) {
+        this.exchangeRateVersion = exchangeRateVersion;
+    }
+
+    public Long getEventVersion() {
+        return eventVersion;
+    }
+
+    public void setEventVersion(Long eventVersion) {
+        this.eventVersion = eventVersion;
+    }
 }
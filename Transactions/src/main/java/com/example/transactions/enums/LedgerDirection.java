@@ -0,0 +1,6 @@
+package com.example.transactions.enums;
+
+public enum LedgerDirection {
+    DEBIT,
+    CREDIT
+}
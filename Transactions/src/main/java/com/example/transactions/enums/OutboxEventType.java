@@ -0,0 +1,9 @@
+package com.example.transactions.enums;
+
+public enum OutboxEventType {
+    TRANSACTION_POSTED,
+    TRANSACTION_UPDATED,
+    TRANSACTION_COMPLETED,
+    TRANSACTION_FAILED,
+    FRAUD_FLAGGED
+}
@@ -2,6 +2,8 @@ package com.example.transactions.enums;
 
 public enum TransactionStatus {
     PENDING,
+    PROCESSING,
+    REVERSING,
     COMPLETED,
     FAILED,
     CANCELLED
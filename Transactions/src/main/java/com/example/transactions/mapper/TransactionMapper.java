@@ -1,7 +1,6 @@
 package com.example.transactions.mapper;
 
 import com.example.transactions.dto.request.PostTransactionDto;
-import com.example.transactions.dto.request.PutTransactionDto;
 import com.example.transactions.dto.response.TransactionDto;
 import com.example.transactions.entity.Transaction;
 import com.example.transactions.enums.TransactionStatus;
@@ -18,26 +17,14 @@ public class TransactionMapper {
                 .description(transactionDto.getDescription())
                 .fromAccountId(transactionDto.getFromAccountId()) /// relations not established yet
                 .toAccountId(transactionDto.getToAccountId())
+                .fromAccountNumber(transactionDto.getFromAccountNumber())
+                .toAccountNumber(transactionDto.getToAccountNumber())
                 .initiatedAt(LocalDateTime.now())
                 .build();
     }
 
-    public static Transaction ToEntity(PutTransactionDto transactionDto, Long id, String transactionId) {
-        return Transaction.builder()
-                .id(id)
-                .transactionId(transactionId)
-                .amount(transactionDto.getAmount())
-                .currency(transactionDto.getCurrency())
-                .transactionType(transactionDto.getTransactionType())
-                .status(transactionDto.getStatus())
-                .description(transactionDto.getDescription())
-                .fromAccountId(transactionDto.getFromAccountId()) /// relations not established yet
-                .toAccountId(transactionDto.getToAccountId())
-                .build();
-    }
-
     public static TransactionDto ToDto(Transaction transaction) {
-        return new TransactionDto(
+        TransactionDto transactionDto = new TransactionDto(
                 transaction.getToAccountId(),
                 transaction.getTransactionId(),
                 transaction.getFromAccountId(),
@@ -50,5 +37,8 @@ public class TransactionMapper {
                 transaction.getStatus(),
                 transaction.getFailureReason()
         );
+        transactionDto.setInitiatedAt(transaction.getInitiatedAt());
+        transactionDto.setRiskScore(transaction.getRiskScore());
+        return transactionDto;
     }
 }
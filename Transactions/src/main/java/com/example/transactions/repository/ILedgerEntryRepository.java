@@ -0,0 +1,41 @@
+package com.example.transactions.repository;
+
+import com.example.transactions.entity.LedgerEntry;
+import com.example.transactions.enums.Currency;
+import com.example.transactions.enums.LedgerDirection;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ILedgerEntryRepository extends JpaRepository<LedgerEntry, Long> {
+    int LEDGER_LOCK_NAMESPACE = 8008;
+
+    List<LedgerEntry> findByTransactionId(String transactionId);
+
+    @Modifying
+    @Query("DELETE FROM LedgerEntry l WHERE l.transactionId = :transactionId")
+    int deleteByTransactionId(@Param("transactionId") String transactionId);
+
+    /**
+     * Blocks until this database transaction holds the posting lock of one account key; Postgres releases it at
+     * commit or rollback, so it serializes postings across every Transactions instance.
+     */
+    @Query(value = "SELECT 1 FROM (SELECT pg_advisory_xact_lock(" + LEDGER_LOCK_NAMESPACE + ", :key)) locked",
+            nativeQuery = true)
+    Integer lockAccount(@Param("key") int key);
+
+    @Query("SELECT COALESCE(SUM(l.amount), 0) FROM LedgerEntry l " +
+            "WHERE l.accountNumber = :accountNumber AND l.direction = :direction " +
+            "AND l.currency = :currency AND l.postedAt >= :since")
+    BigDecimal sumAmountSince(@Param("accountNumber") String accountNumber,
+                              @Param("direction") LedgerDirection direction,
+                              @Param("currency") Currency currency,
+                              @Param("since") LocalDateTime since);
+}
@@ -1,12 +1,132 @@
 package com.example.transactions.repository;
 
 import com.example.transactions.entity.Transaction;
+import com.example.transactions.enums.Currency;
+import com.example.transactions.enums.TransactionStatus;
+import com.example.transactions.enums.TransactionType;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ITransactionRepository extends JpaRepository<Transaction, Long> {
     Optional<Transaction> findTransactionByTransactionId(String transactionId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Transaction t WHERE t.transactionId = :transactionId")
+    Optional<Transaction> findForUpdate(@Param("transactionId") String transactionId);
+
+    List<Transaction> findByTransactionIdIn(Collection<String> transactionIds);
+
+    @Query("SELECT t.status FROM Transaction t WHERE t.transactionId = :transactionId")
+    Optional<TransactionStatus> findStatusByTransactionId(@Param("transactionId") String transactionId);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Transaction t SET t.status = :next " +
+            "WHERE t.transactionId = :transactionId AND t.status = :expected")
+    int compareAndSetStatus(@Param("transactionId") String transactionId,
+                            @Param("expected") TransactionStatus expected,
+                            @Param("next") TransactionStatus next);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Transaction t SET t.status = com.example.transactions.enums.TransactionStatus.PROCESSING, " +
+            "t.processingStartedAt = :startedAt " +
+            "WHERE t.transactionId = :transactionId " +
+            "AND t.status = com.example.transactions.enums.TransactionStatus.PENDING")
+    int claimForProcessing(@Param("transactionId") String transactionId,
+                           @Param("startedAt") LocalDateTime startedAt);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Transaction t SET t.status = com.example.transactions.enums.TransactionStatus.COMPLETED, " +
+            "t.completedAt = :completedAt, t.failedAt = null, t.failureReason = null " +
+            "WHERE t.transactionId = :transactionId " +
+            "AND t.status = com.example.transactions.enums.TransactionStatus.PROCESSING")
+    int markCompleted(@Param("transactionId") String transactionId,
+                      @Param("completedAt") LocalDateTime completedAt);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Transaction t SET t.status = com.example.transactions.enums.TransactionStatus.FAILED, " +
+            "t.failedAt = :failedAt, t.failureReason = :failureReason, t.completedAt = null " +
+            "WHERE t.transactionId = :transactionId AND t.status = :expected")
+    int markFailed(@Param("transactionId") String transactionId,
+                   @Param("expected") TransactionStatus expected,
+                   @Param("failedAt") LocalDateTime failedAt,
+                   @Param("failureReason") String failureReason);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Transaction t SET t.transactionType = :transactionType " +
+            "WHERE t.transactionId = :transactionId " +
+            "AND t.status = com.example.transactions.enums.TransactionStatus.PENDING")
+    int updateTypeIfPending(@Param("transactionId") String transactionId,
+                            @Param("transactionType") TransactionType transactionType);
+
+    // PUT edits the descriptive fields only; status and lifecycle columns move through the transitions above
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Transaction t SET t.fromAccountId = :fromAccountId, t.toAccountId = :toAccountId, " +
+            "t.fromAccountNumber = :fromAccountNumber, t.toAccountNumber = :toAccountNumber, " +
+            "t.transactionType = :transactionType, t.amount = :amount, t.currency = :currency, " +
+            "t.description = :description " +
+            "WHERE t.transactionId = :transactionId " +
+            "AND t.status = com.example.transactions.enums.TransactionStatus.PENDING")
+    int updateDetailsIfPending(@Param("transactionId") String transactionId,
+                               @Param("fromAccountId") String fromAccountId,
+                               @Param("toAccountId") String toAccountId,
+                               @Param("fromAccountNumber") String fromAccountNumber,
+                               @Param("toAccountNumber") String toAccountNumber,
+                               @Param("transactionType") TransactionType transactionType,
+                               @Param("amount") BigDecimal amount,
+                               @Param("currency") Currency currency,
+                               @Param("description") String description);
+
+    @Query("SELECT t.transactionId FROM Transaction t WHERE t.status IN :statuses " +
+            "AND t.processingStartedAt < :before ORDER BY t.processingStartedAt")
+    List<String> findStalled(@Param("statuses") Collection<TransactionStatus> statuses,
+                             @Param("before") LocalDateTime before,
+                             Pageable pageable);
+
+    // In the *Before queries the initiatedAt <= bound is redundant with the OR, but it is what lets Postgres
+    // start the (account, initiated_at, id) index scan at the cursor instead of at the account's newest row.
+    @Query("SELECT t FROM Transaction t WHERE t.fromAccountId = :accountId " +
+            "ORDER BY t.initiatedAt DESC, t.id DESC")
+    List<Transaction> findOutgoingHistory(@Param("accountId") String accountId, Pageable pageable);
+
+    @Query("SELECT t FROM Transaction t WHERE t.fromAccountId = :accountId " +
+            "AND t.initiatedAt <= :initiatedAt " +
+            "AND (t.initiatedAt < :initiatedAt OR (t.initiatedAt = :initiatedAt AND t.id < :id)) " +
+            "ORDER BY t.initiatedAt DESC, t.id DESC")
+    List<Transaction> findOutgoingHistoryBefore(@Param("accountId") String accountId,
+                                                @Param("initiatedAt") LocalDateTime initiatedAt,
+                                                @Param("id") Long id,
+                                                Pageable pageable);
+
+    @Query("SELECT t FROM Transaction t WHERE t.toAccountId = :accountId " +
+            "ORDER BY t.initiatedAt DESC, t.id DESC")
+    List<Transaction> findIncomingHistory(@Param("accountId") String accountId, Pageable pageable);
+
+    @Query("SELECT t FROM Transaction t WHERE t.toAccountId = :accountId " +
+            "AND t.initiatedAt <= :initiatedAt " +
+            "AND (t.initiatedAt < :initiatedAt OR (t.initiatedAt = :initiatedAt AND t.id < :id)) " +
+            "ORDER BY t.initiatedAt DESC, t.id DESC")
+    List<Transaction> findIncomingHistoryBefore(@Param("accountId") String accountId,
+                                                @Param("initiatedAt") LocalDateTime initiatedAt,
+                                                @Param("id") Long id,
+                                                Pageable pageable);
 }
@@ -0,0 +1,66 @@
+package com.example.transactions.service;
+
+import com.example.transactions.utils.ExchangeRateTable;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the current {@link ExchangeRateTable}. Like the fee schedule, a file-backed rate table is reloaded when
+ * its modification time changes and swapped in atomically; callers that need several conversions to agree
+ * on one version should take a single {@link #current()} snapshot and use it throughout.
+ */
+@Service
+public class ExchangeRateService {
+    private static final Logger log = LoggerFactory.getLogger(ExchangeRateService.class);
+
+    private final Resource location;
+    private final ObjectMapper objectMapper;
+    private final AtomicReference<ExchangeRateTable> current = new AtomicReference<>();
+    private volatile long loadedLastModified;
+
+    public ExchangeRateService(@Value("${transactions.exchange-rates.location:classpath:exchange-rates.json}") Resource location,
+                               ObjectMapper objectMapper) throws IOException {
+        this.location = location;
+        this.objectMapper = objectMapper;
+        current.set(load());
+    }
+
+    public ExchangeRateTable current() {
+        return current.get();
+    }
+
+    @Scheduled(fixedDelayString = "${transactions.exchange-rates.reload-interval:30s}")
+    public void reloadIfChanged() {
+        if (!location.isFile()) {
+            return;
+        }
+        try {
+            if (location.lastModified() == loadedLastModified) {
+                return;
+            }
+            ExchangeRateTable reloaded = load();
+            current.set(reloaded);
+            log.info("Exchange rates {} loaded from {}", reloaded.getVersion(), location);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Keeping exchange rates {}, reload from {} failed: {}", current().getVersion(), location, e.getMessage());
+        }
+    }
+
+    private ExchangeRateTable load() throws IOException {
+        long lastModified = location.isFile() ? location.lastModified() : 0L;
+        try (InputStream in = location.getInputStream()) {
+            ExchangeRateTable table = ExchangeRateTable.compile(objectMapper.readTree(in));
+            loadedLastModified = lastModified;
+            return table;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.transactions.service;
+
+import com.example.transactions.enums.Currency;
+import com.example.transactions.enums.TransactionType;
+import com.example.transactions.utils.FeeSchedule;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the compiled {@link FeeSchedule}. The schedule is compiled once at startup and, when it comes from a
+ * file, recompiled whenever the file's modification time changes; readers always see a complete schedule
+ * because the new one is swapped in atomically. A schedule that fails to compile is logged and ignored.
+ */
+@Service
+public class FeeScheduleService {
+    private static final Logger log = LoggerFactory.getLogger(FeeScheduleService.class);
+
+    private final Resource location;
+    private final ObjectMapper objectMapper;
+    private final AtomicReference<FeeSchedule> current = new AtomicReference<>();
+    private volatile long loadedLastModified;
+
+    public FeeScheduleService(@Value("${transactions.fees.location:classpath:fee-schedule.json}") Resource location,
+                              ObjectMapper objectMapper) throws IOException {
+        this.location = location;
+        this.objectMapper = objectMapper;
+        current.set(load());
+    }
+
+    public BigDecimal quote(TransactionType type, Currency currency, BigDecimal amount) {
+        return current.get().quote(type, currency, amount);
+    }
+
+    public String getVersion() {
+        return current.get().getVersion();
+    }
+
+    @Scheduled(fixedDelayString = "${transactions.fees.reload-interval:30s}")
+    public void reloadIfChanged() {
+        if (!location.isFile()) {
+            return;
+        }
+        try {
+            if (location.lastModified() == loadedLastModified) {
+                return;
+            }
+            FeeSchedule reloaded = load();
+            current.set(reloaded);
+            log.info("Fee schedule {} loaded from {}", reloaded.getVersion(), location);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Keeping fee schedule {}, reload from {} failed: {}", getVersion(), location, e.getMessage());
+        }
+    }
+
+    private FeeSchedule load() throws IOException {
+        long lastModified = location.isFile() ? location.lastModified() : 0L;
+        try (InputStream in = location.getInputStream()) {
+            FeeSchedule schedule = FeeSchedule.compile(objectMapper.readTree(in));
+            loadedLastModified = lastModified;
+            return schedule;
+        }
+    }
+}
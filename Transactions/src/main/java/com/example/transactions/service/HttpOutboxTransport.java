@@ -0,0 +1,21 @@
+package com.example.transactions.service;
+
+import com.example.transactions.client.NotificationEventClient;
+import com.example.transactions.dto.response.TransactionEventDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@ConditionalOnProperty(name = "transactions.outbox.transport", havingValue = "http", matchIfMissing = true)
+public class HttpOutboxTransport implements OutboxTransport {
+    @Autowired
+    private NotificationEventClient notificationEventClient;
+
+    @Override
+    public void publish(List<TransactionEventDto> events) {
+        notificationEventClient.publishTransactionEvents(events);
+    }
+}
@@ -2,21 +2,33 @@ package com.example.transactions.service;
 
 import com.example.transactions.dto.request.PostTransactionDto;
 import com.example.transactions.dto.request.PutTransactionDto;
+import com.example.transactions.dto.response.BatchResultDto;
+import com.example.transactions.dto.response.FeeQuoteDto;
 import com.example.transactions.dto.response.ModifyTransactionCurrencyDto;
 import com.example.transactions.dto.response.TransactionDto;
+import com.example.transactions.dto.response.TransactionPageDto;
 import com.example.transactions.enums.Currency;
 import com.example.transactions.enums.TransactionType;
+import com.fasterxml.jackson.databind.JsonNode;
 
+import java.io.BufferedReader;
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.util.List;
 
 public interface ITransactionService {
     TransactionDto postTransaction(PostTransactionDto transactionDto);
+    TransactionDto postTransaction(PostTransactionDto transactionDto, String idempotencyKey, String principal);
+    BatchResultDto postTransactionsBatch(List<JsonNode> transactionDtos);
+    BatchResultDto postTransactionsBatch(BufferedReader ndjson) throws IOException;
     TransactionDto fetchTransactionById(String transactionId);
+    TransactionPageDto fetchTransactionHistory(String accountId, String cursor, int size);
     boolean putTransaction(PutTransactionDto transactionDto, String transactionId);
     boolean cancelTransactionById(String transactionId);
     boolean executePaymentByTransactionId(String transactionId);
     boolean modifyTransactionType(String transactionId, TransactionType newTransactionType);
     ModifyTransactionCurrencyDto modifyTransactionCurrency(String transactionId, Currency newCurrency);
     BigDecimal calculateTransactionAmount(String transactionId);
+    List<FeeQuoteDto> calculateTransactionFees(List<String> transactionIds);
     String antiFraudCheck(String transactionId);
 }
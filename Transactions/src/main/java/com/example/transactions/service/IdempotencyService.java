@@ -0,0 +1,163 @@
+package com.example.transactions.service;
+
+import com.example.transactions.dto.response.TransactionDto;
+import com.example.transactions.entity.IdempotencyRecord;
+import com.example.transactions.repository.IIdempotencyRecordRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Maps an {@code Idempotency-Key} to the transaction it created. Recent keys are answered from an in-memory
+ * window; older ones from {@code idempotency_records}, whose unique key is what actually guarantees that
+ * two concurrent requests with the same key create a single transaction.
+ *
+ * <p>Keys are scoped to the user the gateway authenticated (see {@code TrustedCaller}), so a caller can only
+ * ever replay its own transactions; a key sent without a known user is refused with 401. Each key remembers
+ * a fingerprint of the request body it was first used with: reusing it with a different body is rejected
+ * with 422 instead of silently returning the original transaction.</p>
+ */
+@Service
+public class IdempotencyService {
+    public static final int MAX_KEY_LENGTH = 100;
+
+    @Autowired
+    private IIdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final ConcurrentHashMap<String, HotEntry> hotWindow = new ConcurrentHashMap<>();
+    private final Duration ttl;
+    private final Duration hotWindowTtl;
+    private final int hotWindowMaxEntries;
+
+    public IdempotencyService(@Value("${transactions.idempotency.ttl:24h}") Duration ttl,
+                              @Value("${transactions.idempotency.hot-window:5m}") Duration hotWindowTtl,
+                              @Value("${transactions.idempotency.hot-window-max-entries:100000}") int hotWindowMaxEntries) {
+        this.ttl = ttl;
+        this.hotWindowTtl = hotWindowTtl;
+        this.hotWindowMaxEntries = hotWindowMaxEntries;
+    }
+
+    /**
+     * The key as stored: a fixed-length digest of principal and key, so it always fits the column and one
+     * caller's key never matches another's.
+     */
+    public String scope(String principal, String idempotencyKey) {
+        if (principal == null || principal.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED,
+                    "Idempotency-Key can only be used by an authenticated caller");
+        }
+        return sha256(principal + "\n" + idempotencyKey);
+    }
+
+    public String fingerprint(Object request) {
+        try {
+            return sha256(objectMapper.writeValueAsString(request));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not fingerprint request: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    /**
+     * @throws ResponseStatusException 422 if the key was first used with a different request body
+     */
+    public Optional<String> findTransactionId(String scopedKey, String requestHash) {
+        HotEntry hot = hotWindow.get(scopedKey);
+        if (hot != null) {
+            if (hot.expiresAtMillis() > System.currentTimeMillis()) {
+                requireSameRequest(hot.requestHash(), requestHash);
+                return Optional.of(hot.transactionId());
+            }
+            hotWindow.remove(scopedKey, hot);
+        }
+        Optional<IdempotencyRecord> stored = idempotencyRecordRepository
+                .findByIdempotencyKeyAndExpiresAtAfter(scopedKey, LocalDateTime.now());
+        stored.ifPresent(record -> {
+            requireSameRequest(record.getRequestHash(), requestHash);
+            remember(scopedKey, record.getTransactionId(), record.getRequestHash());
+        });
+        return stored.map(IdempotencyRecord::getTransactionId);
+    }
+
+    /**
+     * Creates the transaction and records the key in one database transaction. A concurrent request that
+     * already owns the key makes the record insert fail with a unique violation, which rolls the new
+     * transaction back and surfaces as {@link org.springframework.dao.DataIntegrityViolationException}.
+     */
+    @Transactional
+    public TransactionDto executeOnce(String scopedKey, String requestHash, Supplier<TransactionDto> create) {
+        LocalDateTime now = LocalDateTime.now();
+        idempotencyRecordRepository.deleteExpiredKey(scopedKey, now);
+
+        TransactionDto created = create.get();
+        idempotencyRecordRepository.saveAndFlush(IdempotencyRecord.builder()
+                .idempotencyKey(scopedKey)
+                .transactionId(created.getTransactionId())
+                .requestHash(requestHash)
+                .createdAt(now)
+                .expiresAt(now.plus(ttl))
+                .build());
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                remember(scopedKey, created.getTransactionId(), requestHash);
+            }
+        });
+        return created;
+    }
+
+    @Scheduled(fixedDelayString = "${transactions.idempotency.purge-interval:10m}")
+    @Transactional
+    public void purgeExpired() {
+        long nowMillis = System.currentTimeMillis();
+        hotWindow.entrySet().removeIf(entry -> entry.getValue().expiresAtMillis() <= nowMillis);
+        idempotencyRecordRepository.deleteExpired(LocalDateTime.now());
+    }
+
+    private void remember(String scopedKey, String transactionId, String requestHash) {
+        if (hotWindow.size() < hotWindowMaxEntries) {
+            hotWindow.put(scopedKey, new HotEntry(transactionId, requestHash, System.currentTimeMillis() + hotWindowTtl.toMillis()));
+        }
+    }
+
+    // records written before fingerprinting have no hash and are not checked
+    private static void requireSameRequest(String storedHash, String requestHash) {
+        if (storedHash != null && !Objects.equals(storedHash, requestHash)) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                    "Idempotency-Key was already used with a different request");
+        }
+    }
+
+    private static String sha256(String value) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record HotEntry(String transactionId, String requestHash, long expiresAtMillis) {
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.transactions.service;
+
+import com.example.transactions.dto.response.TransactionEventDto;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * In-JVM stand-in for the HTTP transport, for tests and local runs without a Notification instance
+ * ({@code transactions.outbox.transport=in-memory}). Published events are buffered until drained.
+ */
+@Service
+@ConditionalOnProperty(name = "transactions.outbox.transport", havingValue = "in-memory")
+public class InMemoryOutboxTransport implements OutboxTransport {
+    private final LinkedBlockingQueue<TransactionEventDto> published = new LinkedBlockingQueue<>();
+
+    @Override
+    public void publish(List<TransactionEventDto> events) {
+        published.addAll(events);
+    }
+
+    public List<TransactionEventDto> drain() {
+        List<TransactionEventDto> drained = new ArrayList<>(published.size());
+        published.drainTo(drained);
+        return drained;
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.transactions.service;
+
+import com.example.transactions.client.AccountClient;
+import com.example.transactions.dto.request.AccountTransferDto;
+import com.example.transactions.dto.response.AccountBalanceDto;
+import com.example.transactions.entity.Transaction;
+import com.example.transactions.enums.TransactionStatus;
+import com.example.transactions.repository.ITransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Double-entry posting of a claimed transaction: one DEBIT and one CREDIT leg per transaction, with the
+ * money moved on the AccountManagement side by its atomic balance operations.
+ *
+ * <p><strong>Steps</strong>, none of them holding a database connection across an HTTP call:</p>
+ * <ol>
+ *   <li>{@link LedgerWriter#reserve} checks limits and books the legs under per-account Postgres advisory
+ *       locks, and commits</li>
+ *   <li>the money is moved remotely, keyed by the transaction id, so a retried call is applied once</li>
+ *   <li>{@link LedgerWriter#complete} marks the transaction COMPLETED and records its outbox event</li>
+ * </ol>
+ *
+ * <p>If step 2 or 3 fails, the outcome of the remote call is unknown, so the transaction goes to REVERSING,
+ * the movement is reversed (a no-op tombstone if it never happened) and the transaction is failed. A reversal
+ * that cannot be made is retried by {@link #recoverStalled()}, which also picks up postings abandoned by a
+ * crashed instance. Deposits and withdrawals book their other leg against {@link #EXTERNAL_ACCOUNT}.</p>
+ */
+@Service
+public class LedgerService {
+    private static final Logger log = LoggerFactory.getLogger(LedgerService.class);
+
+    public static final String EXTERNAL_ACCOUNT = "EXTERNAL";
+
+    private static final int RECOVERY_BATCH = 100;
+
+    @Autowired
+    private ITransactionRepository transactionRepository;
+
+    @Autowired
+    private LedgerWriter ledgerWriter;
+
+    @Autowired
+    private AccountClient accountClient;
+
+    private final Duration stallTimeout;
+
+    public LedgerService(@Value("${transactions.ledger.stall-timeout:5m}") Duration stallTimeout) {
+        this.stallTimeout = stallTimeout;
+    }
+
+    /**
+     * Posts a transaction that the caller has already claimed (PENDING to PROCESSING).
+     *
+     * @return true if it completed, false if it failed; the failure reason is stored on the transaction
+     */
+    public boolean post(String transactionId) {
+        String debitAccount;
+        String creditAccount;
+        BigDecimal amount;
+        try {
+            Transaction transaction = transactionRepository.findTransactionByTransactionId(transactionId)
+                    .orElseThrow(() -> new RuntimeException("Transaction with ID " + transactionId + " not found in method post"));
+            debitAccount = debitAccountOf(transaction);
+            creditAccount = creditAccountOf(transaction);
+            amount = transaction.getAmount();
+            if (amount == null || amount.signum() <= 0) {
+                throw new RuntimeException("Transaction amount must be positive");
+            }
+            AccountBalanceDto debitLimits = EXTERNAL_ACCOUNT.equals(debitAccount) ? null : accountClient.checkBalance(debitAccount);
+            if (debitLimits != null) {
+                requireSameCurrency(transaction, debitLimits);
+            }
+            if (!EXTERNAL_ACCOUNT.equals(creditAccount)) {
+                requireSameCurrency(transaction, accountClient.checkBalance(creditAccount));
+            }
+            ledgerWriter.reserve(transactionId, debitAccount, creditAccount, debitLimits);
+        } catch (RuntimeException e) {
+            // nothing was booked or moved yet
+            ledgerWriter.release(transactionId, TransactionStatus.PROCESSING, e.getMessage());
+            return false;
+        }
+
+        try {
+            moveMoney(transactionId, debitAccount, creditAccount, amount);
+            ledgerWriter.complete(transactionId);
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Posting transaction {} failed after its legs were booked, reversing: {}", transactionId, e.getMessage());
+            compensate(transactionId, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Reverses postings that have been PROCESSING or REVERSING for longer than {@code stall-timeout}.
+     */
+    @Scheduled(fixedDelayString = "${transactions.ledger.recovery-interval:1m}")
+    public void recoverStalled() {
+        List<String> stalled = transactionRepository.findStalled(
+                List.of(TransactionStatus.PROCESSING, TransactionStatus.REVERSING),
+                LocalDateTime.now().minus(stallTimeout),
+                PageRequest.of(0, RECOVERY_BATCH));
+        for (String transactionId : stalled) {
+            compensate(transactionId, "Posting did not finish within " + stallTimeout);
+        }
+    }
+
+    private void compensate(String transactionId, String reason) {
+        try {
+            if (!ledgerWriter.beginReversal(transactionId)) {
+                return;
+            }
+            accountClient.reverseMovement(transactionId);
+            ledgerWriter.release(transactionId, TransactionStatus.REVERSING, reason);
+        } catch (RuntimeException e) {
+            log.error("Reversing transaction {} failed, it stays REVERSING and will be retried: {}", transactionId, e.getMessage());
+        }
+    }
+
+    private void moveMoney(String reference, String debitAccount, String creditAccount, BigDecimal amount) {
+        if (EXTERNAL_ACCOUNT.equals(debitAccount)) {
+            accountClient.credit(creditAccount, amount, reference);
+        } else if (EXTERNAL_ACCOUNT.equals(creditAccount)) {
+            accountClient.debit(debitAccount, amount, reference);
+        } else {
+            accountClient.transfer(new AccountTransferDto(debitAccount, creditAccount, amount, reference));
+        }
+    }
+
+    // balances and limits are kept in the account's currency; a converted amount is not applied to them as is
+    private static void requireSameCurrency(Transaction transaction, AccountBalanceDto account) {
+        if (!transaction.getCurrency().name().equals(account.getCurrency())) {
+            throw new RuntimeException("Transaction currency " + transaction.getCurrency()
+                    + " does not match currency " + account.getCurrency() + " of account " + account.getAccountNumber());
+        }
+    }
+
+    private static String debitAccountOf(Transaction transaction) {
+        return switch (transaction.getTransactionType()) {
+            case DEPOSIT -> EXTERNAL_ACCOUNT;
+            case TRANSFER, PAYMENT, WITHDRAWAL -> requireAccount(
+                    transaction.getFromAccountNumber() != null ? transaction.getFromAccountNumber() : transaction.getFromAccountId(),
+                    "source");
+        };
+    }
+
+    private static String creditAccountOf(Transaction transaction) {
+        return switch (transaction.getTransactionType()) {
+            case WITHDRAWAL -> EXTERNAL_ACCOUNT;
+            case TRANSFER, PAYMENT, DEPOSIT -> requireAccount(
+                    transaction.getToAccountNumber() != null ? transaction.getToAccountNumber() : transaction.getToAccountId(),
+                    "destination");
+        };
+    }
+
+    private static String requireAccount(String accountNumber, String role) {
+        if (accountNumber == null || accountNumber.isBlank()) {
+            throw new RuntimeException("Transaction has no " + role + " account");
+        }
+        return accountNumber;
+    }
+}
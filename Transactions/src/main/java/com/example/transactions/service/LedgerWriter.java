@@ -0,0 +1,145 @@
+package com.example.transactions.service;
+
+import com.example.transactions.dto.response.AccountBalanceDto;
+import com.example.transactions.entity.LedgerEntry;
+import com.example.transactions.entity.Transaction;
+import com.example.transactions.enums.LedgerDirection;
+import com.example.transactions.enums.OutboxEventType;
+import com.example.transactions.enums.TransactionStatus;
+import com.example.transactions.repository.ILedgerEntryRepository;
+import com.example.transactions.repository.ITransactionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * The local, short database transactions of a posting. None of them calls another service, so no connection
+ * is held while money moves on the AccountManagement side; {@link LedgerService} sequences them around the
+ * remote call.
+ */
+@Service
+public class LedgerWriter {
+    @Autowired
+    private ITransactionRepository transactionRepository;
+
+    @Autowired
+    private ILedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    /**
+     * Books both legs of a PROCESSING transaction after checking the debit account's limits. The posting locks
+     * of both accounts are held until commit, so the limit check and the new legs are atomic with respect to
+     * every other posting on those accounts, on any instance.
+     *
+     * @param debitLimits limits of the debit account, or null when it is {@link LedgerService#EXTERNAL_ACCOUNT}
+     */
+    @Transactional
+    public void reserve(String transactionId, String debitAccount, String creditAccount, AccountBalanceDto debitLimits) {
+        Transaction transaction = transactionRepository.findTransactionByTransactionId(transactionId)
+                .orElseThrow(() -> new RuntimeException("Transaction with ID " + transactionId + " not found in method reserve"));
+        if (transaction.getStatus() != TransactionStatus.PROCESSING) {
+            throw new RuntimeException("Transaction " + transactionId + " is " + transaction.getStatus() + ", only PROCESSING can be posted");
+        }
+
+        // ascending key order, so two opposite transfers never wait on each other
+        TreeSet<Integer> keys = new TreeSet<>();
+        for (String accountNumber : List.of(debitAccount, creditAccount)) {
+            if (!LedgerService.EXTERNAL_ACCOUNT.equals(accountNumber)) {
+                keys.add(accountNumber.hashCode());
+            }
+        }
+        for (int key : keys) {
+            ledgerEntryRepository.lockAccount(key);
+        }
+
+        if (debitLimits != null) {
+            enforceLimits(debitAccount, transaction, debitLimits);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        // flushed before money moves, so a duplicate posting fails on the unique (transaction_id, direction) key
+        ledgerEntryRepository.saveAllAndFlush(List.of(
+                leg(transaction, debitAccount, LedgerDirection.DEBIT, now),
+                leg(transaction, creditAccount, LedgerDirection.CREDIT, now)));
+    }
+
+    @Transactional
+    public void complete(String transactionId) {
+        LocalDateTime now = LocalDateTime.now();
+        if (transactionRepository.markCompleted(transactionId, now) != 1) {
+            throw new RuntimeException("Transaction " + transactionId + " changed status while it was being posted");
+        }
+        transactionRepository.findTransactionByTransactionId(transactionId)
+                .ifPresent(completed -> outboxService.record(OutboxEventType.TRANSACTION_COMPLETED, completed));
+    }
+
+    /**
+     * Moves a PROCESSING transaction to REVERSING, after which it can no longer complete.
+     *
+     * @return true if the transaction is now REVERSING, false if it already completed or failed
+     */
+    @Transactional
+    public boolean beginReversal(String transactionId) {
+        if (transactionRepository.compareAndSetStatus(transactionId, TransactionStatus.PROCESSING, TransactionStatus.REVERSING) == 1) {
+            return true;
+        }
+        return transactionRepository.findStatusByTransactionId(transactionId)
+                .map(status -> status == TransactionStatus.REVERSING)
+                .orElse(false);
+    }
+
+    /**
+     * Fails a transaction whose money did not move, or was moved back: its legs are removed, which also gives
+     * the amount back to the daily and monthly limits.
+     */
+    @Transactional
+    public void release(String transactionId, TransactionStatus from, String reason) {
+        ledgerEntryRepository.deleteByTransactionId(transactionId);
+        int updated = transactionRepository.markFailed(transactionId, from, LocalDateTime.now(),
+                reason != null && reason.length() > 255 ? reason.substring(0, 255) : reason);
+        if (updated == 1) {
+            transactionRepository.findTransactionByTransactionId(transactionId)
+                    .ifPresent(failed -> outboxService.record(OutboxEventType.TRANSACTION_FAILED, failed));
+        }
+    }
+
+    // limits are in the account's currency, which LedgerService has checked equals the transaction's
+    private void enforceLimits(String accountNumber, Transaction transaction, AccountBalanceDto account) {
+        LocalDate today = LocalDate.now();
+        BigDecimal amount = transaction.getAmount();
+
+        if (account.getDailyLimit() != null) {
+            BigDecimal spentToday = ledgerEntryRepository.sumAmountSince(
+                    accountNumber, LedgerDirection.DEBIT, transaction.getCurrency(), today.atStartOfDay());
+            if (spentToday.add(amount).compareTo(account.getDailyLimit()) > 0) {
+                throw new RuntimeException("Daily limit exceeded for account " + accountNumber);
+            }
+        }
+        if (account.getMonthlyLimit() != null) {
+            BigDecimal spentThisMonth = ledgerEntryRepository.sumAmountSince(
+                    accountNumber, LedgerDirection.DEBIT, transaction.getCurrency(), today.withDayOfMonth(1).atStartOfDay());
+            if (spentThisMonth.add(amount).compareTo(account.getMonthlyLimit()) > 0) {
+                throw new RuntimeException("Monthly limit exceeded for account " + accountNumber);
+            }
+        }
+    }
+
+    private static LedgerEntry leg(Transaction transaction, String accountNumber, LedgerDirection direction, LocalDateTime postedAt) {
+        return LedgerEntry.builder()
+                .transactionId(transaction.getTransactionId())
+                .accountNumber(accountNumber)
+                .direction(direction)
+                .amount(transaction.getAmount())
+                .currency(transaction.getCurrency())
+                .postedAt(postedAt)
+                .build();
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.transactions.service;
+
+import com.example.transactions.dto.response.TransactionEventDto;
+import com.example.transactions.entity.OutboxEvent;
+import com.example.transactions.repository.IOutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ships committed outbox events to Notification in id order, one batch per poll.
+ *
+ * <p>A batch is claimed with {@code FOR UPDATE SKIP LOCKED}, so several Transactions instances can relay in
+ * parallel without handing out the same rows, and it is marked published in the same database transaction
+ * only after the transport accepted it. Delivery is therefore at-least-once: a crash after the transport call
+ * but before the commit resends the batch.</p>
+ *
+ * <p>An event whose payload cannot be read is marked poisoned and counted in
+ * {@code transactions.outbox.poisoned} instead of failing the batch, so it cannot hold up the events behind
+ * it.</p>
+ */
+@Service
+public class OutboxRelay {
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    @Autowired
+    private IOutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OutboxTransport outboxTransport;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final int batchSize;
+    private final Duration retention;
+    private final Counter poisonedCounter;
+
+    public OutboxRelay(@Value("${transactions.outbox.batch-size:200}") int batchSize,
+                       @Value("${transactions.outbox.retention:7d}") Duration retention,
+                       MeterRegistry meterRegistry) {
+        this.batchSize = batchSize;
+        this.retention = retention;
+        this.poisonedCounter = Counter.builder("transactions.outbox.poisoned")
+                .description("Outbox events set aside because their payload could not be read")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${transactions.outbox.poll-interval:1s}")
+    @Transactional
+    public void relay() {
+        List<OutboxEvent> claimed = outboxEventRepository.claimUnpublished(batchSize);
+        if (claimed.isEmpty()) {
+            return;
+        }
+
+        List<TransactionEventDto> events = new ArrayList<>(claimed.size());
+        List<Long> ids = new ArrayList<>(claimed.size());
+        List<Long> poisoned = new ArrayList<>();
+        for (OutboxEvent outboxEvent : claimed) {
+            try {
+                events.add(toDto(outboxEvent));
+                ids.add(outboxEvent.getId());
+            } catch (JsonProcessingException e) {
+                log.error("Outbox event {} for transaction {} has an unreadable payload and will not be relayed: {}",
+                        outboxEvent.getId(), outboxEvent.getAggregateId(), e.getOriginalMessage());
+                poisoned.add(outboxEvent.getId());
+            }
+        }
+        if (!poisoned.isEmpty()) {
+            outboxEventRepository.markPoisoned(poisoned, LocalDateTime.now());
+            poisonedCounter.increment(poisoned.size());
+        }
+        if (events.isEmpty()) {
+            return;
+        }
+
+        try {
+            outboxTransport.publish(events);
+        } catch (RuntimeException e) {
+            log.warn("Relaying {} outbox events failed, retrying on next poll: {}", events.size(), e.getMessage());
+            return;
+        }
+        outboxEventRepository.markPublished(ids, LocalDateTime.now());
+    }
+
+    @Scheduled(fixedDelayString = "${transactions.outbox.purge-interval:1h}")
+    @Transactional
+    public void purgePublished() {
+        outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minus(retention));
+    }
+
+    private TransactionEventDto toDto(OutboxEvent outboxEvent) throws JsonProcessingException {
+        TransactionEventDto event = objectMapper.readValue(outboxEvent.getPayload(), TransactionEventDto.class);
+        event.setEventId(outboxEvent.getId());
+        return event;
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.transactions.service;
+
+import com.example.transactions.dto.response.TransactionEventDto;
+import com.example.transactions.entity.OutboxEvent;
+import com.example.transactions.entity.Transaction;
+import com.example.transactions.enums.OutboxEventType;
+import com.example.transactions.repository.IOutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes transaction domain events to {@code outbox_events}. Every method joins the caller's database
+ * transaction, so an event exists if and only if the state change it describes was committed.
+ *
+ * <p>Each event carries the transaction's {@code eventVersion}, which consumers use to order events of one
+ * transaction: TRANSACTION_POSTED has version 1 and {@link #record} increments it on the managed entity, so
+ * callers must hold the row lock of the change they record (the conditional UPDATE or a
+ * {@code SELECT ... FOR UPDATE}) until commit.</p>
+ */
+@Service
+public class OutboxService {
+    @Autowired
+    private IOutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private FeeScheduleService feeScheduleService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final BigDecimal fraudThreshold;
+
+    public OutboxService(@Value("${transactions.outbox.fraud-threshold:0.7}") BigDecimal fraudThreshold) {
+        this.fraudThreshold = fraudThreshold;
+    }
+
+    /**
+     * Records TRANSACTION_POSTED for each transaction, plus FRAUD_FLAGGED for those whose risk score reaches
+     * the configured threshold.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordPosted(List<Transaction> transactions) {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> events = new ArrayList<>(transactions.size());
+        for (Transaction transaction : transactions) {
+            events.add(event(OutboxEventType.TRANSACTION_POSTED, transaction, now));
+            if (transaction.getRiskScore() != null && transaction.getRiskScore().compareTo(fraudThreshold) >= 0) {
+                events.add(event(OutboxEventType.FRAUD_FLAGGED, transaction, now));
+            }
+        }
+        outboxEventRepository.saveAll(events);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(OutboxEventType eventType, Transaction transaction) {
+        transaction.setEventVersion((transaction.getEventVersion() != null ? transaction.getEventVersion() : 0L) + 1);
+        outboxEventRepository.save(event(eventType, transaction, LocalDateTime.now()));
+    }
+
+    private OutboxEvent event(OutboxEventType eventType, Transaction transaction, LocalDateTime now) {
+        TransactionEventDto payload = new TransactionEventDto();
+        payload.setEventType(eventType);
+        payload.setVersion(transaction.getEventVersion() != null ? transaction.getEventVersion() : 1L);
+        payload.setTransactionId(transaction.getTransactionId());
+        payload.setTransactionType(transaction.getTransactionType());
+        payload.setStatus(transaction.getStatus());
+        payload.setFromAccountNumber(transaction.getFromAccountNumber() != null
+                ? transaction.getFromAccountNumber() : transaction.getFromAccountId());
+        payload.setToAccountNumber(transaction.getToAccountNumber() != null
+                ? transaction.getToAccountNumber() : transaction.getToAccountId());
+        payload.setAmount(transaction.getAmount());
+        payload.setCurrency(transaction.getCurrency());
+        payload.setFee(feeScheduleService.quote(
+                transaction.getTransactionType(), transaction.getCurrency(), transaction.getAmount()));
+        payload.setRiskScore(transaction.getRiskScore());
+        payload.setFailureReason(transaction.getFailureReason());
+        payload.setOccurredAt(now);
+
+        try {
+            return OutboxEvent.builder()
+                    .aggregateId(transaction.getTransactionId())
+                    .eventType(eventType)
+                    .payload(objectMapper.writeValueAsString(payload))
+                    .createdAt(now)
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not serialize " + eventType + " event for transaction " + transaction.getTransactionId(), e);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.transactions.service;
+
+import com.example.transactions.dto.response.TransactionEventDto;
+
+import java.util.List;
+
+/**
+ * Delivers one batch of outbox events to Notification. A call that returns normally means the whole batch
+ * was accepted; any exception leaves the batch unpublished so the relay retries it. Receivers must therefore
+ * tolerate the same event more than once.
+ */
+public interface OutboxTransport {
+    void publish(List<TransactionEventDto> events);
+}
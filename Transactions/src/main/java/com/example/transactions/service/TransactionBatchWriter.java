@@ -0,0 +1,49 @@
+package com.example.transactions.service;
+
+import com.example.transactions.entity.Transaction;
+import com.example.transactions.repository.ITransactionRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Persists new transactions together with their TRANSACTION_POSTED outbox events, one chunk of a bulk upload
+ * per database transaction. Inserts are grouped into JDBC batches by Hibernate
+ * ({@code hibernate.jdbc.batch_size}), and the persistence context is cleared afterwards so a large upload
+ * does not accumulate managed entities. Only committed transactions are added to the velocity windows.
+ */
+@Service
+public class TransactionBatchWriter {
+    @Autowired
+    private ITransactionRepository transactionRepository;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private VelocityRiskEngine velocityRiskEngine;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional
+    public Transaction save(Transaction transaction) {
+        Transaction saved = transactionRepository.save(transaction);
+        outboxService.recordPosted(List.of(saved));
+        velocityRiskEngine.recordAfterCommit(saved);
+        return saved;
+    }
+
+    @Transactional
+    public void saveChunk(List<Transaction> chunk) {
+        transactionRepository.saveAll(chunk);
+        outboxService.recordPosted(chunk);
+        chunk.forEach(velocityRiskEngine::recordAfterCommit);
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
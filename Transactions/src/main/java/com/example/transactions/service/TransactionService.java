@@ -2,35 +2,150 @@ package com.example.transactions.service;
 
 import com.example.transactions.dto.request.PutTransactionDto;
 import com.example.transactions.dto.request.PostTransactionDto;
+import com.example.transactions.dto.response.BatchItemResultDto;
+import com.example.transactions.dto.response.BatchResultDto;
+import com.example.transactions.dto.response.FeeQuoteDto;
 import com.example.transactions.dto.response.ModifyTransactionCurrencyDto;
 import com.example.transactions.dto.response.TransactionDto;
+import com.example.transactions.dto.response.TransactionPageDto;
 import com.example.transactions.entity.Transaction;
 import com.example.transactions.enums.Currency;
+import com.example.transactions.enums.OutboxEventType;
 import com.example.transactions.enums.TransactionStatus;
 import com.example.transactions.enums.TransactionType;
 import com.example.transactions.mapper.TransactionMapper;
 import com.example.transactions.repository.ITransactionRepository;
 import com.example.transactions.service.ITransactionService;
+import com.example.transactions.utils.ExchangeRateTable;
+import com.example.transactions.utils.HistoryCursor;
 import com.example.transactions.utils.TransactionHelper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import javax.swing.text.html.Option;
+import java.io.BufferedReader;
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
 public class TransactionService implements ITransactionService {
+    private static final Logger log = LoggerFactory.getLogger(TransactionService.class);
+    private static final int BATCH_CHUNK_SIZE = 500;
+    private static final int MAX_HISTORY_PAGE_SIZE = 200;
+    private static final int MAX_FEE_QUOTE_BATCH = 1000;
+    private static final Comparator<Transaction> HISTORY_ORDER = Comparator
+            .comparing(Transaction::getInitiatedAt, Comparator.reverseOrder())
+            .thenComparing(Transaction::getId, Comparator.reverseOrder());
+
     @Autowired
     private ITransactionRepository transactionRepository;
 
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private TransactionBatchWriter transactionBatchWriter;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private VelocityRiskEngine velocityRiskEngine;
+
+    @Autowired
+    private FeeScheduleService feeScheduleService;
+
+    @Autowired
+    private ExchangeRateService exchangeRateService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @Override
     public TransactionDto postTransaction(PostTransactionDto transactionDto) {
         Transaction transaction = TransactionMapper.ToEntity(transactionDto);
-        transactionRepository.save(transaction);
+        transaction.setRiskScore(velocityRiskEngine.score(transaction));
+        transactionBatchWriter.save(transaction);
         return TransactionMapper.ToDto(transaction);
     }
 
+    @Override
+    public TransactionDto postTransaction(PostTransactionDto transactionDto, String idempotencyKey, String principal) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return postTransaction(transactionDto);
+        }
+        if (idempotencyKey.length() > IdempotencyService.MAX_KEY_LENGTH) {
+            throw new RuntimeException("Idempotency-Key must be at most " + IdempotencyService.MAX_KEY_LENGTH + " characters");
+        }
+
+        String scopedKey = idempotencyService.scope(principal, idempotencyKey);
+        String requestHash = idempotencyService.fingerprint(transactionDto);
+        Optional<String> replayed = idempotencyService.findTransactionId(scopedKey, requestHash);
+        if (replayed.isPresent()) {
+            return fetchTransactionById(replayed.get());
+        }
+        try {
+            return idempotencyService.executeOnce(scopedKey, requestHash, () -> postTransaction(transactionDto));
+        } catch (DataIntegrityViolationException e) {
+            // another request with the same key won the insert
+            String transactionId = idempotencyService.findTransactionId(scopedKey, requestHash).orElseThrow(() -> e);
+            return fetchTransactionById(transactionId);
+        }
+    }
+
+    @Override
+    public BatchResultDto postTransactionsBatch(List<JsonNode> transactionDtos) {
+        BatchCollector collector = new BatchCollector();
+        for (int i = 0; i < transactionDtos.size(); i++) {
+            // bound element by element so one bad item is rejected on its own, as in the NDJSON form
+            try {
+                collector.accept(i, objectMapper.treeToValue(transactionDtos.get(i), PostTransactionDto.class));
+            } catch (JsonProcessingException e) {
+                collector.reject(i, "Malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+        return collector.finish();
+    }
+
+    @Override
+    public BatchResultDto postTransactionsBatch(BufferedReader ndjson) throws IOException {
+        BatchCollector collector = new BatchCollector();
+        int index = 0;
+        String line;
+        while ((line = ndjson.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                collector.accept(index, objectMapper.readValue(line, PostTransactionDto.class));
+            } catch (JsonProcessingException e) {
+                collector.reject(index, "Malformed JSON: " + e.getOriginalMessage());
+            }
+            index++;
+        }
+        return collector.finish();
+    }
+
     @Override
     public TransactionDto fetchTransactionById(String transactionId) {
         Optional<Transaction> transaction = transactionRepository.findTransactionByTransactionId(transactionId);
@@ -43,74 +158,142 @@ public class TransactionService implements ITransactionService {
     }
 
     @Override
-    public boolean putTransaction(PutTransactionDto transactionDto, String transactionId) {
-        Optional<Transaction> transactionToPatch = transactionRepository.findTransactionByTransactionId(transactionId);
+    @Transactional(readOnly = true)
+    public TransactionPageDto fetchTransactionHistory(String accountId, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_HISTORY_PAGE_SIZE));
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        List<Transaction> outgoing;
+        List<Transaction> incoming;
+        if (cursor == null || cursor.isBlank()) {
+            outgoing = transactionRepository.findOutgoingHistory(accountId, limit);
+            incoming = transactionRepository.findIncomingHistory(accountId, limit);
+        } else {
+            HistoryCursor after = HistoryCursor.decode(cursor);
+            outgoing = transactionRepository.findOutgoingHistoryBefore(accountId, after.lastInitiatedAt(), after.lastId(), limit);
+            incoming = transactionRepository.findIncomingHistoryBefore(accountId, after.lastInitiatedAt(), after.lastId(), limit);
+        }
 
-        if (transactionToPatch.isPresent()) {
-            Transaction existing = transactionToPatch.get();
-            Transaction updated = TransactionMapper.ToEntity(transactionDto, existing.getId(), transactionId);
-            transactionRepository.save(updated);
+        // both inputs are already in (initiatedAt desc, id desc) order, each served by its own index
+        List<Transaction> merged = new ArrayList<>(pageSize + 1);
+        int o = 0;
+        int i = 0;
+        while (merged.size() <= pageSize && (o < outgoing.size() || i < incoming.size())) {
+            Transaction next;
+            if (i >= incoming.size()) {
+                next = outgoing.get(o++);
+            } else if (o >= outgoing.size()) {
+                next = incoming.get(i++);
+            } else {
+                int order = HISTORY_ORDER.compare(outgoing.get(o), incoming.get(i));
+                if (order == 0) {
+                    // a transaction from the account to itself is returned by both queries
+                    i++;
+                    continue;
+                }
+                next = order < 0 ? outgoing.get(o++) : incoming.get(i++);
+            }
+            merged.add(next);
+        }
+
+        boolean hasMore = merged.size() > pageSize;
+        List<Transaction> page = hasMore ? merged.subList(0, pageSize) : merged;
+        String nextCursor = hasMore ? HistoryCursor.after(page.get(page.size() - 1)).encode() : null;
+
+        return new TransactionPageDto(
+                page.stream().map(TransactionMapper::ToDto).toList(),
+                nextCursor,
+                hasMore);
+    }
+
+    @Override
+    @Transactional
+    public boolean putTransaction(PutTransactionDto transactionDto, String transactionId) {
+        int updated = transactionRepository.updateDetailsIfPending(
+                transactionId,
+                transactionDto.getFromAccountId(),
+                transactionDto.getToAccountId(),
+                transactionDto.getFromAccountNumber(),
+                transactionDto.getToAccountNumber(),
+                transactionDto.getTransactionType(),
+                transactionDto.getAmount(),
+                transactionDto.getCurrency(),
+                transactionDto.getDescription());
+        if (updated == 1) {
+            recordUpdated(transactionId);
             return true;
         }
-        throw new RuntimeException("Transaction with ID " + transactionId + " not found in method patchTransaction");
+        throw transitionRejected(transactionId, "modified", "putTransaction");
     }
 
     @Override
+    @Transactional
     public boolean cancelTransactionById(String transactionId) {
-        Optional<Transaction> transactionToCancel = transactionRepository.findTransactionByTransactionId(transactionId);
-
-        if(transactionToCancel.isPresent()) {
-            transactionToCancel.get().setStatus(TransactionStatus.CANCELLED);
-            transactionRepository.save(transactionToCancel.get());
+        if (transactionRepository.compareAndSetStatus(transactionId, TransactionStatus.PENDING, TransactionStatus.CANCELLED) == 1) {
+            recordUpdated(transactionId);
             return true;
         }
-        throw new RuntimeException("Transaction with ID " + transactionId + " not found in method cancelTransactionById");
+        throw transitionRejected(transactionId, "cancelled", "cancelTransactionById");
     }
 
     @Override
     public boolean executePaymentByTransactionId(String transactionId) {
-        Optional<Transaction> transactionToExecutePayment = transactionRepository.findTransactionByTransactionId(transactionId);
-
-        if(transactionToExecutePayment.isPresent()) {
-            transactionToExecutePayment.get().setStatus(TransactionStatus.COMPLETED);
-            // further implementation to move money from one account to another
-            transactionRepository.save(transactionToExecutePayment.get());
-            return true;
+        // claim the transaction first so a concurrent cancel or second execution is rejected while money moves
+        if (transactionRepository.claimForProcessing(transactionId, LocalDateTime.now()) == 0) {
+            throw transitionRejected(transactionId, "executed", "executePaymentByTransactionId");
         }
-        throw new RuntimeException("Transaction with ID " + transactionId + " not found in method executePaymentByTransactionId");
+        return ledgerService.post(transactionId);
     }
 
     @Override
+    @Transactional
     public boolean modifyTransactionType(String transactionId, TransactionType newTransactionType) {
-        Optional<Transaction> transactionToExecutePayment = transactionRepository.findTransactionByTransactionId(transactionId);
-
-        if(transactionToExecutePayment.isPresent()) {
-            transactionToExecutePayment.get().setTransactionType(newTransactionType);
-            transactionRepository.save(transactionToExecutePayment.get());
+        if (transactionRepository.updateTypeIfPending(transactionId, newTransactionType) == 1) {
+            recordUpdated(transactionId);
             return true;
         }
-        throw new RuntimeException("Transaction with ID " + transactionId + " not found in method executePaymentByTransactionId");
+        throw transitionRejected(transactionId, "modified", "modifyTransactionType");
+    }
+
+    // the conditional UPDATE that preceded this holds the row lock until commit
+    private void recordUpdated(String transactionId) {
+        transactionRepository.findTransactionByTransactionId(transactionId)
+                .ifPresent(updated -> outboxService.record(OutboxEventType.TRANSACTION_UPDATED, updated));
+    }
+
+    private RuntimeException transitionRejected(String transactionId, String action, String method) {
+        return transactionRepository.findStatusByTransactionId(transactionId)
+                .<RuntimeException>map(status -> new RuntimeException(
+                        "Transaction with ID " + transactionId + " is " + status + " and cannot be " + action))
+                .orElseGet(() -> new RuntimeException(
+                        "Transaction with ID " + transactionId + " not found in method " + method));
     }
 
     @Override
+    @Transactional
     public ModifyTransactionCurrencyDto modifyTransactionCurrency(String transactionId, Currency newCurrency) {
-        Optional<Transaction> transactionToModifyCurrency = transactionRepository.findTransactionByTransactionId(transactionId);
+        Optional<Transaction> transactionToModifyCurrency = transactionRepository.findForUpdate(transactionId);
 
         if(transactionToModifyCurrency.isPresent()) {
+            ExchangeRateTable rates = exchangeRateService.current();
             Currency previousCurrency = transactionToModifyCurrency.get().getCurrency();
             transactionToModifyCurrency.get().setCurrency(newCurrency);
-            BigDecimal newAmount = (TransactionHelper.ConvertCurrency(
+            BigDecimal newAmount = rates.convert(
                     previousCurrency,
                     newCurrency,
                     transactionToModifyCurrency.get().getAmount()
-            ));
+            );
             transactionToModifyCurrency.get().setAmount(newAmount);
+            transactionToModifyCurrency.get().setExchangeRateVersion(rates.getVersion());
             transactionRepository.save(transactionToModifyCurrency.get());
+            outboxService.record(OutboxEventType.TRANSACTION_UPDATED, transactionToModifyCurrency.get());
 
             return new ModifyTransactionCurrencyDto(
                     transactionId,
                     newCurrency,
-                    newAmount
+                    newAmount,
+                    rates.rate(previousCurrency, newCurrency),
+                    rates.getVersion()
             );
         }
         throw new RuntimeException("Transaction with ID " + transactionId + " not found in method modifyTransactionCurrency");
@@ -121,24 +304,118 @@ public class TransactionService implements ITransactionService {
         Optional<Transaction> transaction = transactionRepository.findTransactionByTransactionId(transactionId);
 
         if(transaction.isPresent()) {
-            return switch (transaction.get().getTransactionType()) {
-                case TRANSFER -> transaction.get().getAmount().multiply(new BigDecimal("0.01"));
-                case WITHDRAWAL -> new BigDecimal("2.50");
-                case DEPOSIT -> BigDecimal.ZERO;
-                case PAYMENT -> transaction.get().getAmount().multiply(new BigDecimal("0.015"));
-                default -> BigDecimal.ZERO;
-            };
+            return feeScheduleService.quote(
+                    transaction.get().getTransactionType(),
+                    transaction.get().getCurrency(),
+                    transaction.get().getAmount());
         }
         throw new RuntimeException("Transaction with ID " + transactionId + " not found in method generateTransactionAmount");
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<FeeQuoteDto> calculateTransactionFees(List<String> transactionIds) {
+        if (transactionIds.size() > MAX_FEE_QUOTE_BATCH) {
+            throw new RuntimeException("At most " + MAX_FEE_QUOTE_BATCH + " transactions can be quoted per call");
+        }
+        Map<String, Transaction> found = new HashMap<>();
+        for (Transaction transaction : transactionRepository.findByTransactionIdIn(new HashSet<>(transactionIds))) {
+            found.put(transaction.getTransactionId(), transaction);
+        }
+
+        String version = feeScheduleService.getVersion();
+        List<FeeQuoteDto> quotes = new ArrayList<>(transactionIds.size());
+        for (String transactionId : transactionIds) {
+            Transaction transaction = found.get(transactionId);
+            if (transaction == null) {
+                quotes.add(new FeeQuoteDto(transactionId, null, null, version, "Transaction not found"));
+            } else {
+                BigDecimal fee = feeScheduleService.quote(
+                        transaction.getTransactionType(), transaction.getCurrency(), transaction.getAmount());
+                quotes.add(new FeeQuoteDto(transactionId, fee, transaction.getCurrency(), version, null));
+            }
+        }
+        return quotes;
+    }
+
     @Override
     public String antiFraudCheck(String transactionId) {
         Optional<Transaction> transaction = transactionRepository.findTransactionByTransactionId(transactionId);
 
-        if(transaction.isPresent() && transaction.get().getStatus() == TransactionStatus.COMPLETED) {
-            return TransactionHelper.checkAmountAntiFraud(transaction.get()).toString();
+        if(transaction.isPresent()) {
+            BigDecimal riskScore = transaction.get().getRiskScore();
+            return (riskScore != null ? riskScore : TransactionHelper.checkAmountAntiFraud(transaction.get())).toString();
         }
         throw new RuntimeException("Transaction with ID " + transactionId + " not found in method antiFraudCheck");
     }
+
+    // Validates items as they arrive and persists the valid ones in fixed-size chunks. A chunk that fails as a
+    // whole is retried item by item, so only the items that actually fail are rejected.
+    private final class BatchCollector {
+        private final List<BatchItemResultDto> results = new ArrayList<>();
+        private final List<Transaction> chunk = new ArrayList<>(BATCH_CHUNK_SIZE);
+        private final List<Integer> chunkIndexes = new ArrayList<>(BATCH_CHUNK_SIZE);
+        private final VelocityRiskEngine.BatchWindow velocity = new VelocityRiskEngine.BatchWindow();
+        private int accepted;
+
+        void accept(int index, PostTransactionDto transactionDto) {
+            String error = TransactionHelper.validate(transactionDto);
+            if (error != null) {
+                reject(index, error);
+                return;
+            }
+            Transaction transaction = TransactionMapper.ToEntity(transactionDto);
+            // earlier items of this batch are not in the velocity windows until their chunk commits
+            transaction.setRiskScore(velocityRiskEngine.scoreInBatch(transaction, velocity));
+            chunk.add(transaction);
+            chunkIndexes.add(index);
+            if (chunk.size() == BATCH_CHUNK_SIZE) {
+                flush();
+            }
+        }
+
+        void reject(int index, String error) {
+            results.add(BatchItemResultDto.rejected(index, error));
+        }
+
+        BatchResultDto finish() {
+            flush();
+            results.sort(Comparator.comparingInt(BatchItemResultDto::getIndex));
+            return new BatchResultDto(accepted, results.size() - accepted, results);
+        }
+
+        private void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            try {
+                transactionBatchWriter.saveChunk(chunk);
+                for (int i = 0; i < chunk.size(); i++) {
+                    results.add(BatchItemResultDto.accepted(chunkIndexes.get(i), chunk.get(i).getTransactionId()));
+                }
+                accepted += chunk.size();
+            } catch (RuntimeException e) {
+                log.warn("Batch chunk of {} failed, retrying item by item: {}", chunk.size(), e.getMessage());
+                for (int i = 0; i < chunk.size(); i++) {
+                    saveOne(chunkIndexes.get(i), chunk.get(i));
+                }
+            }
+            chunk.clear();
+            chunkIndexes.clear();
+            // the saved items are now recorded in the engine itself, the rejected ones must not count
+            velocity.clear();
+        }
+
+        private void saveOne(int index, Transaction transaction) {
+            // the id drawn in the rolled-back chunk was never written
+            transaction.setId(null);
+            try {
+                transactionBatchWriter.save(transaction);
+                results.add(BatchItemResultDto.accepted(index, transaction.getTransactionId()));
+                accepted++;
+            } catch (RuntimeException e) {
+                reject(index, e.getMessage());
+            }
+        }
+    }
 }
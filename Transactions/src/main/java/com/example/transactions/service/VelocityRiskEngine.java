@@ -0,0 +1,353 @@
+package com.example.transactions.service;
+
+import com.example.transactions.entity.Transaction;
+import com.example.transactions.enums.Currency;
+import com.example.transactions.utils.TransactionHelper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Inline fraud scoring from per-account sliding windows over the last minute, hour and day.
+ *
+ * <p>Each account keeps three rings of time buckets in primitive arrays, each holding only what its window is
+ * scored on: transaction counts over the minute (12 x 5s), counts and a 64-bit counterparty bitmap over the
+ * hour (12 x 5m) and the amount sum over the day (24 x 1h), about 1 KB per account. A bucket whose epoch is
+ * older than the window is simply overwritten, so recording and reading are O(buckets) with no allocation.
+ * Distinct counterparties are estimated by linear counting over the OR of the bitmaps, and daily sums are
+ * converted to {@code transactions.risk.limit-currency} so the daily limit means the same in every currency.</p>
+ *
+ * <p>{@link #score} only reads the window; a transaction is added to it by {@link #recordAfterCommit} once it
+ * has been persisted, so rejected, failed and replayed requests never count. Items of one bulk request are
+ * scored through a {@link BatchWindow} so they count against each other before they commit. Accounts with no activity for a
+ * day are dropped by a scheduled sweep, and accounts idle for an hour as well once the map nears its cap.</p>
+ */
+@Service
+public class VelocityRiskEngine {
+
+    private static final long SECOND = 1_000L;
+    private static final long MINUTE = 60 * SECOND;
+    private static final long HOUR = 60 * MINUTE;
+    private static final long DAY = 24 * HOUR;
+
+    private final ConcurrentHashMap<String, AccountWindow> windows = new ConcurrentHashMap<>();
+
+    private final ExchangeRateService exchangeRateService;
+    private final int maxTrackedAccounts;
+    private final int maxPerMinute;
+    private final int maxPerHour;
+    private final long maxDailySumMinor;
+    private final Currency limitCurrency;
+    private final int maxDistinctCounterpartiesPerHour;
+
+    public VelocityRiskEngine(ExchangeRateService exchangeRateService,
+                              @Value("${transactions.risk.max-tracked-accounts:100000}") int maxTrackedAccounts,
+                              @Value("${transactions.risk.max-per-minute:5}") int maxPerMinute,
+                              @Value("${transactions.risk.max-per-hour:30}") int maxPerHour,
+                              @Value("${transactions.risk.max-daily-sum:50000}") BigDecimal maxDailySum,
+                              @Value("${transactions.risk.limit-currency:RON}") Currency limitCurrency,
+                              @Value("${transactions.risk.max-distinct-counterparties-per-hour:10}") int maxDistinctCounterpartiesPerHour) {
+        this.exchangeRateService = exchangeRateService;
+        this.maxTrackedAccounts = maxTrackedAccounts;
+        this.maxPerMinute = maxPerMinute;
+        this.maxPerHour = maxPerHour;
+        this.maxDailySumMinor = toMinor(maxDailySum);
+        this.limitCurrency = limitCurrency;
+        this.maxDistinctCounterpartiesPerHour = maxDistinctCounterpartiesPerHour;
+    }
+
+    /**
+     * Returns a risk score between 0 and 1 for the transaction, combining the amount bands with the velocity
+     * the account it spends from (the receiving account for deposits) would have if it were accepted.
+     */
+    public BigDecimal score(Transaction transaction) {
+        return score(transaction, null);
+    }
+
+    /**
+     * Scores one item of a bulk request, counting the earlier items of the same request that are not committed
+     * yet, and then adds the item to {@code batch}. The caller clears the batch once its items have committed,
+     * since from then on they are in the account windows.
+     */
+    public BigDecimal scoreInBatch(Transaction transaction, BatchWindow batch) {
+        BigDecimal score = score(transaction, batch);
+        String account = account(transaction);
+        if (account != null) {
+            batch.add(account, normalizedMinor(transaction), counterpartyBit(counterparty(transaction, account)));
+        }
+        return score;
+    }
+
+    private BigDecimal score(Transaction transaction, BatchWindow batch) {
+        BigDecimal amountScore = TransactionHelper.checkAmountAntiFraud(transaction);
+        String account = account(transaction);
+        if (account == null) {
+            return amountScore;
+        }
+        String counterparty = counterparty(transaction, account);
+        long now = System.currentTimeMillis();
+        long amountMinor = normalizedMinor(transaction);
+        long bit = counterpartyBit(counterparty);
+
+        int perMinute = 1;
+        int perHour = 1;
+        long dailySumMinor = amountMinor;
+        long counterparties = bit;
+        AccountWindow window = windows.get(account);
+        if (window != null) {
+            synchronized (window) {
+                perMinute += window.minute.count(now);
+                perHour += window.hour.count(now);
+                dailySumMinor += window.day.sum(now);
+                counterparties |= window.hour.counterparties(now);
+            }
+        }
+        BatchWindow.Pending pending = batch != null ? batch.pending.get(account) : null;
+        if (pending != null) {
+            perMinute += pending.count;
+            perHour += pending.count;
+            dailySumMinor += pending.sumMinor;
+            counterparties |= pending.counterparties;
+        }
+
+        double velocityScore = velocityScore(perMinute, perHour, dailySumMinor, counterparties);
+        double score = Math.min(1.0, amountScore.doubleValue() + velocityScore);
+        return BigDecimal.valueOf(score).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Adds a persisted transaction to its account's window, after the surrounding database transaction
+     * commits when there is one.
+     */
+    public void recordAfterCommit(Transaction transaction) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            record(transaction);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                record(transaction);
+            }
+        });
+    }
+
+    void record(Transaction transaction) {
+        String account = account(transaction);
+        if (account == null) {
+            return;
+        }
+        AccountWindow window = windows.get(account);
+        if (window == null) {
+            if (windows.size() >= maxTrackedAccounts) {
+                return;
+            }
+            window = windows.computeIfAbsent(account, key -> new AccountWindow());
+        }
+        long bit = counterpartyBit(counterparty(transaction, account));
+        synchronized (window) {
+            window.record(System.currentTimeMillis(), normalizedMinor(transaction), bit);
+        }
+    }
+
+    int trackedAccounts() {
+        return windows.size();
+    }
+
+    private double velocityScore(int perMinute, int perHour, long dailySumMinor, long counterparties) {
+        double score = 0;
+        if (perMinute > maxPerMinute) {
+            score += 0.3;
+        }
+        if (perHour > maxPerHour) {
+            score += 0.2;
+        }
+        if (dailySumMinor > maxDailySumMinor) {
+            score += 0.3;
+        }
+        if (distinctCounterparties(counterparties) > maxDistinctCounterpartiesPerHour) {
+            score += 0.3;
+        }
+        return score;
+    }
+
+    @Scheduled(fixedDelayString = "${transactions.risk.eviction-interval:5m}")
+    public void evictIdleAccounts() {
+        long now = System.currentTimeMillis();
+        // near the cap, give up the daily sums of accounts quiet for an hour to make room for active ones
+        long cutoff = windows.size() >= maxTrackedAccounts * 9L / 10 ? now - HOUR : now - DAY;
+        windows.entrySet().removeIf(entry -> entry.getValue().lastSeen < cutoff);
+    }
+
+    private long normalizedMinor(Transaction transaction) {
+        BigDecimal amount = transaction.getAmount();
+        if (amount == null) {
+            return 0;
+        }
+        if (transaction.getCurrency() != null && transaction.getCurrency() != limitCurrency) {
+            amount = exchangeRateService.current().convert(transaction.getCurrency(), limitCurrency, amount);
+        }
+        return toMinor(amount);
+    }
+
+    private static String account(Transaction transaction) {
+        return firstNonNull(transaction.getFromAccountNumber(), transaction.getFromAccountId(),
+                transaction.getToAccountNumber(), transaction.getToAccountId());
+    }
+
+    private static String counterparty(Transaction transaction, String account) {
+        return account.equals(transaction.getFromAccountNumber()) || account.equals(transaction.getFromAccountId())
+                ? firstNonNull(transaction.getToAccountNumber(), transaction.getToAccountId())
+                : null;
+    }
+
+    private static long counterpartyBit(String counterparty) {
+        return counterparty != null ? 1L << (mix(counterparty.hashCode()) & 63) : 0L;
+    }
+
+    private static int mix(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        return hash;
+    }
+
+    private static int distinctCounterparties(long bits) {
+        int zeros = 64 - Long.bitCount(bits);
+        if (zeros == 0) {
+            return Integer.MAX_VALUE;
+        }
+        return (int) Math.round(-64 * Math.log(zeros / 64.0));
+    }
+
+    private static long toMinor(BigDecimal amount) {
+        return amount == null ? 0 : amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValue();
+    }
+
+    private static String firstNonNull(String... values) {
+        for (String value : values) {
+            if (value != null && !value.isBlank()) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The items of one bulk request that were scored but have not committed yet, per account. Owned by a
+     * single request thread; they all arrived within the request, so each counts in every window.
+     */
+    public static final class BatchWindow {
+        private final Map<String, Pending> pending = new HashMap<>();
+
+        public void clear() {
+            pending.clear();
+        }
+
+        void add(String account, long amountMinor, long counterpartyBit) {
+            Pending entry = pending.computeIfAbsent(account, key -> new Pending());
+            entry.count++;
+            entry.sumMinor += amountMinor;
+            entry.counterparties |= counterpartyBit;
+        }
+
+        private static final class Pending {
+            private int count;
+            private long sumMinor;
+            private long counterparties;
+        }
+    }
+
+    private static final class AccountWindow {
+        private final Ring minute = new Ring(12, 5 * SECOND, false, false);
+        private final Ring hour = new Ring(12, 5 * MINUTE, false, true);
+        private final Ring day = new Ring(24, HOUR, true, false);
+        private volatile long lastSeen;
+
+        void record(long nowMillis, long amountMinor, long counterpartyBit) {
+            lastSeen = nowMillis;
+            minute.add(nowMillis, amountMinor, counterpartyBit);
+            hour.add(nowMillis, amountMinor, counterpartyBit);
+            day.add(nowMillis, amountMinor, counterpartyBit);
+        }
+    }
+
+    private static final class Ring {
+        private final long bucketMillis;
+        private final long[] epochs;
+        private final int[] counts;
+        private final long[] sums;
+        private final long[] counterparties;
+
+        Ring(int buckets, long bucketMillis, boolean tracksSums, boolean tracksCounterparties) {
+            this.bucketMillis = bucketMillis;
+            this.epochs = new long[buckets];
+            this.counts = new int[buckets];
+            this.sums = tracksSums ? new long[buckets] : null;
+            this.counterparties = tracksCounterparties ? new long[buckets] : null;
+        }
+
+        void add(long nowMillis, long amountMinor, long counterpartyBit) {
+            long epoch = nowMillis / bucketMillis;
+            int slot = (int) (epoch % epochs.length);
+            if (epochs[slot] != epoch) {
+                epochs[slot] = epoch;
+                counts[slot] = 0;
+                if (sums != null) {
+                    sums[slot] = 0;
+                }
+                if (counterparties != null) {
+                    counterparties[slot] = 0;
+                }
+            }
+            counts[slot]++;
+            if (sums != null) {
+                sums[slot] += amountMinor;
+            }
+            if (counterparties != null) {
+                counterparties[slot] |= counterpartyBit;
+            }
+        }
+
+        int count(long nowMillis) {
+            long oldest = nowMillis / bucketMillis - epochs.length;
+            int total = 0;
+            for (int i = 0; i < epochs.length; i++) {
+                if (epochs[i] > oldest) {
+                    total += counts[i];
+                }
+            }
+            return total;
+        }
+
+        long sum(long nowMillis) {
+            long oldest = nowMillis / bucketMillis - epochs.length;
+            long total = 0;
+            for (int i = 0; i < epochs.length; i++) {
+                if (epochs[i] > oldest) {
+                    total += sums[i];
+                }
+            }
+            return total;
+        }
+
+        long counterparties(long nowMillis) {
+            long oldest = nowMillis / bucketMillis - epochs.length;
+            long bits = 0;
+            for (int i = 0; i < epochs.length; i++) {
+                if (epochs[i] > oldest) {
+                    bits |= counterparties[i];
+                }
+            }
+            return bits;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.transactions.utils;
+
+import com.example.transactions.enums.Currency;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Immutable, versioned set of exchange rates. Rates are given as the value of one unit of each currency in
+ * the base currency, and the full cross-rate matrix is precomputed when the table is built, so a conversion is
+ * an array lookup and one multiplication.
+ */
+public final class ExchangeRateTable {
+
+    private static final int CROSS_RATE_SCALE = 16;
+    private static final int AMOUNT_SCALE = 8;
+
+    private final String version;
+    private final BigDecimal[][] crossRates;
+
+    private ExchangeRateTable(String version, BigDecimal[][] crossRates) {
+        this.version = version;
+        this.crossRates = crossRates;
+    }
+
+    public static ExchangeRateTable compile(JsonNode root) {
+        Currency[] currencies = Currency.values();
+        BigDecimal[] toBase = new BigDecimal[currencies.length];
+        for (Currency currency : currencies) {
+            JsonNode rate = root.path("rates").get(currency.name());
+            if (rate == null || rate.isNull()) {
+                throw new IllegalArgumentException("Missing exchange rate for " + currency);
+            }
+            toBase[currency.ordinal()] = new BigDecimal(rate.asText());
+            if (toBase[currency.ordinal()].signum() <= 0) {
+                throw new IllegalArgumentException("Exchange rate for " + currency + " must be positive");
+            }
+        }
+
+        BigDecimal[][] crossRates = new BigDecimal[currencies.length][currencies.length];
+        for (Currency from : currencies) {
+            for (Currency to : currencies) {
+                crossRates[from.ordinal()][to.ordinal()] = from == to
+                        ? BigDecimal.ONE
+                        : toBase[from.ordinal()].divide(toBase[to.ordinal()], CROSS_RATE_SCALE, RoundingMode.HALF_UP)
+                                .stripTrailingZeros();
+            }
+        }
+        return new ExchangeRateTable(root.path("version").asText("unversioned"), crossRates);
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public BigDecimal rate(Currency from, Currency to) {
+        return crossRates[from.ordinal()][to.ordinal()];
+    }
+
+    public BigDecimal convert(Currency from, Currency to, BigDecimal amount) {
+        if (from == to) {
+            return amount;
+        }
+        return amount.multiply(crossRates[from.ordinal()][to.ordinal()]).setScale(AMOUNT_SCALE, RoundingMode.HALF_UP);
+    }
+}
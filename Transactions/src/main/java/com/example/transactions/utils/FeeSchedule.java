@@ -0,0 +1,122 @@
+package com.example.transactions.utils;
+
+import com.example.transactions.enums.Currency;
+import com.example.transactions.enums.TransactionType;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Immutable, compiled form of {@code fee-schedule.json}. Rules are resolved up front into a
+ * {@code [transactionType][currency]} table, and every rate, fixed fee, tier bound and cap is stored as a
+ * {@code long} (minor units, rates in parts per million), so quoting is a table lookup plus integer arithmetic.
+ *
+ * <p>A rule matches one transaction type and either one currency or {@code "*"}; a currency-specific rule wins
+ * over the wildcard. Tiers are ordered by {@code upTo} (inclusive, {@code null} meaning unbounded), the last
+ * tier must be unbounded so every amount has a tier, and the first tier containing the amount applies its rate
+ * and fixed fee to the whole amount, after which the optional {@code min}/{@code max} caps are applied. Types
+ * without a rule are free.</p>
+ */
+public final class FeeSchedule {
+
+    private static final long PPM = 1_000_000L;
+
+    private final String version;
+    private final Rule[][] rules;
+
+    private FeeSchedule(String version, Rule[][] rules) {
+        this.version = version;
+        this.rules = rules;
+    }
+
+    public static FeeSchedule compile(JsonNode root) {
+        TransactionType[] types = TransactionType.values();
+        Currency[] currencies = Currency.values();
+        Rule[][] rules = new Rule[types.length][currencies.length];
+        boolean[][] specific = new boolean[types.length][currencies.length];
+
+        for (JsonNode ruleNode : root.path("rules")) {
+            TransactionType type = TransactionType.valueOf(ruleNode.path("transactionType").asText());
+            String currency = ruleNode.path("currency").asText("*");
+            Rule rule = Rule.compile(ruleNode);
+            for (Currency c : currencies) {
+                boolean exact = c.name().equals(currency);
+                if (exact || ("*".equals(currency) && !specific[type.ordinal()][c.ordinal()])) {
+                    rules[type.ordinal()][c.ordinal()] = rule;
+                    specific[type.ordinal()][c.ordinal()] |= exact;
+                }
+            }
+        }
+        return new FeeSchedule(root.path("version").asText("unversioned"), rules);
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public BigDecimal quote(TransactionType type, Currency currency, BigDecimal amount) {
+        Rule rule = rules[type.ordinal()][(currency != null ? currency : Currency.RON).ordinal()];
+        if (rule == null) {
+            return BigDecimal.ZERO.setScale(2);
+        }
+        return BigDecimal.valueOf(rule.feeMinor(toMinor(amount)), 2);
+    }
+
+    private static long toMinor(BigDecimal amount) {
+        if (amount.scale() == 2) {
+            return amount.unscaledValue().longValueExact();
+        }
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private record Rule(long[] upToMinor, long[] ratePpm, long[] fixedMinor, long minMinor, long maxMinor) {
+
+        static Rule compile(JsonNode node) {
+            JsonNode tiers = node.path("tiers");
+            int n = tiers.size();
+            if (n == 0) {
+                throw new IllegalArgumentException("Fee rule has no tiers: " + node);
+            }
+            long[] upTo = new long[n];
+            long[] rate = new long[n];
+            long[] fixed = new long[n];
+            for (int i = 0; i < n; i++) {
+                JsonNode tier = tiers.get(i);
+                upTo[i] = tier.hasNonNull("upTo") ? toMinor(new BigDecimal(tier.get("upTo").asText())) : Long.MAX_VALUE;
+                rate[i] = new BigDecimal(tier.path("rate").asText("0")).movePointRight(6).longValueExact();
+                fixed[i] = toMinor(new BigDecimal(tier.path("fixed").asText("0")));
+                if (i > 0 && upTo[i] <= upTo[i - 1]) {
+                    throw new IllegalArgumentException("Fee tiers must be ordered by upTo: " + node);
+                }
+            }
+            if (upTo[n - 1] != Long.MAX_VALUE) {
+                throw new IllegalArgumentException("The last fee tier must have no upTo bound: " + node);
+            }
+            long min = node.hasNonNull("min") ? toMinor(new BigDecimal(node.get("min").asText())) : 0L;
+            long max = node.hasNonNull("max") ? toMinor(new BigDecimal(node.get("max").asText())) : Long.MAX_VALUE;
+            return new Rule(upTo, rate, fixed, min, max);
+        }
+
+        long feeMinor(long amountMinor) {
+            // the last tier is unbounded, so the search always ends on a tier
+            int i = 0;
+            while (i < upToMinor.length - 1 && amountMinor > upToMinor[i]) {
+                i++;
+            }
+            long fee = proportional(amountMinor, ratePpm[i]) + fixedMinor[i];
+            return Math.min(Math.max(fee, minMinor), maxMinor);
+        }
+
+        // amount * rate rounded half-up, falling back to BigDecimal only when the product overflows a long
+        private static long proportional(long amountMinor, long ratePpm) {
+            long high = Math.multiplyHigh(amountMinor, ratePpm);
+            long product = amountMinor * ratePpm;
+            if (high == 0 && product >= 0 && product <= Long.MAX_VALUE - PPM) {
+                return Math.floorDiv(product + PPM / 2, PPM);
+            }
+            return BigDecimal.valueOf(amountMinor).multiply(BigDecimal.valueOf(ratePpm))
+                    .divide(BigDecimal.valueOf(PPM), 0, RoundingMode.HALF_UP).longValueExact();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.transactions.utils;
+
+import com.example.transactions.entity.Transaction;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Opaque continuation token for an account's transaction history: the initiatedAt and id of the last row of a
+ * page, which is sorted by initiatedAt descending with id as tie-breaker.
+ */
+public record HistoryCursor(LocalDateTime lastInitiatedAt, Long lastId) {
+
+    public static HistoryCursor after(Transaction transaction) {
+        return new HistoryCursor(transaction.getInitiatedAt(), transaction.getId());
+    }
+
+    public static HistoryCursor decode(String token) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|", 2);
+            return new HistoryCursor(LocalDateTime.parse(parts[0]), Long.valueOf(parts[1]));
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Invalid cursor: " + token);
+        }
+    }
+
+    public String encode() {
+        String raw = lastInitiatedAt + "|" + lastId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,7 +1,7 @@
 package com.example.transactions.utils;
 
+import com.example.transactions.dto.request.PostTransactionDto;
 import com.example.transactions.entity.Transaction;
-import com.example.transactions.enums.Currency;
 
 import java.math.BigDecimal;
 
@@ -18,15 +18,22 @@ public class TransactionHelper {
         return BigDecimal.ZERO;
     }
 
-    public static BigDecimal ConvertCurrency(Currency previousCurrency, Currency newCurrency, BigDecimal amount) {
-        if (previousCurrency == newCurrency) {
-            return amount;
+    public static String validate(PostTransactionDto transactionDto) {
+        if (transactionDto == null) {
+            return "Transaction is empty";
         }
-
-        BigDecimal prevVal = BigDecimal.valueOf(previousCurrency.getValue());
-        BigDecimal newVal = BigDecimal.valueOf(newCurrency.getValue());
-
-        return amount.multiply(prevVal)
-                .divide(newVal, 8, java.math.RoundingMode.HALF_UP);
+        if (transactionDto.getTransactionType() == null) {
+            return "transactionType is required";
+        }
+        if (transactionDto.getAmount() == null || transactionDto.getAmount().signum() <= 0) {
+            return "amount must be positive";
+        }
+        boolean hasSource = transactionDto.getFromAccountNumber() != null || transactionDto.getFromAccountId() != null;
+        boolean hasDestination = transactionDto.getToAccountNumber() != null || transactionDto.getToAccountId() != null;
+        return switch (transactionDto.getTransactionType()) {
+            case TRANSFER, PAYMENT -> !hasSource || !hasDestination ? "source and destination accounts are required" : null;
+            case DEPOSIT -> !hasDestination ? "destination account is required" : null;
+            case WITHDRAWAL -> !hasSource ? "source account is required" : null;
+        };
     }
 }
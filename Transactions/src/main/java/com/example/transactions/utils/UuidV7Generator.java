@@ -0,0 +1,43 @@
+package com.example.transactions.utils;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * RFC 9562 version 7 UUIDs: 48-bit Unix millisecond timestamp, a 12-bit counter in {@code rand_a} that keeps
+ * ids generated within the same millisecond increasing, and 62 random bits. Because the timestamp leads, new
+ * transaction ids are appended at the end of the {@code transaction_id} unique index.
+ */
+public final class UuidV7Generator {
+
+    private static final int COUNTER_BITS = 12;
+    private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+
+    // (unix millis << COUNTER_BITS) | counter of the last id handed out
+    private static final AtomicLong STATE = new AtomicLong();
+
+    private UuidV7Generator() {
+    }
+
+    public static UUID next() {
+        long current;
+        while (true) {
+            long last = STATE.get();
+            long now = System.currentTimeMillis();
+            // counter overflow or a clock step backwards borrows from the following millisecond
+            current = now > (last >>> COUNTER_BITS) ? now << COUNTER_BITS : last + 1;
+            if (STATE.compareAndSet(last, current)) {
+                break;
+            }
+        }
+        long millis = current >>> COUNTER_BITS;
+        long mostSigBits = (millis << 16) | 0x7000L | (current & COUNTER_MASK);
+        long leastSigBits = 0x8000000000000000L | (ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL);
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    public static String nextString() {
+        return next().toString();
+    }
+}
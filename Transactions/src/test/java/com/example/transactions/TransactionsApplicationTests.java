@@ -3,7 +3,7 @@ package com.example.transactions;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "transactions.internal.token=test-token")
 class TransactionsApplicationTests {
 
 	@Test
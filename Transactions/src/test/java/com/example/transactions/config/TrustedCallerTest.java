@@ -0,0 +1,53 @@
+package com.example.transactions.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrustedCallerTest {
+
+    @Test
+    void nameOf_ForwardedWithToken_ReturnsUser() {
+        // Given
+        MockHttpServletRequest request = request("alice", "s3cret");
+
+        // When / Then
+        assertEquals("alice", new TrustedCaller("s3cret").nameOf(request));
+    }
+
+    @Test
+    void nameOf_DifferentUsersWithToken_AreToldApart() {
+        // Given
+        TrustedCaller trustedCaller = new TrustedCaller("s3cret");
+
+        // When / Then
+        assertNotEquals(trustedCaller.nameOf(request("alice", "s3cret")), trustedCaller.nameOf(request("bob", "s3cret")));
+    }
+
+    @Test
+    void nameOf_UserWithoutValidToken_IsIgnored() {
+        // Given
+        TrustedCaller trustedCaller = new TrustedCaller("s3cret");
+
+        // When / Then
+        assertNull(trustedCaller.nameOf(request("alice", null)));
+        assertNull(trustedCaller.nameOf(request("alice", "guess")));
+    }
+
+    @Test
+    void constructor_NoTokenConfigured_FailsAtStartup() {
+        // When / Then
+        assertThrows(IllegalStateException.class, () -> new TrustedCaller(""));
+        assertThrows(IllegalStateException.class, () -> new TrustedCaller(null));
+    }
+
+    private static MockHttpServletRequest request(String user, String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/transactions/post");
+        request.addHeader(TrustedCaller.USER_HEADER, user);
+        if (token != null) {
+            request.addHeader(TrustedCaller.TOKEN_HEADER, token);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.transactions.controller;
+
+import com.example.transactions.config.TrustedCaller;
+import com.example.transactions.dto.request.PostTransactionDto;
+import com.example.transactions.dto.response.TransactionDto;
+import com.example.transactions.enums.Currency;
+import com.example.transactions.enums.TransactionType;
+import com.example.transactions.service.ITransactionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionControllerTest {
+
+    private static final String TOKEN = "s3cret";
+
+    @Mock
+    private ITransactionService transactionService;
+
+    @InjectMocks
+    private TransactionController transactionController;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(transactionController, "trustedCaller", new TrustedCaller(TOKEN));
+    }
+
+    // ========== CALLER IDENTITY ==========
+
+    @Test
+    void postTransaction_HeadersSetByGateway_ScopeIdempotencyKeyToForwardedUser() {
+        // Given (exactly the headers the gateway's CallerIdentityFilter adds for a logged-in user)
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/transactions/post");
+        request.addHeader("X-Authenticated-User", "alice@example.com");
+        request.addHeader("X-Internal-Token", TOKEN);
+        PostTransactionDto dto = transfer();
+        TransactionDto created = mock(TransactionDto.class);
+        when(transactionService.postTransaction(dto, "key-1", "alice@example.com")).thenReturn(created);
+
+        // When
+        ResponseEntity<TransactionDto> response = transactionController.postTransaction("key-1", dto, request);
+
+        // Then
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertSame(created, response.getBody());
+    }
+
+    @Test
+    void postTransaction_UserHeaderWithoutGatewayToken_IsNotTrusted() {
+        // Given (a client calling the service directly and claiming to be someone else)
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/transactions/post");
+        request.addHeader("X-Authenticated-User", "alice@example.com");
+        PostTransactionDto dto = transfer();
+
+        // When
+        transactionController.postTransaction("key-1", dto, request);
+
+        // Then
+        verify(transactionService).postTransaction(eq(dto), eq("key-1"), isNull());
+    }
+
+    private static PostTransactionDto transfer() {
+        return new PostTransactionDto("RO02", "1", "2", "RO01", TransactionType.TRANSFER,
+                new BigDecimal("10.00"), Currency.RON, "rent");
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.transactions.service;
+
+import com.example.transactions.dto.response.TransactionDto;
+import com.example.transactions.entity.IdempotencyRecord;
+import com.example.transactions.repository.IIdempotencyRecordRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+
+    @Mock
+    private IIdempotencyRecordRepository idempotencyRecordRepository;
+
+    private IdempotencyService idempotencyService;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyService(Duration.ofHours(24), Duration.ofMinutes(5), 100);
+        ReflectionTestUtils.setField(idempotencyService, "idempotencyRecordRepository", idempotencyRecordRepository);
+        ReflectionTestUtils.setField(idempotencyService, "objectMapper", new ObjectMapper());
+    }
+
+    // ========== SCOPE / FINGERPRINT ==========
+
+    @Test
+    void scope_SameKeyDifferentPrincipals_DoNotCollide() {
+        // When
+        String alice = idempotencyService.scope("alice", "key-1");
+        String bob = idempotencyService.scope("bob", "key-1");
+
+        // Then
+        assertNotEquals(alice, bob);
+        assertEquals(alice, idempotencyService.scope("alice", "key-1"));
+        assertTrue(alice.length() <= IdempotencyService.MAX_KEY_LENGTH);
+    }
+
+    @Test
+    void scope_NoPrincipal_Returns401() {
+        // When
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> idempotencyService.scope(null, "key-1"));
+
+        // Then
+        assertEquals(HttpStatus.UNAUTHORIZED, e.getStatusCode());
+    }
+
+    @Test
+    void findTransactionId_SameKeyUsedByAnotherPrincipal_IsNotReplayed() {
+        // Given
+        String alice = idempotencyService.scope("alice", "key-1");
+        String bob = idempotencyService.scope("bob", "key-1");
+        when(idempotencyRecordRepository.findByIdempotencyKeyAndExpiresAtAfter(eq(alice), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(record("TX-1", "hash-a")));
+        when(idempotencyRecordRepository.findByIdempotencyKeyAndExpiresAtAfter(eq(bob), any(LocalDateTime.class)))
+                .thenReturn(Optional.empty());
+
+        // When / Then
+        assertEquals(Optional.of("TX-1"), idempotencyService.findTransactionId(alice, "hash-a"));
+        assertEquals(Optional.empty(), idempotencyService.findTransactionId(bob, "hash-b"));
+    }
+
+    @Test
+    void fingerprint_DifferentBodies_DifferentHashes() {
+        // When / Then
+        assertEquals(idempotencyService.fingerprint(Map.of("amount", 10)), idempotencyService.fingerprint(Map.of("amount", 10)));
+        assertNotEquals(idempotencyService.fingerprint(Map.of("amount", 10)), idempotencyService.fingerprint(Map.of("amount", 11)));
+    }
+
+    // ========== FIND TRANSACTION ID ==========
+
+    @Test
+    void findTransactionId_StoredWithSameHash_ReturnsTransactionId() {
+        // Given
+        when(idempotencyRecordRepository.findByIdempotencyKeyAndExpiresAtAfter(eq("scoped"), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(record("TX-1", "hash-a")));
+
+        // When
+        Optional<String> result = idempotencyService.findTransactionId("scoped", "hash-a");
+
+        // Then
+        assertEquals(Optional.of("TX-1"), result);
+    }
+
+    @Test
+    void findTransactionId_StoredWithDifferentHash_Returns422() {
+        // Given
+        when(idempotencyRecordRepository.findByIdempotencyKeyAndExpiresAtAfter(eq("scoped"), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(record("TX-1", "hash-a")));
+
+        // When
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> idempotencyService.findTransactionId("scoped", "hash-b"));
+
+        // Then
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, e.getStatusCode());
+    }
+
+    @Test
+    void findTransactionId_LegacyRecordWithoutHash_IsReplayed() {
+        // Given
+        when(idempotencyRecordRepository.findByIdempotencyKeyAndExpiresAtAfter(eq("scoped"), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(record("TX-1", null)));
+
+        // When / Then
+        assertEquals(Optional.of("TX-1"), idempotencyService.findTransactionId("scoped", "hash-b"));
+    }
+
+    @Test
+    void findTransactionId_HotWindowHit_ChecksHashWithoutDatabase() {
+        // Given
+        when(idempotencyRecordRepository.findByIdempotencyKeyAndExpiresAtAfter(eq("scoped"), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(record("TX-1", "hash-a")));
+        idempotencyService.findTransactionId("scoped", "hash-a");
+
+        // When
+        assertThrows(ResponseStatusException.class, () -> idempotencyService.findTransactionId("scoped", "hash-b"));
+
+        // Then
+        verify(idempotencyRecordRepository, times(1)).findByIdempotencyKeyAndExpiresAtAfter(eq("scoped"), any(LocalDateTime.class));
+    }
+
+    // ========== EXECUTE ONCE ==========
+
+    @Test
+    void executeOnce_StoresScopedKeyAndHash() {
+        // Given
+        TransactionDto created = mock(TransactionDto.class);
+        when(created.getTransactionId()).thenReturn("TX-2");
+
+        // When
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionDto result;
+        try {
+            result = idempotencyService.executeOnce("scoped", "hash-a", () -> created);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Then
+        assertSame(created, result);
+        verify(idempotencyRecordRepository).saveAndFlush(argThat(record ->
+                "scoped".equals(record.getIdempotencyKey())
+                        && "TX-2".equals(record.getTransactionId())
+                        && "hash-a".equals(record.getRequestHash())));
+    }
+
+    private static IdempotencyRecord record(String transactionId, String requestHash) {
+        return IdempotencyRecord.builder()
+                .idempotencyKey("scoped")
+                .transactionId(transactionId)
+                .requestHash(requestHash)
+                .createdAt(LocalDateTime.now())
+                .expiresAt(LocalDateTime.now().plusHours(1))
+                .build();
+    }
+}
@@ -0,0 +1,241 @@
+package com.example.transactions.service;
+
+import com.example.transactions.client.AccountClient;
+import com.example.transactions.dto.request.AccountTransferDto;
+import com.example.transactions.dto.response.AccountBalanceDto;
+import com.example.transactions.entity.Transaction;
+import com.example.transactions.enums.Currency;
+import com.example.transactions.enums.TransactionStatus;
+import com.example.transactions.enums.TransactionType;
+import com.example.transactions.repository.ITransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LedgerServiceTest {
+
+    @Mock
+    private ITransactionRepository transactionRepository;
+
+    @Mock
+    private LedgerWriter ledgerWriter;
+
+    @Mock
+    private AccountClient accountClient;
+
+    private LedgerService ledgerService;
+    private Transaction transfer;
+    private AccountBalanceDto limits;
+
+    @BeforeEach
+    void setUp() {
+        ledgerService = new LedgerService(Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(ledgerService, "transactionRepository", transactionRepository);
+        ReflectionTestUtils.setField(ledgerService, "ledgerWriter", ledgerWriter);
+        ReflectionTestUtils.setField(ledgerService, "accountClient", accountClient);
+
+        transfer = Transaction.builder()
+                .transactionId("TX-1")
+                .fromAccountNumber("RO01")
+                .toAccountNumber("RO02")
+                .transactionType(TransactionType.TRANSFER)
+                .amount(new BigDecimal("100.00"))
+                .status(TransactionStatus.PROCESSING)
+                .build();
+        limits = account("RO01", "RON");
+    }
+
+    // ========== POST ==========
+
+    @Test
+    void testPost_Success_ReservesThenMovesThenCompletes() {
+        // Given
+        when(transactionRepository.findTransactionByTransactionId("TX-1")).thenReturn(Optional.of(transfer));
+        when(accountClient.checkBalance("RO01")).thenReturn(limits);
+        when(accountClient.checkBalance("RO02")).thenReturn(account("RO02", "RON"));
+
+        // When
+        boolean posted = ledgerService.post("TX-1");
+
+        // Then
+        assertTrue(posted);
+        InOrder inOrder = inOrder(ledgerWriter, accountClient);
+        inOrder.verify(ledgerWriter).reserve("TX-1", "RO01", "RO02", limits);
+        inOrder.verify(accountClient).transfer(argThat((AccountTransferDto dto) -> "TX-1".equals(dto.getReference())));
+        inOrder.verify(ledgerWriter).complete("TX-1");
+        verify(accountClient, never()).reverseMovement(anyString());
+    }
+
+    @Test
+    void testPost_Deposit_CreditsWithoutCheckingLimits() {
+        // Given
+        Transaction deposit = Transaction.builder()
+                .transactionId("TX-2")
+                .toAccountNumber("RO02")
+                .transactionType(TransactionType.DEPOSIT)
+                .amount(BigDecimal.TEN)
+                .build();
+        when(transactionRepository.findTransactionByTransactionId("TX-2")).thenReturn(Optional.of(deposit));
+        when(accountClient.checkBalance("RO02")).thenReturn(account("RO02", "RON"));
+
+        // When
+        boolean posted = ledgerService.post("TX-2");
+
+        // Then
+        assertTrue(posted);
+        verify(accountClient, never()).checkBalance("RO01");
+        verify(ledgerWriter).reserve("TX-2", LedgerService.EXTERNAL_ACCOUNT, "RO02", null);
+        verify(accountClient).credit("RO02", BigDecimal.TEN, "TX-2");
+    }
+
+    @Test
+    void testPost_ReserveFails_ReleasesWithoutCallingAccounts() {
+        // Given
+        when(transactionRepository.findTransactionByTransactionId("TX-1")).thenReturn(Optional.of(transfer));
+        when(accountClient.checkBalance("RO01")).thenReturn(limits);
+        when(accountClient.checkBalance("RO02")).thenReturn(account("RO02", "RON"));
+        doThrow(new RuntimeException("Daily limit exceeded for account RO01"))
+                .when(ledgerWriter).reserve("TX-1", "RO01", "RO02", limits);
+
+        // When
+        boolean posted = ledgerService.post("TX-1");
+
+        // Then
+        assertFalse(posted);
+        verify(ledgerWriter).release("TX-1", TransactionStatus.PROCESSING, "Daily limit exceeded for account RO01");
+        verify(accountClient, never()).transfer(any());
+        verify(accountClient, never()).reverseMovement(anyString());
+    }
+
+    @Test
+    void testPost_CurrencyDiffersFromDebitAccount_FailsWithoutBooking() {
+        // Given
+        transfer.setCurrency(Currency.EUR);
+        when(transactionRepository.findTransactionByTransactionId("TX-1")).thenReturn(Optional.of(transfer));
+        when(accountClient.checkBalance("RO01")).thenReturn(limits);
+
+        // When
+        boolean posted = ledgerService.post("TX-1");
+
+        // Then
+        assertFalse(posted);
+        verify(ledgerWriter, never()).reserve(anyString(), anyString(), anyString(), any());
+        verify(ledgerWriter).release(eq("TX-1"), eq(TransactionStatus.PROCESSING), contains("does not match currency RON"));
+        verify(accountClient, never()).transfer(any());
+    }
+
+    @Test
+    void testPost_CurrencyDiffersFromCreditAccount_FailsWithoutBooking() {
+        // Given
+        when(transactionRepository.findTransactionByTransactionId("TX-1")).thenReturn(Optional.of(transfer));
+        when(accountClient.checkBalance("RO01")).thenReturn(limits);
+        when(accountClient.checkBalance("RO02")).thenReturn(account("RO02", "EUR"));
+
+        // When
+        boolean posted = ledgerService.post("TX-1");
+
+        // Then
+        assertFalse(posted);
+        verify(ledgerWriter, never()).reserve(anyString(), anyString(), anyString(), any());
+        verify(accountClient, never()).transfer(any());
+    }
+
+    @Test
+    void testPost_RemoteCallFails_ReversesBeforeFailing() {
+        // Given
+        when(transactionRepository.findTransactionByTransactionId("TX-1")).thenReturn(Optional.of(transfer));
+        when(accountClient.checkBalance("RO01")).thenReturn(limits);
+        when(accountClient.checkBalance("RO02")).thenReturn(account("RO02", "RON"));
+        when(accountClient.transfer(any())).thenThrow(new RuntimeException("Read timed out"));
+        when(ledgerWriter.beginReversal("TX-1")).thenReturn(true);
+
+        // When
+        boolean posted = ledgerService.post("TX-1");
+
+        // Then
+        assertFalse(posted);
+        InOrder inOrder = inOrder(ledgerWriter, accountClient);
+        inOrder.verify(ledgerWriter).beginReversal("TX-1");
+        inOrder.verify(accountClient).reverseMovement("TX-1");
+        inOrder.verify(ledgerWriter).release("TX-1", TransactionStatus.REVERSING, "Read timed out");
+        verify(ledgerWriter, never()).complete(anyString());
+    }
+
+    @Test
+    void testPost_CompleteFailsAfterCommit_DoesNotReverse() {
+        // Given
+        when(transactionRepository.findTransactionByTransactionId("TX-1")).thenReturn(Optional.of(transfer));
+        when(accountClient.checkBalance("RO01")).thenReturn(limits);
+        when(accountClient.checkBalance("RO02")).thenReturn(account("RO02", "RON"));
+        doThrow(new RuntimeException("connection reset")).when(ledgerWriter).complete("TX-1");
+        when(ledgerWriter.beginReversal("TX-1")).thenReturn(false);
+
+        // When
+        ledgerService.post("TX-1");
+
+        // Then
+        verify(accountClient, never()).reverseMovement(anyString());
+        verify(ledgerWriter, never()).release(anyString(), any(), anyString());
+    }
+
+    @Test
+    void testPost_ReversalFails_LeavesTransactionForRecovery() {
+        // Given
+        when(transactionRepository.findTransactionByTransactionId("TX-1")).thenReturn(Optional.of(transfer));
+        when(accountClient.checkBalance("RO01")).thenReturn(limits);
+        when(accountClient.checkBalance("RO02")).thenReturn(account("RO02", "RON"));
+        when(accountClient.transfer(any())).thenThrow(new RuntimeException("503"));
+        when(ledgerWriter.beginReversal("TX-1")).thenReturn(true);
+        when(accountClient.reverseMovement("TX-1")).thenThrow(new RuntimeException("503"));
+
+        // When
+        boolean posted = ledgerService.post("TX-1");
+
+        // Then
+        assertFalse(posted);
+        verify(ledgerWriter, never()).release(anyString(), any(), anyString());
+    }
+
+    // ========== RECOVERY ==========
+
+    @Test
+    void testRecoverStalled_ReversesEachStalledTransaction() {
+        // Given
+        when(transactionRepository.findStalled(eq(List.of(TransactionStatus.PROCESSING, TransactionStatus.REVERSING)),
+                any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of("TX-1", "TX-3"));
+        when(ledgerWriter.beginReversal(anyString())).thenReturn(true);
+
+        // When
+        ledgerService.recoverStalled();
+
+        // Then
+        verify(accountClient).reverseMovement("TX-1");
+        verify(accountClient).reverseMovement("TX-3");
+        verify(ledgerWriter).release(eq("TX-1"), eq(TransactionStatus.REVERSING), anyString());
+        verify(ledgerWriter).release(eq("TX-3"), eq(TransactionStatus.REVERSING), anyString());
+    }
+
+    private static AccountBalanceDto account(String accountNumber, String currency) {
+        AccountBalanceDto account = new AccountBalanceDto();
+        account.setAccountNumber(accountNumber);
+        account.setCurrency(currency);
+        return account;
+    }
+}
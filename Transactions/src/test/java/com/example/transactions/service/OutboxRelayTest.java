@@ -0,0 +1,104 @@
+package com.example.transactions.service;
+
+import com.example.transactions.dto.response.TransactionEventDto;
+import com.example.transactions.entity.OutboxEvent;
+import com.example.transactions.enums.OutboxEventType;
+import com.example.transactions.repository.IOutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private IOutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private OutboxTransport outboxTransport;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        outboxRelay = new OutboxRelay(200, Duration.ofDays(7), meterRegistry);
+        ReflectionTestUtils.setField(outboxRelay, "outboxEventRepository", outboxEventRepository);
+        ReflectionTestUtils.setField(outboxRelay, "outboxTransport", outboxTransport);
+        ReflectionTestUtils.setField(outboxRelay, "objectMapper", new ObjectMapper().findAndRegisterModules());
+    }
+
+    // ========== RELAY ==========
+
+    @Test
+    void relay_PublishesAndMarksBatch() {
+        // Given
+        when(outboxEventRepository.claimUnpublished(200)).thenReturn(List.of(event(1L, "{\"transactionId\":\"TX-1\"}")));
+
+        // When
+        outboxRelay.relay();
+
+        // Then
+        verify(outboxTransport).publish(argThat(events -> events.size() == 1 && events.get(0).getEventId() == 1L));
+        verify(outboxEventRepository).markPublished(eq(List.of(1L)), any(LocalDateTime.class));
+        verify(outboxEventRepository, never()).markPoisoned(anyCollection(), any());
+    }
+
+    @Test
+    void relay_UnreadablePayload_IsPoisonedAndDoesNotBlockTheRest() {
+        // Given
+        when(outboxEventRepository.claimUnpublished(200)).thenReturn(List.of(
+                event(1L, "not json"),
+                event(2L, "{\"transactionId\":\"TX-2\"}")));
+
+        // When
+        outboxRelay.relay();
+
+        // Then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<TransactionEventDto>> published = ArgumentCaptor.forClass(List.class);
+        verify(outboxTransport).publish(published.capture());
+        assertEquals("TX-2", published.getValue().get(0).getTransactionId());
+        verify(outboxEventRepository).markPoisoned(eq(List.of(1L)), any(LocalDateTime.class));
+        verify(outboxEventRepository).markPublished(eq(List.of(2L)), any(LocalDateTime.class));
+        assertEquals(1.0, meterRegistry.counter("transactions.outbox.poisoned").count());
+    }
+
+    @Test
+    void relay_TransportFails_LeavesBatchUnpublished() {
+        // Given
+        when(outboxEventRepository.claimUnpublished(200)).thenReturn(List.of(event(1L, "{\"transactionId\":\"TX-1\"}")));
+        doThrow(new RuntimeException("503")).when(outboxTransport).publish(anyList());
+
+        // When
+        outboxRelay.relay();
+
+        // Then
+        verify(outboxEventRepository, never()).markPublished(anyCollection(), any());
+    }
+
+    private static OutboxEvent event(Long id, String payload) {
+        return OutboxEvent.builder()
+                .id(id)
+                .aggregateId("TX-" + id)
+                .eventType(OutboxEventType.TRANSACTION_POSTED)
+                .payload(payload)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.transactions.service;
+
+import com.example.transactions.dto.response.TransactionEventDto;
+import com.example.transactions.entity.OutboxEvent;
+import com.example.transactions.entity.Transaction;
+import com.example.transactions.enums.Currency;
+import com.example.transactions.enums.OutboxEventType;
+import com.example.transactions.enums.TransactionType;
+import com.example.transactions.repository.IOutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxServiceTest {
+
+    @Mock
+    private IOutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private FeeScheduleService feeScheduleService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private OutboxService outboxService;
+
+    @BeforeEach
+    void setUp() {
+        outboxService = new OutboxService(new BigDecimal("0.7"));
+        ReflectionTestUtils.setField(outboxService, "outboxEventRepository", outboxEventRepository);
+        ReflectionTestUtils.setField(outboxService, "feeScheduleService", feeScheduleService);
+        ReflectionTestUtils.setField(outboxService, "objectMapper", objectMapper);
+        when(feeScheduleService.quote(any(), any(), any())).thenReturn(new BigDecimal("1.00"));
+    }
+
+    // ========== VERSIONS ==========
+
+    @Test
+    void recordPosted_CarriesVersionOne() throws Exception {
+        // Given
+        Transaction transaction = transaction(1L, new BigDecimal("0.9"));
+
+        // When
+        outboxService.recordPosted(List.of(transaction));
+
+        // Then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<OutboxEvent>> saved = ArgumentCaptor.forClass(List.class);
+        verify(outboxEventRepository).saveAll(saved.capture());
+        assertEquals(2, saved.getValue().size());
+        for (OutboxEvent event : saved.getValue()) {
+            assertEquals(1L, payload(event).getVersion());
+        }
+        assertEquals(1L, transaction.getEventVersion());
+    }
+
+    @Test
+    void record_IncrementsTheTransactionVersion() throws Exception {
+        // Given
+        Transaction transaction = transaction(3L, null);
+
+        // When
+        outboxService.record(OutboxEventType.TRANSACTION_UPDATED, transaction);
+
+        // Then
+        ArgumentCaptor<OutboxEvent> saved = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxEventRepository).save(saved.capture());
+        assertEquals(4L, transaction.getEventVersion());
+        assertEquals(4L, payload(saved.getValue()).getVersion());
+        assertEquals(OutboxEventType.TRANSACTION_UPDATED, payload(saved.getValue()).getEventType());
+    }
+
+    private TransactionEventDto payload(OutboxEvent event) throws Exception {
+        return objectMapper.readValue(event.getPayload(), TransactionEventDto.class);
+    }
+
+    private static Transaction transaction(Long eventVersion, BigDecimal riskScore) {
+        return Transaction.builder()
+                .transactionId("TX-1")
+                .transactionType(TransactionType.TRANSFER)
+                .amount(new BigDecimal("100"))
+                .currency(Currency.RON)
+                .riskScore(riskScore)
+                .eventVersion(eventVersion)
+                .build();
+    }
+}
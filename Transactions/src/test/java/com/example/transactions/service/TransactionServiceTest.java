@@ -0,0 +1,255 @@
+package com.example.transactions.service;
+
+import com.example.transactions.dto.request.PutTransactionDto;
+import com.example.transactions.dto.response.BatchItemResultDto;
+import com.example.transactions.dto.response.BatchResultDto;
+import com.example.transactions.entity.Transaction;
+import com.example.transactions.enums.Currency;
+import com.example.transactions.enums.OutboxEventType;
+import com.example.transactions.enums.TransactionStatus;
+import com.example.transactions.enums.TransactionType;
+import com.example.transactions.repository.ITransactionRepository;
+import com.example.transactions.utils.ExchangeRateTable;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionServiceTest {
+
+    private static final String VALID = "{\"transactionType\":\"DEPOSIT\",\"amount\":10,\"currency\":\"EUR\",\"toAccountNumber\":\"ACC-1\"}";
+    private static final String BAD_AMOUNT = "{\"transactionType\":\"DEPOSIT\",\"amount\":\"ten\",\"currency\":\"EUR\",\"toAccountNumber\":\"ACC-1\"}";
+
+    @Mock
+    private TransactionBatchWriter transactionBatchWriter;
+
+    @Mock
+    private VelocityRiskEngine velocityRiskEngine;
+
+    @Mock
+    private ITransactionRepository transactionRepository;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private ExchangeRateService exchangeRateService;
+
+    // registers the parameter-names module the application's mapper uses for the DTO constructors
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @InjectMocks
+    private TransactionService transactionService;
+
+    // ========== BATCH ==========
+
+    @Test
+    void postTransactionsBatch_JsonArrayWithMalformedElement_RejectsOnlyThatElement() throws Exception {
+        // Given
+        List<JsonNode> items = List.of(objectMapper.readTree(VALID), objectMapper.readTree(BAD_AMOUNT));
+
+        // When
+        BatchResultDto result = transactionService.postTransactionsBatch(items);
+
+        // Then
+        assertEquals(1, result.getAccepted());
+        assertEquals(1, result.getRejected());
+        assertNull(result.getItems().get(0).getError());
+        assertTrue(result.getItems().get(1).getError().startsWith("Malformed JSON"));
+        verify(transactionBatchWriter).saveChunk(anyList());
+    }
+
+    @Test
+    void postTransactionsBatch_NdjsonWithMalformedLine_RejectsOnlyThatLine() throws Exception {
+        // Given
+        BufferedReader ndjson = new BufferedReader(new StringReader(VALID + "\n" + BAD_AMOUNT + "\n"));
+
+        // When
+        BatchResultDto result = transactionService.postTransactionsBatch(ndjson);
+
+        // Then
+        assertEquals(1, result.getAccepted());
+        assertEquals(1, result.getRejected());
+        assertTrue(result.getItems().get(1).getError().startsWith("Malformed JSON"));
+    }
+
+    @Test
+    void postTransactionsBatch_ChunkFails_RetriesItemByItem() throws Exception {
+        // Given
+        List<JsonNode> items = List.of(objectMapper.readTree(VALID), objectMapper.readTree(VALID), objectMapper.readTree(VALID));
+        doThrow(new RuntimeException("constraint violated")).when(transactionBatchWriter).saveChunk(anyList());
+        when(transactionBatchWriter.save(any(Transaction.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0))
+                .thenThrow(new RuntimeException("constraint violated"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        BatchResultDto result = transactionService.postTransactionsBatch(items);
+
+        // Then
+        assertEquals(2, result.getAccepted());
+        assertEquals(1, result.getRejected());
+        List<BatchItemResultDto> results = result.getItems();
+        assertNull(results.get(0).getError());
+        assertEquals("constraint violated", results.get(1).getError());
+        assertNull(results.get(2).getError());
+        verify(transactionBatchWriter, times(3)).save(any(Transaction.class));
+    }
+
+    @Test
+    void postTransactionsBatch_ScoresEveryItemAgainstOneBatchWindow() throws Exception {
+        // Given
+        List<JsonNode> items = List.of(objectMapper.readTree(VALID), objectMapper.readTree(VALID), objectMapper.readTree(VALID));
+        ArgumentCaptor<VelocityRiskEngine.BatchWindow> windows = ArgumentCaptor.forClass(VelocityRiskEngine.BatchWindow.class);
+
+        // When
+        transactionService.postTransactionsBatch(items);
+
+        // Then
+        verify(velocityRiskEngine, times(3)).scoreInBatch(any(Transaction.class), windows.capture());
+        verify(velocityRiskEngine, never()).score(any(Transaction.class));
+        assertEquals(1, windows.getAllValues().stream().distinct().count());
+    }
+
+    // ========== STATE EVENTS ==========
+
+    @Test
+    void modifyTransactionType_RecordsUpdatedEvent() {
+        // Given
+        Transaction transaction = pending();
+        when(transactionRepository.updateTypeIfPending("TX-1", TransactionType.PAYMENT)).thenReturn(1);
+        when(transactionRepository.findTransactionByTransactionId("TX-1")).thenReturn(Optional.of(transaction));
+
+        // When
+        transactionService.modifyTransactionType("TX-1", TransactionType.PAYMENT);
+
+        // Then
+        verify(outboxService).record(OutboxEventType.TRANSACTION_UPDATED, transaction);
+    }
+
+    @Test
+    void modifyTransactionType_NotPending_RecordsNothing() {
+        // Given
+        when(transactionRepository.updateTypeIfPending("TX-1", TransactionType.PAYMENT)).thenReturn(0);
+        when(transactionRepository.findStatusByTransactionId("TX-1")).thenReturn(Optional.of(TransactionStatus.COMPLETED));
+
+        // When
+        assertThrows(RuntimeException.class, () -> transactionService.modifyTransactionType("TX-1", TransactionType.PAYMENT));
+
+        // Then
+        verifyNoInteractions(outboxService);
+    }
+
+    @Test
+    void modifyTransactionCurrency_RecordsUpdatedEventWithConvertedAmount() throws Exception {
+        // Given
+        Transaction transaction = pending();
+        when(transactionRepository.findForUpdate("TX-1")).thenReturn(Optional.of(transaction));
+        ExchangeRateTable rates = ExchangeRateTable.compile(objectMapper.readTree(
+                "{\"version\":\"v1\",\"rates\":{\"RON\":\"1\",\"EUR\":\"5\",\"USD\":\"4\"}}"));
+        when(exchangeRateService.current()).thenReturn(rates);
+
+        // When
+        transactionService.modifyTransactionCurrency("TX-1", Currency.EUR);
+
+        // Then
+        verify(outboxService).record(eq(OutboxEventType.TRANSACTION_UPDATED), argThat(updated ->
+                updated.getCurrency() == Currency.EUR && updated.getAmount().compareTo(new BigDecimal("20")) == 0));
+    }
+
+    @Test
+    void cancelTransactionById_RecordsUpdatedEvent() {
+        // Given
+        Transaction transaction = pending();
+        when(transactionRepository.compareAndSetStatus("TX-1", TransactionStatus.PENDING, TransactionStatus.CANCELLED)).thenReturn(1);
+        when(transactionRepository.findTransactionByTransactionId("TX-1")).thenReturn(Optional.of(transaction));
+
+        // When
+        transactionService.cancelTransactionById("TX-1");
+
+        // Then
+        verify(outboxService).record(OutboxEventType.TRANSACTION_UPDATED, transaction);
+    }
+
+    @Test
+    void putTransaction_UpdatesDetailsOnlyWhilePending() {
+        // Given
+        Transaction transaction = pending();
+        PutTransactionDto put = new PutTransactionDto(TransactionType.PAYMENT, "A-1", "A-2", "ACC-1", "ACC-2",
+                new BigDecimal("50"), Currency.RON, "rent");
+        when(transactionRepository.updateDetailsIfPending("TX-1", "A-1", "A-2", "ACC-1", "ACC-2",
+                TransactionType.PAYMENT, new BigDecimal("50"), Currency.RON, "rent")).thenReturn(1);
+        when(transactionRepository.findTransactionByTransactionId("TX-1")).thenReturn(Optional.of(transaction));
+
+        // When
+        transactionService.putTransaction(put, "TX-1");
+
+        // Then
+        verify(transactionRepository, never()).save(any(Transaction.class));
+        verify(transactionRepository, never()).compareAndSetStatus(any(), any(), any());
+        verify(outboxService).record(OutboxEventType.TRANSACTION_UPDATED, transaction);
+    }
+
+    @Test
+    void putTransaction_StatusInBody_IsNotAccepted() throws Exception {
+        // Given
+        ObjectMapper lenient = objectMapper.copy()
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+        // When
+        PutTransactionDto put = lenient.readValue(
+                "{\"transactionType\":\"PAYMENT\",\"amount\":50,\"currency\":\"RON\",\"status\":\"COMPLETED\"}",
+                PutTransactionDto.class);
+
+        // Then
+        assertThrows(NoSuchMethodException.class, () -> PutTransactionDto.class.getMethod("getStatus"));
+        assertEquals(TransactionType.PAYMENT, put.getTransactionType());
+    }
+
+    @Test
+    void putTransaction_NotPending_IsRejected() {
+        // Given
+        when(transactionRepository.updateDetailsIfPending(eq("TX-1"), any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(0);
+        when(transactionRepository.findStatusByTransactionId("TX-1")).thenReturn(Optional.of(TransactionStatus.COMPLETED));
+        PutTransactionDto put = new PutTransactionDto(TransactionType.PAYMENT, null, null, null, "ACC-2",
+                new BigDecimal("50"), Currency.RON, null);
+
+        // When
+        RuntimeException e = assertThrows(RuntimeException.class, () -> transactionService.putTransaction(put, "TX-1"));
+
+        // Then
+        assertTrue(e.getMessage().contains("COMPLETED"));
+        verifyNoInteractions(outboxService);
+    }
+
+    private static Transaction pending() {
+        return Transaction.builder()
+                .transactionId("TX-1")
+                .transactionType(TransactionType.TRANSFER)
+                .amount(new BigDecimal("100"))
+                .currency(Currency.RON)
+                .eventVersion(1L)
+                .build();
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.transactions.service;
+
+import com.example.transactions.entity.Transaction;
+import com.example.transactions.enums.Currency;
+import com.example.transactions.utils.ExchangeRateTable;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VelocityRiskEngineTest {
+
+    private static final String RATES = "{\"version\":\"test\",\"rates\":{\"RON\":\"1\",\"EUR\":\"5\",\"USD\":\"4\"}}";
+
+    @Mock
+    private ExchangeRateService exchangeRateService;
+
+    // ========== SCORE / RECORD ==========
+
+    @Test
+    void score_DoesNotRecordTheTransaction() {
+        // Given
+        VelocityRiskEngine engine = engine(100, 5, 50_000);
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            assertEquals(new BigDecimal("0.00"), engine.score(transfer("ACC-1", "ACC-2", "10", Currency.RON)));
+        }
+
+        // Then
+        assertEquals(0, engine.trackedAccounts());
+    }
+
+    @Test
+    void score_CountsThePendingTransactionAgainstRecordedOnes() {
+        // Given
+        VelocityRiskEngine engine = engine(100, 5, 50_000);
+        for (int i = 0; i < 4; i++) {
+            engine.record(transfer("ACC-1", "ACC-2", "10", Currency.RON));
+        }
+
+        // When
+        BigDecimal fifth = engine.score(transfer("ACC-1", "ACC-2", "10", Currency.RON));
+        engine.record(transfer("ACC-1", "ACC-2", "10", Currency.RON));
+        BigDecimal sixth = engine.score(transfer("ACC-1", "ACC-2", "10", Currency.RON));
+
+        // Then
+        assertEquals(new BigDecimal("0.00"), fifth);
+        assertEquals(new BigDecimal("0.30"), sixth);
+    }
+
+    @Test
+    void score_DailySumIsConvertedToTheLimitCurrency() {
+        // Given
+        when(exchangeRateService.current()).thenReturn(rates());
+        VelocityRiskEngine engine = engine(100, 100, 50_000);
+        for (int i = 0; i < 5; i++) {
+            engine.record(transfer("ACC-1", "ACC-2", "1900", Currency.EUR));
+        }
+
+        // When
+        BigDecimal eur = engine.score(transfer("ACC-1", "ACC-2", "1900", Currency.EUR));
+        BigDecimal ron = engine.score(transfer("ACC-1", "ACC-2", "1900", Currency.RON));
+
+        // Then
+        assertEquals(new BigDecimal("0.30"), eur);
+        assertEquals(new BigDecimal("0.00"), ron);
+    }
+
+    @Test
+    void scoreInBatch_CountsEarlierItemsOfTheSameBatch() {
+        // Given
+        VelocityRiskEngine engine = engine(100, 5, 50_000);
+        VelocityRiskEngine.BatchWindow batch = new VelocityRiskEngine.BatchWindow();
+        for (int i = 0; i < 5; i++) {
+            assertEquals(new BigDecimal("0.00"), engine.scoreInBatch(transfer("ACC-1", "ACC-2", "10", Currency.RON), batch));
+        }
+
+        // When
+        BigDecimal sixth = engine.scoreInBatch(transfer("ACC-1", "ACC-2", "10", Currency.RON), batch);
+        BigDecimal otherAccount = engine.scoreInBatch(transfer("ACC-3", "ACC-2", "10", Currency.RON), batch);
+
+        // Then
+        assertEquals(new BigDecimal("0.30"), sixth);
+        assertEquals(new BigDecimal("0.00"), otherAccount);
+        assertEquals(0, engine.trackedAccounts());
+    }
+
+    @Test
+    void scoreInBatch_ClearedBatchNoLongerCounts() {
+        // Given
+        VelocityRiskEngine engine = engine(100, 5, 50_000);
+        VelocityRiskEngine.BatchWindow batch = new VelocityRiskEngine.BatchWindow();
+        for (int i = 0; i < 5; i++) {
+            engine.scoreInBatch(transfer("ACC-1", "ACC-2", "10", Currency.RON), batch);
+        }
+
+        // When
+        batch.clear();
+
+        // Then
+        assertEquals(new BigDecimal("0.00"), engine.scoreInBatch(transfer("ACC-1", "ACC-2", "10", Currency.RON), batch));
+    }
+
+    @Test
+    void recordAfterCommit_WaitsForCommit() {
+        // Given
+        VelocityRiskEngine engine = engine(100, 5, 50_000);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // When
+            engine.recordAfterCommit(transfer("ACC-1", "ACC-2", "10", Currency.RON));
+
+            // Then
+            assertEquals(0, engine.trackedAccounts());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertEquals(1, engine.trackedAccounts());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    // ========== CAPACITY ==========
+
+    @Test
+    void record_StopsTrackingNewAccountsAtTheCap() {
+        // Given
+        VelocityRiskEngine engine = engine(2, 5, 50_000);
+
+        // When
+        engine.record(transfer("ACC-1", "ACC-9", "10", Currency.RON));
+        engine.record(transfer("ACC-2", "ACC-9", "10", Currency.RON));
+        engine.record(transfer("ACC-3", "ACC-9", "10", Currency.RON));
+
+        // Then
+        assertEquals(2, engine.trackedAccounts());
+    }
+
+    @Test
+    void evictIdleAccounts_KeepsRecentlyActiveAccounts() {
+        // Given
+        VelocityRiskEngine engine = engine(2, 5, 50_000);
+        engine.record(transfer("ACC-1", "ACC-9", "10", Currency.RON));
+        engine.record(transfer("ACC-2", "ACC-9", "10", Currency.RON));
+
+        // When
+        engine.evictIdleAccounts();
+
+        // Then
+        assertEquals(2, engine.trackedAccounts());
+    }
+
+    private VelocityRiskEngine engine(int maxTrackedAccounts, int maxPerMinute, long maxDailySum) {
+        return new VelocityRiskEngine(exchangeRateService, maxTrackedAccounts, maxPerMinute, 30,
+                BigDecimal.valueOf(maxDailySum), Currency.RON, 10);
+    }
+
+    private static ExchangeRateTable rates() {
+        try {
+            return ExchangeRateTable.compile(new ObjectMapper().readTree(RATES));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Transaction transfer(String from, String to, String amount, Currency currency) {
+        return Transaction.builder()
+                .fromAccountNumber(from)
+                .toAccountNumber(to)
+                .amount(new BigDecimal(amount))
+                .currency(currency)
+                .build();
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.transactions.utils;
+
+import com.example.transactions.enums.Currency;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExchangeRateTableTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final String RATES = """
+            { "version": "test-1", "base": "RON", "rates": { "RON": "1", "EUR": "5", "USD": "4" } }
+            """;
+
+    // ========== CONVERSION TESTS ==========
+
+    @Test
+    void testRate_PrecomputesCrossRates() {
+        // Given
+        ExchangeRateTable table = compile(RATES);
+
+        // When & Then
+        assertEquals(0, new BigDecimal("5").compareTo(table.rate(Currency.EUR, Currency.RON)));
+        assertEquals(0, new BigDecimal("0.2").compareTo(table.rate(Currency.RON, Currency.EUR)));
+        assertEquals(0, new BigDecimal("1.25").compareTo(table.rate(Currency.EUR, Currency.USD)));
+        assertEquals(BigDecimal.ONE, table.rate(Currency.USD, Currency.USD));
+    }
+
+    @Test
+    void testConvert_ConvertsBetweenNonBaseCurrencies() {
+        // Given
+        ExchangeRateTable table = compile(RATES);
+
+        // When
+        BigDecimal converted = table.convert(Currency.USD, Currency.EUR, new BigDecimal("100"));
+
+        // Then
+        assertEquals(new BigDecimal("80.00000000"), converted);
+    }
+
+    @Test
+    void testConvert_SameCurrencyReturnsAmountUnchanged() {
+        // Given
+        ExchangeRateTable table = compile(RATES);
+        BigDecimal amount = new BigDecimal("12.345");
+
+        // When & Then
+        assertSame(amount, table.convert(Currency.EUR, Currency.EUR, amount));
+        assertEquals("test-1", table.getVersion());
+    }
+
+    // ========== VALIDATION TESTS ==========
+
+    @Test
+    void testCompile_RejectsMissingRate() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+                () -> compile("{ \"rates\": { \"RON\": \"1\", \"EUR\": \"5\" } }"));
+    }
+
+    @Test
+    void testCompile_RejectsNonPositiveRate() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+                () -> compile("{ \"rates\": { \"RON\": \"1\", \"EUR\": \"0\", \"USD\": \"4\" } }"));
+    }
+
+    private static ExchangeRateTable compile(String json) {
+        try {
+            return ExchangeRateTable.compile(MAPPER.readTree(json));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
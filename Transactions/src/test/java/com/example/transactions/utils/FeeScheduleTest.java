@@ -0,0 +1,142 @@
+package com.example.transactions.utils;
+
+import com.example.transactions.enums.Currency;
+import com.example.transactions.enums.TransactionType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FeeScheduleTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final String TIERED = """
+            {
+              "version": "test-1",
+              "rules": [
+                {
+                  "transactionType": "TRANSFER",
+                  "currency": "*",
+                  "min": "1.00",
+                  "max": "50.00",
+                  "tiers": [
+                    { "upTo": "1000", "rate": "0.01", "fixed": "0.50" },
+                    { "upTo": "10000", "rate": "0.005", "fixed": "0" },
+                    { "upTo": null, "rate": "0.002", "fixed": "0" }
+                  ]
+                },
+                {
+                  "transactionType": "TRANSFER",
+                  "currency": "EUR",
+                  "tiers": [ { "upTo": null, "rate": "0", "fixed": "0.25" } ]
+                },
+                {
+                  "transactionType": "WITHDRAWAL",
+                  "tiers": [ { "upTo": null, "rate": "0", "fixed": "2.50" } ]
+                }
+              ]
+            }
+            """;
+
+    // ========== QUOTE TESTS ==========
+
+    @Test
+    void testQuote_AppliesFirstMatchingTierToWholeAmount() {
+        // Given
+        FeeSchedule schedule = compile(TIERED);
+
+        // When & Then
+        assertEquals(new BigDecimal("10.50"), schedule.quote(TransactionType.TRANSFER, Currency.RON, new BigDecimal("1000")));
+        assertEquals(new BigDecimal("25.00"), schedule.quote(TransactionType.TRANSFER, Currency.RON, new BigDecimal("5000")));
+    }
+
+    @Test
+    void testQuote_AmountAboveBoundedTiersUsesUnboundedTierAndCap() {
+        // Given
+        FeeSchedule schedule = compile(TIERED);
+
+        // When & Then
+        assertEquals(new BigDecimal("40.00"), schedule.quote(TransactionType.TRANSFER, Currency.RON, new BigDecimal("20000")));
+        assertEquals(new BigDecimal("50.00"), schedule.quote(TransactionType.TRANSFER, Currency.RON, new BigDecimal("1000000")));
+    }
+
+    @Test
+    void testQuote_AppliesMinimum() {
+        // Given
+        FeeSchedule schedule = compile(TIERED);
+
+        // When & Then
+        assertEquals(new BigDecimal("1.00"), schedule.quote(TransactionType.TRANSFER, Currency.RON, new BigDecimal("0.10")));
+    }
+
+    @Test
+    void testQuote_CurrencySpecificRuleWinsOverWildcard() {
+        // Given
+        FeeSchedule schedule = compile(TIERED);
+
+        // When & Then
+        assertEquals(new BigDecimal("0.25"), schedule.quote(TransactionType.TRANSFER, Currency.EUR, new BigDecimal("5000")));
+        assertEquals(new BigDecimal("25.00"), schedule.quote(TransactionType.TRANSFER, Currency.USD, new BigDecimal("5000")));
+    }
+
+    @Test
+    void testQuote_TypeWithoutRuleIsFree() {
+        // Given
+        FeeSchedule schedule = compile(TIERED);
+
+        // When & Then
+        assertEquals(new BigDecimal("0.00"), schedule.quote(TransactionType.DEPOSIT, Currency.RON, new BigDecimal("100")));
+        assertEquals(new BigDecimal("2.50"), schedule.quote(TransactionType.WITHDRAWAL, null, new BigDecimal("100")));
+    }
+
+    @Test
+    void testQuote_RoundsHalfUpToMinorUnits() {
+        // Given
+        FeeSchedule schedule = compile("""
+                { "rules": [ { "transactionType": "PAYMENT", "tiers": [ { "upTo": null, "rate": "0.015" } ] } ] }
+                """);
+
+        // When & Then
+        assertEquals(new BigDecimal("0.02"), schedule.quote(TransactionType.PAYMENT, Currency.RON, new BigDecimal("1.00")));
+        assertEquals("unversioned", schedule.getVersion());
+    }
+
+    // ========== VALIDATION TESTS ==========
+
+    @Test
+    void testCompile_RejectsBoundedLastTier() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> compile("""
+                { "rules": [ { "transactionType": "TRANSFER", "tiers": [ { "upTo": "1000", "rate": "0.01" } ] } ] }
+                """));
+    }
+
+    @Test
+    void testCompile_RejectsUnorderedTiers() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> compile("""
+                { "rules": [ { "transactionType": "TRANSFER", "tiers": [
+                  { "upTo": "1000", "rate": "0.01" }, { "upTo": "500", "rate": "0.01" }, { "upTo": null, "rate": "0" } ] } ] }
+                """));
+    }
+
+    @Test
+    void testCompile_RejectsRuleWithoutTiers() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> compile("""
+                { "rules": [ { "transactionType": "TRANSFER", "tiers": [] } ] }
+                """));
+    }
+
+    private static FeeSchedule compile(String json) {
+        try {
+            return FeeSchedule.compile(MAPPER.readTree(json));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
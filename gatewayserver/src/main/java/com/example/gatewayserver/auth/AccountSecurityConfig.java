@@ -1,13 +1,6 @@
 package com.example.gatewayserver.auth;
 
-import com.google.api.client.googleapis.javanet.GoogleNetHttpTransport;
-import com.google.api.client.json.gson.GsonFactory;
-import com.google.api.services.cloudresourcemanager.CloudResourceManager;
-import com.google.api.services.cloudresourcemanager.model.Binding;
-import com.google.api.services.cloudresourcemanager.model.GetIamPolicyRequest;
-import com.google.api.services.cloudresourcemanager.model.Policy;
-import com.google.auth.http.HttpCredentialsAdapter;
-import com.google.auth.oauth2.GoogleCredentials;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -15,7 +8,6 @@ import org.springframework.http.HttpMethod;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.web.server.ServerHttpSecurity;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.oauth2.client.oidc.userinfo.OidcReactiveOAuth2UserService;
 import org.springframework.security.oauth2.client.oidc.userinfo.OidcUserRequest;
 import org.springframework.security.oauth2.client.userinfo.ReactiveOAuth2UserService;
@@ -24,18 +16,15 @@ import org.springframework.security.oauth2.core.oidc.user.OidcUser;
 import org.springframework.security.web.server.SecurityWebFilterChain;
 import org.springframework.security.web.server.authentication.ServerAuthenticationSuccessHandler;
 import reactor.core.publisher.Mono;
-import java.util.Date;
-import com.google.auth.oauth2.AccessToken;
 
-import java.io.IOException;
-import java.security.GeneralSecurityException;
 import java.util.HashSet;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 @Configuration
 public class AccountSecurityConfig {
-    private final String idProject = "tw-lau";
+
+    @Autowired
+    private IamPolicyCache iamPolicyCache;
 
     @Value("${spring.profiles.active:default}")
     private String activeProfile;
@@ -57,7 +46,6 @@ public class AccountSecurityConfig {
 
                         .pathMatchers(HttpMethod.POST, "/banking/accounts/create_account").hasAnyRole("ADMIN", "CUSTOMER")
                         .pathMatchers(HttpMethod.POST, "/banking/accounts/create_with_notification").hasAnyRole("ADMIN", "CUSTOMER")
-                        .pathMatchers(HttpMethod.POST, "/banking/accounts/transfer").hasAnyRole("ADMIN", "CUSTOMER")
                         .pathMatchers(HttpMethod.GET, "/banking/accounts/notifications/**").hasAnyRole("ADMIN", "CUSTOMER")
                         .pathMatchers(HttpMethod.GET, "/banking/accounts/check_balance").hasAnyRole("ADMIN", "CUSTOMER")
                         .pathMatchers(HttpMethod.PUT, "/banking/accounts/update_account_details").hasAnyRole("ADMIN", "CUSTOMER")
@@ -75,11 +63,13 @@ public class AccountSecurityConfig {
 
 
                         .pathMatchers(HttpMethod.POST, "/banking/transactions/post").hasAnyRole("ADMIN", "CUSTOMER")
+                        .pathMatchers(HttpMethod.POST, "/banking/transactions/batch").hasAnyRole("ADMIN", "CUSTOMER")
                         .pathMatchers(HttpMethod.PUT, "/banking/transactions/put/**").hasAnyRole("ADMIN", "CUSTOMER")
                         .pathMatchers(HttpMethod.DELETE, "/banking/transactions/close/**").hasAnyRole("ADMIN", "CUSTOMER")
                         .pathMatchers(HttpMethod.GET, "/banking/transactions/history").hasAnyRole("ADMIN", "CUSTOMER")
                         .pathMatchers(HttpMethod.PATCH, "/banking/transactions/complete-payment/**").hasAnyRole("ADMIN", "CUSTOMER")
                         .pathMatchers(HttpMethod.GET, "/banking/transactions/calculate-fees/**").hasAnyRole("ADMIN", "CUSTOMER")
+                        .pathMatchers(HttpMethod.POST, "/banking/transactions/calculate-fees/batch").hasAnyRole("ADMIN", "CUSTOMER")
 
                         .pathMatchers(HttpMethod.GET, "/banking/transactions/get/**").hasAnyRole("CUSTOMER","ADMIN")
                         .pathMatchers(HttpMethod.PATCH, "/banking/transactions/modify-currency/**").hasRole("ADMIN")
@@ -96,8 +86,10 @@ public class AccountSecurityConfig {
                         .pathMatchers(HttpMethod.PATCH, "/banking/notifications/mark-read/**").hasAnyRole("ADMIN", "CUSTOMER")
                         .pathMatchers(HttpMethod.GET, "/banking/notifications/status/**").hasAnyRole("ADMIN", "CUSTOMER")
                         .pathMatchers(HttpMethod.GET, "/banking/notifications/history/**").hasAnyRole("ADMIN", "CUSTOMER")
+                        .pathMatchers(HttpMethod.GET, "/banking/notifications/unread-count/**").hasAnyRole("ADMIN", "CUSTOMER")
 
                         .pathMatchers(HttpMethod.DELETE, "/banking/notifications/delete-expired").hasRole("ADMIN")
+                        .pathMatchers(HttpMethod.GET, "/banking/notifications/delete-expired/progress").hasRole("ADMIN")
                         .pathMatchers(HttpMethod.POST, "/banking/notifications/resend-failed/**").hasRole("ADMIN")
 
                         .anyExchange().authenticated())
@@ -132,70 +124,16 @@ public class AccountSecurityConfig {
             @Override
             public Mono<OidcUser> loadUser(OidcUserRequest userRequest) {
                 return delegate.loadUser(userRequest)
-                        .map(oidcUser -> {
-                            Set<GrantedAuthority> mappedAuthorities = new HashSet<>(oidcUser.getAuthorities());
-
-                            try {
-                                Set<GrantedAuthority> iamRoles = getIamRoles(userRequest, oidcUser);
-                                mappedAuthorities.addAll(iamRoles);
-
-                            }catch (GeneralSecurityException | IOException e) {
-                                System.out.println(e.getMessage());
-                            }
+                        .flatMap(oidcUser -> iamPolicyCache.rolesFor(oidcUser.getEmail(), userRequest.getAccessToken())
+                                .map(iamRoles -> {
+                                    Set<GrantedAuthority> mappedAuthorities = new HashSet<>(oidcUser.getAuthorities());
+                                    mappedAuthorities.addAll(iamRoles);
 
-                            System.out.println("Mapped authorities: " + mappedAuthorities);
+                                    System.out.println("Mapped authorities: " + mappedAuthorities);
 
-                            return new DefaultOidcUser(mappedAuthorities, oidcUser.getIdToken(), oidcUser.getUserInfo());
-                        });
+                                    return new DefaultOidcUser(mappedAuthorities, oidcUser.getIdToken(), oidcUser.getUserInfo());
+                                }));
             }
         };
     }
-
-
-    private Set<GrantedAuthority> getIamRoles(OidcUserRequest userRequest, OidcUser oidcUser) throws GeneralSecurityException, IOException {
-
-        String accessTokenValue = userRequest.getAccessToken().getTokenValue();
-        System.out.println("The token's value: " + accessTokenValue);
-
-        AccessToken accessToken = new AccessToken(accessTokenValue, Date.from(userRequest.getAccessToken().getExpiresAt()));
-        System.out.println("The access token: " + accessToken.getTokenValue());
-
-        GoogleCredentials credentials = GoogleCredentials.create(accessToken);
-        System.out.println("Credentials: " + credentials);
-
-        CloudResourceManager handler = new CloudResourceManager.Builder(
-                GoogleNetHttpTransport.newTrustedTransport(),
-                GsonFactory.getDefaultInstance(),
-                new HttpCredentialsAdapter(credentials))
-                .setApplicationName("GatewayServer")
-                .build();
-
-        GetIamPolicyRequest policyRequest = new GetIamPolicyRequest();
-        Policy policy =  handler.projects().getIamPolicy(idProject, policyRequest).execute();
-        System.out.println("Policy: " + policy);
-
-        String email = oidcUser.getEmail();
-        String identifier = "user:" + email;
-
-        return policy.getBindings().stream()
-                .filter(binding -> binding.getMembers() != null && binding.getMembers().contains(identifier))
-                .map(Binding::getRole)
-                .peek(role -> System.out.println("Role is: " + role))
-                .map(this::mapIamRolesToApplicationRoles)
-                .collect(Collectors.toSet());
-
-    }
-
-    private GrantedAuthority mapIamRolesToApplicationRoles(String role) {
-        if ("roles/owner".equals(role))
-            return new SimpleGrantedAuthority("ROLE_ADMIN");
-
-        if ("roles/viewer".equals(role))
-            return new SimpleGrantedAuthority("ROLE_CUSTOMER");
-
-        if ("roles/editor".equals(role))
-            return new SimpleGrantedAuthority("ROLE_ADMIN");
-
-        return new SimpleGrantedAuthority("ROLE_CUSTOMER");
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,264 @@
+package com.example.gatewayserver.auth;
+
+import com.google.api.client.googleapis.javanet.GoogleNetHttpTransport;
+import com.google.api.client.http.javanet.NetHttpTransport;
+import com.google.api.client.json.gson.GsonFactory;
+import com.google.api.services.cloudresourcemanager.CloudResourceManager;
+import com.google.api.services.cloudresourcemanager.model.Binding;
+import com.google.api.services.cloudresourcemanager.model.GetIamPolicyRequest;
+import com.google.api.services.cloudresourcemanager.model.Policy;
+import com.google.auth.http.HttpCredentialsAdapter;
+import com.google.auth.oauth2.AccessToken;
+import com.google.auth.oauth2.GoogleCredentials;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Keeps an in-memory snapshot of the project IAM policy, indexed by member
+ * identifier ({@code user:<email>}), so that mapping a login to application
+ * roles is a map lookup instead of a Cloud Resource Manager round trip.
+ *
+ * <p>The snapshot is refreshed in the background with the gateway's own
+ * application-default credentials, never with a user's token, and is
+ * considered stale after the configured TTL; only a login that finds it
+ * stale or missing fetches it with that user's access token. The blocking
+ * Google HTTP call only ever runs on a bounded scheduler, never on a Netty
+ * event-loop thread: concurrent logins share a
+ * single in-flight fetch, a stale snapshot is served while it is refreshed,
+ * and a failed or timed-out fetch degrades to {@code ROLE_CUSTOMER}.</p>
+ */
+@Component
+public class IamPolicyCache {
+
+    private static final Logger log = LoggerFactory.getLogger(IamPolicyCache.class);
+
+    static final GrantedAuthority DEGRADED_ROLE = new SimpleGrantedAuthority("ROLE_CUSTOMER");
+
+    private static final String CLOUD_PLATFORM_SCOPE = "https://www.googleapis.com/auth/cloud-platform";
+
+    private final Duration ttl;
+    private final Duration fetchTimeout;
+    private final PolicyFetcher fetcher;
+    private final Callable<GoogleCredentials> serviceCredentialsLoader;
+    private final Scheduler iamScheduler;
+    private final Disposable backgroundRefresh;
+    private final Counter fallbackCounter;
+    private final Counter refreshFailureCounter;
+    private final AtomicReference<Mono<PolicySnapshot>> inFlight = new AtomicReference<>();
+
+    private volatile PolicySnapshot snapshot = PolicySnapshot.EMPTY;
+    private volatile GoogleCredentials serviceCredentials;
+
+    @Autowired
+    public IamPolicyCache(@Value("${gateway.iam.project-id:tw-lau}") String projectId,
+                          @Value("${gateway.iam.policy-ttl:5m}") Duration ttl,
+                          @Value("${gateway.iam.refresh-interval:1m}") Duration refreshInterval,
+                          @Value("${gateway.iam.fetch-timeout:3s}") Duration fetchTimeout,
+                          @Value("${gateway.iam.max-fetch-threads:4}") int maxFetchThreads,
+                          MeterRegistry meterRegistry)
+            throws GeneralSecurityException, IOException {
+        this(ttl, refreshInterval, fetchTimeout, maxFetchThreads, meterRegistry,
+                cloudResourceManager(projectId),
+                () -> GoogleCredentials.getApplicationDefault().createScoped(CLOUD_PLATFORM_SCOPE));
+    }
+
+    IamPolicyCache(Duration ttl, Duration refreshInterval, Duration fetchTimeout, int maxFetchThreads,
+                   MeterRegistry meterRegistry, PolicyFetcher fetcher,
+                   Callable<GoogleCredentials> serviceCredentialsLoader) {
+        this.ttl = ttl;
+        this.fetchTimeout = fetchTimeout;
+        this.fetcher = fetcher;
+        this.serviceCredentialsLoader = serviceCredentialsLoader;
+        this.iamScheduler = Schedulers.newBoundedElastic(maxFetchThreads, 64, "iam-policy");
+        this.fallbackCounter = Counter.builder("gateway.iam.roles.fallback")
+                .description("Logins that fell back to ROLE_CUSTOMER because the IAM policy was unavailable")
+                .register(meterRegistry);
+        this.refreshFailureCounter = Counter.builder("gateway.iam.policy.refresh.failures")
+                .description("IAM policy refreshes that failed or timed out while a snapshot was being served")
+                .register(meterRegistry);
+        Gauge.builder("gateway.iam.policy.age", this, IamPolicyCache::snapshotAgeSeconds)
+                .description("Seconds since the IAM policy snapshot was fetched, NaN before the first fetch")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        this.backgroundRefresh = iamScheduler.schedulePeriodically(this::refreshInBackground,
+                refreshInterval.toMillis(), refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Returns the application roles of the given user without blocking the
+     * calling thread. A fresh snapshot answers immediately, a stale one answers
+     * immediately and triggers a refresh, and only a missing snapshot waits for
+     * the (shared) fetch.
+     */
+    public Mono<Set<GrantedAuthority>> rolesFor(String email, OAuth2AccessToken accessToken) {
+        String member = "user:" + email;
+
+        PolicySnapshot current = snapshot;
+        if (!current.isStale(ttl)) {
+            return Mono.just(current.rolesFor(member));
+        }
+        Mono<PolicySnapshot> refresh = refresh(() -> userCredentials(accessToken));
+        if (current != PolicySnapshot.EMPTY) {
+            refresh.subscribe(fetched -> { }, this::onRefreshFailure);
+            return Mono.just(current.rolesFor(member));
+        }
+        return refresh
+                .map(fetched -> fetched.rolesFor(member))
+                .onErrorResume(e -> {
+                    log.warn("IAM policy unavailable, degrading {} to {}: {}", member, DEGRADED_ROLE, e.toString());
+                    fallbackCounter.increment();
+                    return Mono.just(Set.of(DEGRADED_ROLE));
+                });
+    }
+
+    private Mono<PolicySnapshot> refresh(Callable<GoogleCredentials> credentials) {
+        Mono<PolicySnapshot> existing = inFlight.get();
+        if (existing != null) {
+            return existing;
+        }
+        AtomicReference<Mono<PolicySnapshot>> self = new AtomicReference<>();
+        Mono<PolicySnapshot> fetch = Mono.fromCallable(() -> PolicySnapshot.of(fetcher.fetch(credentials.call())))
+                .subscribeOn(iamScheduler)
+                .timeout(fetchTimeout)
+                .doOnNext(fetched -> snapshot = fetched)
+                .doFinally(signal -> inFlight.compareAndSet(self.get(), null))
+                .cache();
+        self.set(fetch);
+        if (inFlight.compareAndSet(null, fetch)) {
+            return fetch;
+        }
+        Mono<PolicySnapshot> winner = inFlight.get();
+        return winner != null ? winner : fetch;
+    }
+
+    // goes through refresh() so it shares the in-flight fetch and its timeout with logins
+    private void refreshInBackground() {
+        refresh(this::serviceCredentials).subscribe(fetched -> { }, this::onRefreshFailure);
+    }
+
+    // loaded on first use, on the IAM scheduler, since resolving application-default credentials blocks
+    private GoogleCredentials serviceCredentials() throws Exception {
+        GoogleCredentials credentials = serviceCredentials;
+        if (credentials == null) {
+            credentials = serviceCredentialsLoader.call();
+            serviceCredentials = credentials;
+        }
+        return credentials;
+    }
+
+    private static GoogleCredentials userCredentials(OAuth2AccessToken accessToken) {
+        Date expiresAt = accessToken.getExpiresAt() != null ? Date.from(accessToken.getExpiresAt()) : null;
+        return GoogleCredentials.create(new AccessToken(accessToken.getTokenValue(), expiresAt));
+    }
+
+    private void onRefreshFailure(Throwable e) {
+        refreshFailureCounter.increment();
+        log.warn("IAM policy refresh failed, keeping snapshot from {}: {}", snapshot.fetchedAt(), e.toString());
+    }
+
+    private double snapshotAgeSeconds() {
+        PolicySnapshot current = snapshot;
+        if (current == PolicySnapshot.EMPTY) {
+            return Double.NaN;
+        }
+        return Duration.between(current.fetchedAt(), Instant.now()).toSeconds();
+    }
+
+    private static PolicyFetcher cloudResourceManager(String projectId) throws GeneralSecurityException, IOException {
+        NetHttpTransport transport = GoogleNetHttpTransport.newTrustedTransport();
+        return credentials -> {
+            CloudResourceManager handler = new CloudResourceManager.Builder(
+                    transport,
+                    GsonFactory.getDefaultInstance(),
+                    new HttpCredentialsAdapter(credentials))
+                    .setApplicationName("GatewayServer")
+                    .build();
+
+            return handler.projects().getIamPolicy(projectId, new GetIamPolicyRequest()).execute();
+        };
+    }
+
+    @PreDestroy
+    void shutdown() {
+        backgroundRefresh.dispose();
+        iamScheduler.dispose();
+    }
+
+    static GrantedAuthority mapIamRoleToApplicationRole(String role) {
+        if ("roles/owner".equals(role))
+            return new SimpleGrantedAuthority("ROLE_ADMIN");
+
+        if ("roles/viewer".equals(role))
+            return new SimpleGrantedAuthority("ROLE_CUSTOMER");
+
+        if ("roles/editor".equals(role))
+            return new SimpleGrantedAuthority("ROLE_ADMIN");
+
+        return new SimpleGrantedAuthority("ROLE_CUSTOMER");
+    }
+
+    /**
+     * The blocking Cloud Resource Manager call, behind an interface so tests can stub it.
+     */
+    @FunctionalInterface
+    interface PolicyFetcher {
+        Policy fetch(GoogleCredentials credentials) throws Exception;
+    }
+
+    private record PolicySnapshot(Map<String, Set<GrantedAuthority>> rolesByMember, Instant fetchedAt) {
+
+        static final PolicySnapshot EMPTY = new PolicySnapshot(Map.of(), Instant.EPOCH);
+
+        static PolicySnapshot of(Policy policy) {
+            Map<String, Set<GrantedAuthority>> rolesByMember = new HashMap<>();
+            if (policy.getBindings() != null) {
+                for (Binding binding : policy.getBindings()) {
+                    if (binding.getMembers() == null) {
+                        continue;
+                    }
+                    GrantedAuthority authority = mapIamRoleToApplicationRole(binding.getRole());
+                    for (String member : binding.getMembers()) {
+                        rolesByMember.computeIfAbsent(member, m -> new HashSet<>()).add(authority);
+                    }
+                }
+            }
+            rolesByMember.replaceAll((member, roles) -> Set.copyOf(roles));
+            return new PolicySnapshot(Map.copyOf(rolesByMember), Instant.now());
+        }
+
+        boolean isStale(Duration ttl) {
+            return fetchedAt.plus(ttl).isBefore(Instant.now());
+        }
+
+        Set<GrantedAuthority> rolesFor(String member) {
+            return rolesByMember.getOrDefault(member, Set.of());
+        }
+    }
+}
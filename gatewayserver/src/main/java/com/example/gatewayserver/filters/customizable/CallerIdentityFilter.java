@@ -0,0 +1,59 @@
+package com.example.gatewayserver.filters.customizable;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Tells the Transactions service who the caller is. Identity headers sent by the client are always dropped;
+ * for an authenticated caller the gateway sets {@code X-Authenticated-User} itself, together with the internal
+ * service token that lets Transactions trust it.
+ */
+@Component
+public class CallerIdentityFilter implements GlobalFilter, Ordered {
+
+    public static final String USER_HEADER = "X-Authenticated-User";
+    public static final String TOKEN_HEADER = "X-Internal-Token";
+
+    private final String internalToken;
+
+    public CallerIdentityFilter(@Value("${gateway.internal.token:}") String internalToken) {
+        this.internalToken = internalToken;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest stripped = exchange.getRequest().mutate()
+                .headers(headers -> {
+                    headers.remove(USER_HEADER);
+                    headers.remove(TOKEN_HEADER);
+                })
+                .build();
+        ServerWebExchange strippedExchange = exchange.mutate().request(stripped).build();
+
+        // the token only goes to Transactions, which has no internal endpoints it could unlock
+        if (internalToken.isBlank() || !stripped.getPath().value().startsWith("/banking/transactions")) {
+            return chain.filter(strippedExchange);
+        }
+        return exchange.getPrincipal()
+                .map(principal -> strippedExchange.mutate()
+                        .request(stripped.mutate()
+                                .header(USER_HEADER, principal.getName())
+                                .header(TOKEN_HEADER, internalToken)
+                                .build())
+                        .build())
+                .defaultIfEmpty(strippedExchange)
+                .flatMap(chain::filter);
+    }
+
+    // before the route's RewritePath, so the public path is still the one matched above
+    @Override
+    public int getOrder() {
+        return -1;
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.gatewayserver.auth;
+
+import com.google.api.services.cloudresourcemanager.model.Binding;
+import com.google.api.services.cloudresourcemanager.model.Policy;
+import com.google.auth.oauth2.AccessToken;
+import com.google.auth.oauth2.GoogleCredentials;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IamPolicyCacheTest {
+
+    private static final Duration WAIT = Duration.ofSeconds(5);
+    private static final Duration NEVER = Duration.ofHours(1);
+    private static final GrantedAuthority ADMIN = new SimpleGrantedAuthority("ROLE_ADMIN");
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger fetches = new AtomicInteger();
+    private IamPolicyCache cache;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (cache != null) {
+            cache.shutdown();
+        }
+    }
+
+    // ========== SINGLE FLIGHT ==========
+
+    @Test
+    void rolesFor_ConcurrentLoginsWithoutSnapshot_ShareOneFetch() throws Exception {
+        // Given
+        cache = cache(NEVER, NEVER, WAIT, credentials -> {
+            fetches.incrementAndGet();
+            release.await(WAIT.toMillis(), TimeUnit.MILLISECONDS);
+            return ownerPolicy();
+        });
+
+        // When
+        CompletableFuture<Set<GrantedAuthority>> first = cache.rolesFor("owner@example.com", userToken()).toFuture();
+        CompletableFuture<Set<GrantedAuthority>> second = cache.rolesFor("owner@example.com", userToken()).toFuture();
+        release.countDown();
+
+        // Then
+        assertEquals(Set.of(ADMIN), first.get(WAIT.toMillis(), TimeUnit.MILLISECONDS));
+        assertEquals(Set.of(ADMIN), second.get(WAIT.toMillis(), TimeUnit.MILLISECONDS));
+        assertEquals(1, fetches.get());
+    }
+
+    // ========== STALE SNAPSHOT ==========
+
+    @Test
+    void rolesFor_StaleSnapshot_IsServedWhileRefreshing() throws Exception {
+        // Given (a zero TTL makes the first snapshot stale right away; the refresh then hangs)
+        cache = cache(Duration.ZERO, NEVER, WAIT, credentials -> {
+            if (fetches.incrementAndGet() > 1) {
+                release.await(WAIT.toMillis(), TimeUnit.MILLISECONDS);
+            }
+            return ownerPolicy();
+        });
+        assertEquals(Set.of(ADMIN), cache.rolesFor("owner@example.com", userToken()).block(WAIT));
+        Thread.sleep(5);
+
+        // When
+        Set<GrantedAuthority> roles = cache.rolesFor("owner@example.com", userToken()).block(Duration.ofSeconds(1));
+
+        // Then
+        assertEquals(Set.of(ADMIN), roles);
+        awaitFetches(2);
+    }
+
+    // ========== DEGRADATION ==========
+
+    @Test
+    void rolesFor_FetchTimesOut_FallsBackToCustomer() {
+        // Given
+        cache = cache(NEVER, NEVER, Duration.ofMillis(100), credentials -> {
+            release.await(WAIT.toMillis(), TimeUnit.MILLISECONDS);
+            return ownerPolicy();
+        });
+
+        // When
+        Set<GrantedAuthority> roles = cache.rolesFor("owner@example.com", userToken()).block(WAIT);
+
+        // Then
+        assertEquals(Set.of(IamPolicyCache.DEGRADED_ROLE), roles);
+        assertEquals(1.0, meterRegistry.counter("gateway.iam.roles.fallback").count());
+    }
+
+    // ========== BACKGROUND REFRESH ==========
+
+    @Test
+    void backgroundRefresh_UsesServiceCredentialsNotUserTokens() throws Exception {
+        // Given
+        GoogleCredentials service = GoogleCredentials.create(new AccessToken("service-token", null));
+        List<GoogleCredentials> used = new CopyOnWriteArrayList<>();
+        cache = new IamPolicyCache(NEVER, Duration.ofMillis(20), WAIT, 2, meterRegistry, credentials -> {
+            used.add(credentials);
+            fetches.incrementAndGet();
+            return ownerPolicy();
+        }, () -> service);
+
+        // When
+        awaitFetches(2);
+
+        // Then
+        assertTrue(used.stream().allMatch(credentials -> credentials == service));
+    }
+
+    private IamPolicyCache cache(Duration ttl, Duration refreshInterval, Duration fetchTimeout,
+                                 IamPolicyCache.PolicyFetcher fetcher) {
+        return new IamPolicyCache(ttl, refreshInterval, fetchTimeout, 2, meterRegistry, fetcher,
+                () -> GoogleCredentials.create(new AccessToken("service-token", null)));
+    }
+
+    private void awaitFetches(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + WAIT.toNanos();
+        while (fetches.get() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(fetches.get() >= expected, "expected " + expected + " fetches but saw " + fetches.get());
+    }
+
+    private static OAuth2AccessToken userToken() {
+        return new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER, "user-token",
+                Instant.now(), Instant.now().plusSeconds(3600));
+    }
+
+    private static Policy ownerPolicy() {
+        return new Policy().setBindings(List.of(
+                new Binding().setRole("roles/owner").setMembers(List.of("user:owner@example.com"))));
+    }
+}
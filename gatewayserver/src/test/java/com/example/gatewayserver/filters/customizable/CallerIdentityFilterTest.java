@@ -0,0 +1,76 @@
+package com.example.gatewayserver.filters.customizable;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CallerIdentityFilterTest {
+
+    private final AtomicReference<ServerHttpRequest> forwarded = new AtomicReference<>();
+    private final GatewayFilterChain chain = exchange -> {
+        forwarded.set(exchange.getRequest());
+        return Mono.empty();
+    };
+
+    @Test
+    void filter_AuthenticatedTransactionsCall_ForwardsUserWithToken() {
+        // Given
+        ServerWebExchange exchange = exchange("/banking/transactions/post", "alice@example.com");
+
+        // When
+        new CallerIdentityFilter("s3cret").filter(exchange, chain).block();
+
+        // Then
+        assertEquals("alice@example.com", forwarded.get().getHeaders().getFirst(CallerIdentityFilter.USER_HEADER));
+        assertEquals("s3cret", forwarded.get().getHeaders().getFirst(CallerIdentityFilter.TOKEN_HEADER));
+    }
+
+    @Test
+    void filter_ClientSuppliedIdentity_IsReplaced() {
+        // Given
+        MockServerHttpRequest request = MockServerHttpRequest.post("/banking/transactions/post")
+                .header(CallerIdentityFilter.USER_HEADER, "mallory@example.com")
+                .header(CallerIdentityFilter.TOKEN_HEADER, "guess")
+                .build();
+        ServerWebExchange exchange = MockServerWebExchange.from(request).mutate()
+                .principal(Mono.just(new TestingAuthenticationToken("alice@example.com", null)))
+                .build();
+
+        // When
+        new CallerIdentityFilter("s3cret").filter(exchange, chain).block();
+
+        // Then
+        assertEquals(List.of("alice@example.com"),
+                forwarded.get().getHeaders().get(CallerIdentityFilter.USER_HEADER));
+        assertEquals(List.of("s3cret"), forwarded.get().getHeaders().get(CallerIdentityFilter.TOKEN_HEADER));
+    }
+
+    @Test
+    void filter_OtherRoute_GetsNoToken() {
+        // Given
+        ServerWebExchange exchange = exchange("/banking/accounts/all", "alice@example.com");
+
+        // When
+        new CallerIdentityFilter("s3cret").filter(exchange, chain).block();
+
+        // Then
+        assertNull(forwarded.get().getHeaders().getFirst(CallerIdentityFilter.USER_HEADER));
+        assertNull(forwarded.get().getHeaders().getFirst(CallerIdentityFilter.TOKEN_HEADER));
+    }
+
+    private static ServerWebExchange exchange(String path, String user) {
+        return MockServerWebExchange.from(MockServerHttpRequest.post(path).build()).mutate()
+                .principal(Mono.just(new TestingAuthenticationToken(user, null)))
+                .build();
+    }
+}